@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.testfixtures.ProjectBuilder;
+
+/**
+ * Synthetic projects for the benchmarks, created with {@link ProjectBuilder}
+ */
+public final class BenchmarkProjects {
+
+    private BenchmarkProjects() {
+    }
+
+    /**
+     * Creates a project with the java and GluonFX plugins applied
+     *
+     * @param projectDir the directory of the project
+     * @return the project
+     */
+    public static Project create(Path projectDir) {
+        Project project = ProjectBuilder.builder()
+                .withProjectDir(projectDir.toFile())
+                .withName("app")
+                .build();
+        apply(project);
+        return project;
+    }
+
+    /**
+     * Applies the java and GluonFX plugins to the project, with the settings
+     * the tasks need to create the Substrate configuration
+     *
+     * @param project the project
+     */
+    public static void apply(Project project) {
+        project.getPluginManager().apply(JavaPlugin.class);
+        project.getPluginManager().apply(GluonFXPlugin.class);
+        ClientExtension extension = project.getExtensions().getByType(ClientExtension.class);
+        extension.getGraalvmHome().set(project.getProjectDir().getAbsolutePath());
+        project.getExtensions().getExtraProperties().set("mainClassName", "com.example.Main");
+    }
+
+    /**
+     * Creates empty jar files, to be used as classpath entries
+     *
+     * @param dir the directory of the jars
+     * @param count the number of jars
+     * @return the jar files
+     */
+    public static List<File> createJars(Path dir, int count) {
+        List<File> jars = new ArrayList<>(count);
+        try {
+            Files.createDirectories(dir);
+            for (int i = 0; i < count; i++) {
+                Path jar = dir.resolve("library-" + i + ".jar");
+                if (!Files.exists(jar)) {
+                    Files.createFile(jar);
+                }
+                jars.add(jar.toFile());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return jars;
+    }
+
+    public static Path createTempDirectory() {
+        try {
+            return Files.createTempDirectory("gluonfx-jmh");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void delete(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Configuration time of a real build, run with TestKit, with many subprojects that
+ * apply the plugin, compared with the same build without the plugin. Each invocation
+ * runs in the same warm daemon, without the configuration cache, so only the
+ * configuration phase and the creation of the task graph are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConfigurationTimeBenchmark {
+
+    @Param({"100", "500"})
+    public int subprojects;
+
+    private Path rootDir;
+    private Path baselineDir;
+    private Path pluginDir;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        rootDir = BenchmarkProjects.createTempDirectory();
+        baselineDir = createBuild(rootDir.resolve("baseline"), false);
+        pluginDir = createBuild(rootDir.resolve("plugin"), true);
+        // start the daemon and fill the script caches
+        run(baselineDir, "help");
+        run(pluginDir, "help");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkProjects.delete(rootDir);
+    }
+
+    @Benchmark
+    public BuildResult baseline() {
+        return run(baselineDir, "help");
+    }
+
+    @Benchmark
+    public BuildResult applyPlugin() {
+        return run(pluginDir, "help");
+    }
+
+    @Benchmark
+    public BuildResult taskGraph() {
+        return run(pluginDir, "nativeBuild", "--dry-run");
+    }
+
+    private static BuildResult run(Path projectDir, String... tasks) {
+        String[] arguments = new String[tasks.length + 2];
+        System.arraycopy(tasks, 0, arguments, 0, tasks.length);
+        arguments[tasks.length] = "--no-configuration-cache";
+        arguments[tasks.length + 1] = "--quiet";
+        return GradleRunner.create()
+                .withProjectDir(projectDir.toFile())
+                .withPluginClasspath()
+                .withArguments(arguments)
+                .build();
+    }
+
+    private Path createBuild(Path dir, boolean applyPlugin) throws IOException {
+        StringBuilder settings = new StringBuilder("rootProject.name = 'root'\n");
+        for (int i = 0; i < subprojects; i++) {
+            String name = "app" + i;
+            settings.append("include '").append(name).append("'\n");
+            Path projectDir = Files.createDirectories(dir.resolve(name));
+            Files.writeString(projectDir.resolve("build.gradle"), applyPlugin ?
+                    "plugins {\n" +
+                    "    id 'java'\n" +
+                    "    id 'com.gluonhq.gluonfx-gradle-plugin'\n" +
+                    "}\n\n" +
+                    "ext.mainClassName = 'com.example.Main'\n\n" +
+                    "gluonfx {\n" +
+                    "    graalvmHome = '" + projectDir.toAbsolutePath().toString().replace('\\', '/') + "'\n" +
+                    "}\n" :
+                    "plugins {\n" +
+                    "    id 'java'\n" +
+                    "}\n");
+        }
+        Files.writeString(dir.resolve("settings.gradle"), settings);
+        return dir;
+    }
+}
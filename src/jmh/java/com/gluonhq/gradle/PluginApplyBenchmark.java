@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Configuration time of a build with many subprojects that apply the plugin,
+ * compared with the same build without the plugin, and the time to realize the
+ * GluonFX tasks of every subproject
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PluginApplyBenchmark {
+
+    @Param({"1", "60"})
+    public int subprojects;
+
+    private Path rootDir;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        rootDir = BenchmarkProjects.createTempDirectory();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        BenchmarkProjects.delete(rootDir);
+    }
+
+    @Benchmark
+    public Project baseline() {
+        return createBuild(false, false);
+    }
+
+    @Benchmark
+    public Project applyPlugin() {
+        return createBuild(true, false);
+    }
+
+    @Benchmark
+    public Project realizeTasks() {
+        return createBuild(true, true);
+    }
+
+    private Project createBuild(boolean applyPlugin, boolean realizeTasks) {
+        Project root = ProjectBuilder.builder().withProjectDir(rootDir.toFile()).withName("root").build();
+        for (int i = 0; i < subprojects; i++) {
+            Project project = ProjectBuilder.builder()
+                    .withParent(root)
+                    .withName("app" + i)
+                    .withProjectDir(rootDir.resolve("app" + i).toFile())
+                    .build();
+            if (applyPlugin) {
+                BenchmarkProjects.apply(project);
+                if (realizeTasks) {
+                    project.getTasks().matching(task -> "GluonFX".equals(task.getGroup())).forEach(task -> { });
+                }
+            } else {
+                project.getPluginManager().apply(JavaPlugin.class);
+            }
+        }
+        return root;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Conversion of the release settings to the Substrate release configuration, from the
+ * extension and from the map captured by the tasks
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReleaseConfigurationBenchmark {
+
+    private Path projectDir;
+    private ReleaseConfiguration releaseConfiguration;
+    private Map<String, String> values;
+
+    @Setup
+    public void setup() {
+        projectDir = BenchmarkProjects.createTempDirectory();
+        releaseConfiguration = BenchmarkProjects.create(projectDir)
+                .getExtensions().getByType(ClientExtension.class).getReleaseConfiguration();
+        releaseConfiguration.setPackageType("dmg");
+        releaseConfiguration.setDescription("Benchmark application");
+        releaseConfiguration.setVendor("Gluon");
+        releaseConfiguration.setVersion("1.0.0");
+        releaseConfiguration.setMacAppCategory("public.app-category.developer-tools");
+        releaseConfiguration.setBundleName("App");
+        releaseConfiguration.setBundleVersion("1");
+        releaseConfiguration.setBundleShortVersion("1.0");
+        releaseConfiguration.setAppLabel("App");
+        releaseConfiguration.setVersionCode("1");
+        releaseConfiguration.setVersionName("1.0");
+        values = releaseConfiguration.toMap();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkProjects.delete(projectDir);
+    }
+
+    @Benchmark
+    public com.gluonhq.substrate.model.ReleaseConfiguration toSubstrate() {
+        return releaseConfiguration.toSubstrate();
+    }
+
+    @Benchmark
+    public com.gluonhq.substrate.model.ReleaseConfiguration toSubstrateFromMap() {
+        return ReleaseConfiguration.toSubstrate(values);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.attach;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.DependencySet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.gluonhq.gradle.BenchmarkProjects;
+import com.gluonhq.gradle.ClientExtension;
+
+/**
+ * Adding the dependencies of all the Attach services, that happens once, when the
+ * configuration is first resolved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AttachConfigurationBenchmark {
+
+    private Path projectDir;
+    private Project project;
+    private AttachConfiguration attachConfiguration;
+
+    @Setup
+    public void setup() {
+        projectDir = BenchmarkProjects.createTempDirectory();
+        project = BenchmarkProjects.create(projectDir);
+        ClientExtension extension = project.getExtensions().getByType(ClientExtension.class);
+        attachConfiguration = extension.getAttachConfig();
+        attachConfiguration.setVersion("4.0.23");
+        attachConfiguration.services(Stream.of(AttachService.values())
+                .map(AttachService::getServiceName)
+                .toArray(String[]::new));
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkProjects.delete(projectDir);
+    }
+
+    @Benchmark
+    public DependencySet addDependencies() {
+        Configuration configuration = project.getConfigurations().detachedConfiguration();
+        attachConfiguration.addDependencies(configuration.getDependencies());
+        return configuration.getDependencies();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.gradle.api.Project;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.gluonhq.gradle.BenchmarkProjects;
+import com.gluonhq.gradle.GluonFXPlugin;
+import com.gluonhq.substrate.ProjectConfiguration;
+
+/**
+ * Creation of the Substrate configuration and of its classpath, that every GluonFX
+ * task does, for classpaths of different sizes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigBuildBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int classpathEntries;
+
+    private Path projectDir;
+    private ConfigBuild configBuild;
+
+    @Setup
+    public void setup() {
+        projectDir = BenchmarkProjects.createTempDirectory();
+        Project project = BenchmarkProjects.create(projectDir);
+        NativeCompileTask task = (NativeCompileTask) project.getTasks().getByName(GluonFXPlugin.NATIVE_COMPILE_TASK_NAME);
+        task.getClasspath().setFrom(BenchmarkProjects.createJars(projectDir.resolve("libs"), classpathEntries));
+        // without the configuration service, so the configuration is created on each call
+        configBuild = new ConfigBuild(task, task.getLogger(), null, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkProjects.delete(projectDir);
+    }
+
+    @Benchmark
+    public ProjectConfiguration createSubstrateConfiguration() {
+        return configBuild.createSubstrateConfiguration();
+    }
+
+    @Benchmark
+    public List<Path> getClassPathFromSourceSets() {
+        return configBuild.getClassPathFromSourceSets();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle;
+
+import javax.inject.Inject;
+
+import org.gradle.api.Action;
+import org.gradle.api.NamedDomainObjectContainer;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+
+/**
+ * Filters applied by nativeRunAgent to the native-image tracing agent, to keep
+ * the generated configuration limited to the classes the application needs.
+ *
+ * Patterns use the agent syntax: {@code com.foo.Bar}, {@code com.foo.*} or
+ * {@code com.foo.**}. Excludes win over includes, and when there are includes,
+ * only the classes that match them are kept.
+ */
+public class AgentConfiguration {
+
+    private static final String DEFAULT_MONOCLE_VERSION = "21.0.2";
+
+    /**
+     * Classes that can be recorded when accessed
+     */
+    private final ListProperty<String> accessFilterIncludes;
+
+    /**
+     * Classes that are never recorded when accessed. These filters are also applied
+     * to the existing configuration when the agent output is merged.
+     */
+    private final ListProperty<String> accessFilterExcludes;
+
+    /**
+     * Classes whose calls are recorded
+     */
+    private final ListProperty<String> callerFilterIncludes;
+
+    /**
+     * Classes whose calls are not recorded, like logging frameworks or JSON mappers
+     */
+    private final ListProperty<String> callerFilterExcludes;
+
+    /**
+     * When true, calls from the runtime dependencies that are not direct dependencies
+     * of the project are not recorded, so only the application and its direct
+     * dependencies contribute to the configuration. JavaFX and Attach are always kept.
+     *
+     * Default: false
+     */
+    private final Property<Boolean> autoCallerFilter;
+
+    /**
+     * When true, the application runs without a display, using Monocle headless
+     * and software rendering, so the agent can run on CI.
+     *
+     * Default: false
+     */
+    private final Property<Boolean> headless;
+
+    /**
+     * Version of org.testfx:openjfx-monocle added to the classpath in headless mode.
+     * It should match the JavaFX version of the application.
+     */
+    private final Property<String> monocleVersion;
+
+    /**
+     * Scenarios that run the application, each in its own JVM. When empty, the
+     * application runs once, with the arguments of nativeRunAgent.
+     */
+    private final NamedDomainObjectContainer<AgentScenario> scenarios;
+
+    @Inject
+    public AgentConfiguration(ObjectFactory objectFactory) {
+        this.accessFilterIncludes = objectFactory.listProperty(String.class).empty();
+        this.accessFilterExcludes = objectFactory.listProperty(String.class).empty();
+        this.callerFilterIncludes = objectFactory.listProperty(String.class).empty();
+        this.callerFilterExcludes = objectFactory.listProperty(String.class).empty();
+        this.autoCallerFilter = objectFactory.property(Boolean.class).convention(false);
+        this.headless = objectFactory.property(Boolean.class).convention(false);
+        this.monocleVersion = objectFactory.property(String.class).convention(DEFAULT_MONOCLE_VERSION);
+        this.scenarios = objectFactory.domainObjectContainer(AgentScenario.class);
+    }
+
+    public ListProperty<String> getAccessFilterIncludes() {
+        return accessFilterIncludes;
+    }
+
+    public ListProperty<String> getAccessFilterExcludes() {
+        return accessFilterExcludes;
+    }
+
+    public ListProperty<String> getCallerFilterIncludes() {
+        return callerFilterIncludes;
+    }
+
+    public ListProperty<String> getCallerFilterExcludes() {
+        return callerFilterExcludes;
+    }
+
+    public Property<Boolean> getAutoCallerFilter() {
+        return autoCallerFilter;
+    }
+
+    public Property<Boolean> getHeadless() {
+        return headless;
+    }
+
+    public Property<String> getMonocleVersion() {
+        return monocleVersion;
+    }
+
+    public NamedDomainObjectContainer<AgentScenario> getScenarios() {
+        return scenarios;
+    }
+
+    public void scenarios(Action<? super NamedDomainObjectContainer<AgentScenario>> action) {
+        action.execute(scenarios);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle;
+
+import javax.inject.Inject;
+
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+
+/**
+ * Settings of nativeBenchmark, that runs the native application and the application
+ * on the JVM several times, and measures their startup time, peak RSS and CPU time.
+ */
+public class BenchmarkConfiguration {
+
+    /**
+     * Number of measured runs of each variant
+     *
+     * Default: 10
+     */
+    private final Property<Integer> iterations;
+
+    /**
+     * Runs of each variant before the measured ones, to warm up the file system caches
+     *
+     * Default: 1
+     */
+    private final Property<Integer> warmupIterations;
+
+    /**
+     * Text printed by the application to its standard output when it is ready. The
+     * startup time is measured until the first line with this text, and then the
+     * application is stopped. When not set, the application runs until it exits.
+     */
+    private final Property<String> readyMarker;
+
+    /**
+     * Maximum time, in seconds, of a single run
+     *
+     * Default: 60
+     */
+    private final Property<Integer> runTimeout;
+
+    /**
+     * When true, the application runs with Monocle headless and software rendering,
+     * so it can be benchmarked on CI. The native image has to include Monocle.
+     *
+     * Default: true
+     */
+    private final Property<Boolean> headless;
+
+    /**
+     * When true, the application is also benchmarked on the JVM, for comparison
+     *
+     * Default: true
+     */
+    private final Property<Boolean> jvm;
+
+    /**
+     * Arguments passed to the application
+     */
+    private final ListProperty<String> args;
+
+    /**
+     * Maximum increase, in percent, of the median startup time, peak RSS and binary size
+     * of the native application, compared to the previous runs in the history file.
+     * When exceeded, the build fails. When not set, regressions are not checked.
+     */
+    private final Property<Double> regressionThreshold;
+
+    @Inject
+    public BenchmarkConfiguration(ObjectFactory objectFactory) {
+        this.iterations = objectFactory.property(Integer.class).convention(10);
+        this.warmupIterations = objectFactory.property(Integer.class).convention(1);
+        this.readyMarker = objectFactory.property(String.class);
+        this.runTimeout = objectFactory.property(Integer.class).convention(60);
+        this.headless = objectFactory.property(Boolean.class).convention(true);
+        this.jvm = objectFactory.property(Boolean.class).convention(true);
+        this.args = objectFactory.listProperty(String.class).empty();
+        this.regressionThreshold = objectFactory.property(Double.class);
+    }
+
+    public Property<Integer> getIterations() {
+        return iterations;
+    }
+
+    public Property<Integer> getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    public Property<String> getReadyMarker() {
+        return readyMarker;
+    }
+
+    public Property<Integer> getRunTimeout() {
+        return runTimeout;
+    }
+
+    public Property<Boolean> getHeadless() {
+        return headless;
+    }
+
+    public Property<Boolean> getJvm() {
+        return jvm;
+    }
+
+    public ListProperty<String> getArgs() {
+        return args;
+    }
+
+    public Property<Double> getRegressionThreshold() {
+        return regressionThreshold;
+    }
+}
@@ -29,12 +29,14 @@
  */
 package com.gluonhq.gradle;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.gradle.api.Action;
 import org.gradle.api.Project;
 import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
 
 import com.gluonhq.gradle.attach.AttachConfiguration;
 
@@ -48,7 +50,16 @@ public class ClientExtension {
      * ios (either simulator or device), if the host is a Mac.
      * Default is "host"
      */
-    private String target;
+    private final Property<String> target;
+
+    /**
+     * List of additional targets. For each of them, the plugin adds compile, link,
+     * build and package tasks with the target as suffix, like nativeCompileHost or
+     * nativeBuildLinuxAarch64, that build in their own directory under the gluonfx
+     * build directory.
+     * Default is empty
+     */
+    private final ListProperty<String> targets;
 
     /**
      * List of additional full qualified bundle resources that will be added to
@@ -56,7 +67,7 @@ public class ClientExtension {
      * - "com/sun/javafx/scene/control/skin/resources/controls",
      * - "com.sun.javafx.tk.quantum.QuantumMessagesBundle"
      */
-    private final List<String> bundlesList;
+    private final ListProperty<String> bundlesList;
 
     /**
      * List of additional resource patterns or extensions that will be added
@@ -65,231 +76,344 @@ public class ClientExtension {
      * - ttf, css, fxml, json
      * - frag, gls, license
      */
-    private final List<String> resourcesList;
+    private final ListProperty<String> resourcesList;
 
     /**
      * List of additional full qualified classes that will be added to the default
      * reflection list, that already includes most of the JavaFX classes.
      */
-    private final List<String> reflectionList;
+    private final ListProperty<String> reflectionList;
 
     /**
      * List of additional full qualified classes that will be added to the default
      * jni list, that already includes most of the JavaFX classes.
      */
-    private final List<String> jniList;
+    private final ListProperty<String> jniList;
+
+    /**
+     * When true, nativeCompile adds the reflection, JNI, resource and bundle lists
+     * found by nativeAnalyze in the bytecode and FXML files of the application,
+     * so they don't need to be maintained by hand.
+     *
+     * Default: false
+     */
+    private final Property<Boolean> reachabilityAnalysis;
+
+    /**
+     * When true, nativeCompile embeds only the resources that the application
+     * references, as found by nativeAnalyze, instead of every resource that matches
+     * the default extensions and the resourcesList. JavaFX and Attach resources are
+     * always included.
+     *
+     * Default: false
+     */
+    private final Property<Boolean> resourcePruning;
+
+    /**
+     * When true, nativeCompile uses the dependency jars shrunk by nativeShrink,
+     * without the classes that can't be reached from the application.
+     *
+     * Default: false
+     */
+    private final Property<Boolean> classpathShrinking;
+
+    /**
+     * What nativeCompile does when the classpath has duplicate classes or conflicting
+     * native-image configuration files: warn, fail or off.
+     *
+     * Default: warn
+     */
+    private final Property<String> classpathCheck;
+
+    /**
+     * When true, nativeCompile dumps the size of the code and image heap of each
+     * class, for the breakdown of nativeSize.
+     *
+     * Default: false
+     */
+    private final Property<Boolean> sizeReport;
+
+    /**
+     * Maximum growth of the native image size compared to the baseline of nativeSize,
+     * by package pattern, like ["org.apache.*": "2MB", "total": "5MB"]
+     */
+    private final MapProperty<String, String> sizeBudgets;
+
+    /**
+     * Patterns of classes that classpath shrinking always keeps, like com.foo.**,
+     * for classes that are loaded with computed names
+     */
+    private final ListProperty<String> shrinkKeep;
 
     /**
      * List of optional compiler arguments
      */
-    private final List<String> compilerArgs;
+    private final ListProperty<String> compilerArgs;
 
     /**
      * List of optional linker arguments
      */
-    private final List<String> linkerArgs;
+    private final ListProperty<String> linkerArgs;
 
     /**
      * List of optional runtime arguments
      */
-    private final List<String> runtimeArgs;
+    private final ListProperty<String> runtimeArgs;
+
+    /**
+     * Maximum heap size of the worker process where the native compilation
+     * and link run, for instance "2g". The native-image builder itself is a
+     * separate process, that can be configured with -J options in compilerArgs.
+     */
+    private final Property<String> workerHeapSize;
+
+    /**
+     * List of optional JVM arguments of the worker process where the native
+     * compilation and link run
+     */
+    private final ListProperty<String> workerJvmArgs;
+
+    /**
+     * Maximum heap size of the native-image builder, like "6g". By default, it is
+     * derived from the memory available on the machine or container, and the
+     * number of compilations that can run at the same time.
+     */
+    private final Property<String> builderHeapSize;
+
+    /**
+     * Number of threads of the native-image builder. By default, the available
+     * CPUs divided by the number of compilations that can run at the same time.
+     */
+    private final Property<Integer> builderThreads;
+
+    /**
+     * Maximum number of native compilations that run at the same time in the build.
+     * By default, as many as fit in the available memory. When set in several
+     * projects, the value of the first project that configures it is used.
+     */
+    private final Property<Integer> maxParallelCompiles;
+
+    /**
+     * How nativeRunAgent handles the existing native-image configuration: fresh,
+     * accumulate or prune. By default, accumulate.
+     */
+    private final Property<String> agentMode;
 
     /**
      * The Java static SDK version
      */
-    private String javaStaticSdkVersion;
+    private final Property<String> javaStaticSdkVersion;
 
     /**
      * The JavaFX static SDK version
      */
-    private String javafxStaticSdkVersion;
+    private final Property<String> javafxStaticSdkVersion;
 
     /**
      * The GraalVM Home directory
      */
-    private String graalvmHome;
+    private final Property<String> graalvmHome;
 
     /**
      * Enables verbose output
      * By default is false
      */
-    private boolean verbose;
+    private final Property<Boolean> verbose;
 
     /**
      * Enables software rendering.
      * By default is false
      */
-    private boolean enableSwRendering;
+    private final Property<Boolean> enableSwRendering;
 
     /**
      * host name for remote deploying, typically to an
      * embedded system, providing it is reachable and SSH is
      * enabled
      */
-    private String remoteHostName;
+    private final Property<String> remoteHostName;
 
     /**
      * Sets the directory where the native image will be
      * deployed on the remote system, providing the remote
      * host is reachable and SSH is enabled.
      */
-    private String remoteDir;
+    private final Property<String> remoteDir;
 
     /**
      * Sets a unique application identifier.
      */
-    private String appIdentifier;
+    private final Property<String> appIdentifier;
 
     private final AttachConfiguration attachConfiguration;
 
     private final ReleaseConfiguration releaseConfiguration;
 
+    private final AgentConfiguration agentConfiguration;
+
+    private final BenchmarkConfiguration benchmarkConfiguration;
+
+    private final PgoConfiguration pgoConfiguration;
+
+    private final SdkCacheConfiguration sdkCacheConfiguration;
+
     public ClientExtension(Project project, ObjectFactory objectFactory) {
-        this.target = DEFAULT_TARGET;
-        this.bundlesList = new ArrayList<>();
-        this.resourcesList = new ArrayList<>();
-        this.reflectionList = new ArrayList<>();
-        this.jniList = new ArrayList<>();
-        this.compilerArgs = new ArrayList<>();
-        this.linkerArgs = new ArrayList<>();
-        this.runtimeArgs = new ArrayList<>();
+        this.target = objectFactory.property(String.class).convention(DEFAULT_TARGET);
+        this.targets = objectFactory.listProperty(String.class).empty();
+        this.bundlesList = objectFactory.listProperty(String.class).empty();
+        this.resourcesList = objectFactory.listProperty(String.class).empty();
+        this.reflectionList = objectFactory.listProperty(String.class).empty();
+        this.jniList = objectFactory.listProperty(String.class).empty();
+        this.reachabilityAnalysis = objectFactory.property(Boolean.class).convention(false);
+        this.resourcePruning = objectFactory.property(Boolean.class).convention(false);
+        this.classpathShrinking = objectFactory.property(Boolean.class).convention(false);
+        this.shrinkKeep = objectFactory.listProperty(String.class).empty();
+        this.classpathCheck = objectFactory.property(String.class).convention("warn");
+        this.sizeReport = objectFactory.property(Boolean.class).convention(false);
+        this.sizeBudgets = objectFactory.mapProperty(String.class, String.class).empty();
+        this.compilerArgs = objectFactory.listProperty(String.class).empty();
+        this.linkerArgs = objectFactory.listProperty(String.class).empty();
+        this.runtimeArgs = objectFactory.listProperty(String.class).empty();
+        this.workerHeapSize = objectFactory.property(String.class);
+        this.workerJvmArgs = objectFactory.listProperty(String.class).empty();
+        this.builderHeapSize = objectFactory.property(String.class);
+        this.builderThreads = objectFactory.property(Integer.class);
+        this.maxParallelCompiles = objectFactory.property(Integer.class);
+        this.agentMode = objectFactory.property(String.class).convention("accumulate");
+        this.javaStaticSdkVersion = objectFactory.property(String.class);
+        this.javafxStaticSdkVersion = objectFactory.property(String.class);
+        this.graalvmHome = objectFactory.property(String.class);
+        this.verbose = objectFactory.property(Boolean.class).convention(false);
+        this.enableSwRendering = objectFactory.property(Boolean.class).convention(false);
+        this.remoteHostName = objectFactory.property(String.class);
+        this.remoteDir = objectFactory.property(String.class);
+        this.appIdentifier = objectFactory.property(String.class);
 
         attachConfiguration = objectFactory.newInstance(AttachConfiguration.class, project);
         releaseConfiguration = objectFactory.newInstance(ReleaseConfiguration.class, project);
+        agentConfiguration = objectFactory.newInstance(AgentConfiguration.class);
+        benchmarkConfiguration = objectFactory.newInstance(BenchmarkConfiguration.class);
+        pgoConfiguration = objectFactory.newInstance(PgoConfiguration.class);
+        sdkCacheConfiguration = objectFactory.newInstance(SdkCacheConfiguration.class);
     }
 
-    public String getGraalvmHome() {
+    public Property<String> getGraalvmHome() {
         return graalvmHome;
     }
 
-    public void setGraalvmHome(String graalvmHome) {
-        this.graalvmHome = graalvmHome;
-    }
-
-    public String getJavaStaticSdkVersion() {
+    public Property<String> getJavaStaticSdkVersion() {
         return javaStaticSdkVersion;
     }
 
-    public void setJavaStaticSdkVersion(String javaStaticSdkVersion) {
-        this.javaStaticSdkVersion = javaStaticSdkVersion;
-    }
-
-    public String getJavafxStaticSdkVersion() {
+    public Property<String> getJavafxStaticSdkVersion() {
         return javafxStaticSdkVersion;
     }
 
-    public void setJavafxStaticSdkVersion(String javafxStaticSdkVersion) {
-        this.javafxStaticSdkVersion = javafxStaticSdkVersion;
-    }
-
-    public String getTarget() {
+    public Property<String> getTarget() {
         return target;
     }
 
-    public void setTarget(String target) {
-        this.target = target;
+    public ListProperty<String> getTargets() {
+        return targets;
     }
 
-    public List<String> getBundlesList() {
+    public ListProperty<String> getBundlesList() {
         return bundlesList;
     }
 
-    public void setBundlesList(List<String> bundlesList) {
-        this.bundlesList.clear();
-        this.bundlesList.addAll(bundlesList);
+    public ListProperty<String> getResourcesList() {
+        return resourcesList;
     }
 
-    public List<String> getResourcesList() {
-        return resourcesList;
+    public ListProperty<String> getReflectionList() {
+        return reflectionList;
     }
 
-    public void setResourcesList(List<String> resourcesList) {
-        this.resourcesList.clear();
-        this.resourcesList.addAll(resourcesList);
+    public ListProperty<String> getJniList() {
+        return jniList;
     }
 
-    public List<String> getReflectionList() {
-        return reflectionList;
+    public Property<Boolean> getReachabilityAnalysis() {
+        return reachabilityAnalysis;
     }
 
-    public void setReflectionList(List<String> reflectionList) {
-        this.reflectionList.clear();
-        this.reflectionList.addAll(reflectionList);
+    public Property<Boolean> getResourcePruning() {
+        return resourcePruning;
     }
 
-    public void setJniList(List<String> jniList) {
-        this.jniList.clear();
-        this.jniList.addAll(jniList);
+    public Property<Boolean> getClasspathShrinking() {
+        return classpathShrinking;
     }
 
-    public List<String> getJniList() {
-        return jniList;
+    public ListProperty<String> getShrinkKeep() {
+        return shrinkKeep;
     }
 
-    public void setCompilerArgs(List<String> compilerArgs) {
-        this.compilerArgs.clear();
-        this.compilerArgs.addAll(compilerArgs);
+    public Property<String> getClasspathCheck() {
+        return classpathCheck;
     }
 
-    public List<String> getCompilerArgs() {
-        return compilerArgs;
+    public Property<Boolean> getSizeReport() {
+        return sizeReport;
     }
 
-    public void setLinkerArgs(List<String> linkerArgs) {
-        this.linkerArgs.clear();
-        this.linkerArgs.addAll(linkerArgs);
+    public MapProperty<String, String> getSizeBudgets() {
+        return sizeBudgets;
     }
 
-    public List<String> getLinkerArgs() {
-        return linkerArgs;
+    public ListProperty<String> getCompilerArgs() {
+        return compilerArgs;
     }
 
-    public void setRuntimeArgs(List<String> compilerArgs) {
-        this.runtimeArgs.clear();
-        this.runtimeArgs.addAll(compilerArgs);
+    public ListProperty<String> getLinkerArgs() {
+        return linkerArgs;
     }
 
-    public List<String> getRuntimeArgs() {
+    public ListProperty<String> getRuntimeArgs() {
         return runtimeArgs;
     }
 
-    public boolean isVerbose() {
-        return verbose;
+    public Property<String> getWorkerHeapSize() {
+        return workerHeapSize;
     }
 
-    public void setVerbose(boolean verbose) {
-        this.verbose = verbose;
+    public ListProperty<String> getWorkerJvmArgs() {
+        return workerJvmArgs;
     }
 
-    public boolean isEnableSwRendering() {
-        return enableSwRendering;
+    public Property<String> getBuilderHeapSize() {
+        return builderHeapSize;
     }
 
-    public void setEnableSwRendering(boolean enableSwRendering) {
-        this.enableSwRendering = enableSwRendering;
+    public Property<Integer> getBuilderThreads() {
+        return builderThreads;
     }
 
-    public void setRemoteHostName(String remoteHostName) {
-        this.remoteHostName = remoteHostName;
+    public Property<Integer> getMaxParallelCompiles() {
+        return maxParallelCompiles;
     }
 
-    public String getRemoteHostName() {
-        return remoteHostName;
+    public Property<String> getAgentMode() {
+        return agentMode;
     }
 
-    public void setRemoteDir(String remoteDir) {
-        this.remoteDir = remoteDir;
+    public Property<Boolean> getVerbose() {
+        return verbose;
     }
 
-    public String getRemoteDir() {
-        return remoteDir;
+    public Property<Boolean> getEnableSwRendering() {
+        return enableSwRendering;
     }
 
-    public void setAppIdentifier(String appIdentifier) {
-        this.appIdentifier = appIdentifier;
+    public Property<String> getRemoteHostName() {
+        return remoteHostName;
+    }
+
+    public Property<String> getRemoteDir() {
+        return remoteDir;
     }
 
-    public String getAppIdentifier() {
+    public Property<String> getAppIdentifier() {
         return appIdentifier;
     }
 
@@ -309,4 +433,180 @@ public class ClientExtension {
         return releaseConfiguration;
     }
 
+    public void agent(Action<? super AgentConfiguration> action) {
+        action.execute(agentConfiguration);
+    }
+
+    public AgentConfiguration getAgentConfig() {
+        return agentConfiguration;
+    }
+
+    public void benchmark(Action<? super BenchmarkConfiguration> action) {
+        action.execute(benchmarkConfiguration);
+    }
+
+    public BenchmarkConfiguration getBenchmarkConfig() {
+        return benchmarkConfiguration;
+    }
+
+    public void pgo(Action<? super PgoConfiguration> action) {
+        action.execute(pgoConfiguration);
+    }
+
+    public PgoConfiguration getPgoConfig() {
+        return pgoConfiguration;
+    }
+
+    public void sdkCache(Action<? super SdkCacheConfiguration> action) {
+        action.execute(sdkCacheConfiguration);
+    }
+
+    public SdkCacheConfiguration getSdkCacheConfig() {
+        return sdkCacheConfiguration;
+    }
+
+    /**
+     * @deprecated use {@link #getGraalvmHome()} instead
+     */
+    @Deprecated
+    public void setGraalvmHome(String graalvmHome) {
+        this.graalvmHome.set(graalvmHome);
+    }
+
+    /**
+     * @deprecated use {@link #getJavaStaticSdkVersion()} instead
+     */
+    @Deprecated
+    public void setJavaStaticSdkVersion(String javaStaticSdkVersion) {
+        this.javaStaticSdkVersion.set(javaStaticSdkVersion);
+    }
+
+    /**
+     * @deprecated use {@link #getJavafxStaticSdkVersion()} instead
+     */
+    @Deprecated
+    public void setJavafxStaticSdkVersion(String javafxStaticSdkVersion) {
+        this.javafxStaticSdkVersion.set(javafxStaticSdkVersion);
+    }
+
+    /**
+     * @deprecated use {@link #getTarget()} instead
+     */
+    @Deprecated
+    public void setTarget(String target) {
+        this.target.set(target);
+    }
+
+    /**
+     * @deprecated use {@link #getBundlesList()} instead
+     */
+    @Deprecated
+    public void setBundlesList(List<String> bundlesList) {
+        this.bundlesList.set(bundlesList);
+    }
+
+    /**
+     * @deprecated use {@link #getResourcesList()} instead
+     */
+    @Deprecated
+    public void setResourcesList(List<String> resourcesList) {
+        this.resourcesList.set(resourcesList);
+    }
+
+    /**
+     * @deprecated use {@link #getReflectionList()} instead
+     */
+    @Deprecated
+    public void setReflectionList(List<String> reflectionList) {
+        this.reflectionList.set(reflectionList);
+    }
+
+    /**
+     * @deprecated use {@link #getJniList()} instead
+     */
+    @Deprecated
+    public void setJniList(List<String> jniList) {
+        this.jniList.set(jniList);
+    }
+
+    /**
+     * @deprecated use {@link #getCompilerArgs()} instead
+     */
+    @Deprecated
+    public void setCompilerArgs(List<String> compilerArgs) {
+        this.compilerArgs.set(compilerArgs);
+    }
+
+    /**
+     * @deprecated use {@link #getLinkerArgs()} instead
+     */
+    @Deprecated
+    public void setLinkerArgs(List<String> linkerArgs) {
+        this.linkerArgs.set(linkerArgs);
+    }
+
+    /**
+     * @deprecated use {@link #getRuntimeArgs()} instead
+     */
+    @Deprecated
+    public void setRuntimeArgs(List<String> runtimeArgs) {
+        this.runtimeArgs.set(runtimeArgs);
+    }
+
+    /**
+     * @deprecated use {@link #getVerbose()} instead
+     */
+    @Deprecated
+    public boolean isVerbose() {
+        return verbose.get();
+    }
+
+    /**
+     * @deprecated use {@link #getVerbose()} instead
+     */
+    @Deprecated
+    public void setVerbose(boolean verbose) {
+        this.verbose.set(verbose);
+    }
+
+    /**
+     * @deprecated use {@link #getEnableSwRendering()} instead
+     */
+    @Deprecated
+    public boolean isEnableSwRendering() {
+        return enableSwRendering.get();
+    }
+
+    /**
+     * @deprecated use {@link #getEnableSwRendering()} instead
+     */
+    @Deprecated
+    public void setEnableSwRendering(boolean enableSwRendering) {
+        this.enableSwRendering.set(enableSwRendering);
+    }
+
+    /**
+     * @deprecated use {@link #getRemoteHostName()} instead
+     */
+    @Deprecated
+    public void setRemoteHostName(String remoteHostName) {
+        this.remoteHostName.set(remoteHostName);
+    }
+
+    /**
+     * @deprecated use {@link #getRemoteDir()} instead
+     */
+    @Deprecated
+    public void setRemoteDir(String remoteDir) {
+        this.remoteDir.set(remoteDir);
+    }
+
+    /**
+     * @deprecated use {@link #getAppIdentifier()} instead
+     */
+    @Deprecated
+    public void setAppIdentifier(String appIdentifier) {
+        this.appIdentifier.set(appIdentifier);
+    }
+
 }
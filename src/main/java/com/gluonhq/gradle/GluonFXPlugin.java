@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021, Gluon
+ * Copyright (c) 2019, 2026, Gluon
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -29,19 +29,46 @@
  */
 package com.gluonhq.gradle;
 
+import com.gluonhq.gradle.tasks.ConfigBuildParameters;
+import com.gluonhq.gradle.tasks.NativeAnalyzeTask;
+import com.gluonhq.gradle.tasks.NativeAttachCheckTask;
+import com.gluonhq.gradle.tasks.NativeBenchmarkTask;
 import com.gluonhq.gradle.tasks.NativeBuildTask;
+import com.gluonhq.gradle.tasks.NativeCacheReportService;
 import com.gluonhq.gradle.tasks.NativeCompileTask;
 import com.gluonhq.gradle.tasks.NativeInstallTask;
 import com.gluonhq.gradle.tasks.NativeLinkTask;
 import com.gluonhq.gradle.tasks.NativePackageTask;
+import com.gluonhq.gradle.tasks.NativePrepareTask;
+import com.gluonhq.gradle.tasks.NativeProfileTask;
+import com.gluonhq.gradle.tasks.NativeResourcesTask;
 import com.gluonhq.gradle.tasks.NativeRunTask;
 import com.gluonhq.gradle.tasks.NativeRunAgentTask;
+import com.gluonhq.gradle.tasks.NativeShrinkTask;
+import com.gluonhq.gradle.tasks.NativeSizeTask;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.FileCollection;
 import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.build.event.BuildEventsListenerRegistry;
+
+import com.gluonhq.substrate.Constants;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
 public class GluonFXPlugin implements Plugin<Project> {
 
@@ -52,15 +79,27 @@ public class GluonFXPlugin implements Plugin<Project> {
     public static final String NATIVE_PACKAGE_TASK_NAME = "nativePackage";
     public static final String NATIVE_INSTALL_TASK_NAME = "nativeInstall";
     public static final String NATIVE_RUN_AGENT_TASK_NAME = "nativeRunAgent";
+    public static final String NATIVE_ANALYZE_TASK_NAME = "nativeAnalyze";
+    public static final String NATIVE_RESOURCES_TASK_NAME = "nativeResources";
+    public static final String NATIVE_SHRINK_TASK_NAME = "nativeShrink";
+    public static final String NATIVE_BENCHMARK_TASK_NAME = "nativeBenchmark";
+    public static final String NATIVE_COMPILE_INSTRUMENTED_TASK_NAME = "nativeCompileInstrumented";
+    public static final String NATIVE_LINK_INSTRUMENTED_TASK_NAME = "nativeLinkInstrumented";
+    public static final String NATIVE_PROFILE_TASK_NAME = "nativeProfile";
+    public static final String NATIVE_SIZE_TASK_NAME = "nativeSize";
+    public static final String NATIVE_PREPARE_TASK_NAME = "nativePrepare";
+    public static final String NATIVE_ATTACH_CHECK_TASK_NAME = "nativeAttachCheck";
 
     private static final String CONFIGURATION_CLIENT = "client";
 
     private ObjectFactory objectFactory;
+    private BuildEventsListenerRegistry buildEventsListenerRegistry;
     private Project project;
 
     @Inject
-    GluonFXPlugin(ObjectFactory objectFactory) {
+    GluonFXPlugin(ObjectFactory objectFactory, BuildEventsListenerRegistry buildEventsListenerRegistry) {
         this.objectFactory = objectFactory;
+        this.buildEventsListenerRegistry = buildEventsListenerRegistry;
     }
 
     @Override
@@ -69,7 +108,7 @@ public class GluonFXPlugin implements Plugin<Project> {
 
         project.getConfigurations().create(CONFIGURATION_CLIENT);
 
-        project.getExtensions().create("gluonfx", ClientExtension.class, project, objectFactory);
+        ClientExtension clientExtension = project.getExtensions().create("gluonfx", ClientExtension.class, project, objectFactory);
 
         createTask(NATIVE_COMPILE_TASK_NAME, NativeCompileTask.class, "Native AOT compilation of application.");
         createTask(NATIVE_LINK_TASK_NAME, NativeLinkTask.class, "Native link of application.");
@@ -78,11 +117,118 @@ public class GluonFXPlugin implements Plugin<Project> {
         createTask(NATIVE_PACKAGE_TASK_NAME, NativePackageTask.class, "Packages the native application for the target platform.");
         createTask(NATIVE_INSTALL_TASK_NAME, NativeInstallTask.class, "Installs the packaged native application on the target platform.");
         createTask(NATIVE_RUN_AGENT_TASK_NAME, NativeRunAgentTask.class, "Runs tracing agent to generate config files");
+        createTask(NATIVE_ANALYZE_TASK_NAME, NativeAnalyzeTask.class, "Finds the classes and resources used reflectively by the application.");
+        createTask(NATIVE_RESOURCES_TASK_NAME, NativeResourcesTask.class, "Lists the resources embedded in the native image.");
+        createTask(NATIVE_SHRINK_TASK_NAME, NativeShrinkTask.class, "Removes unreachable classes from the dependency jars.");
+        createTask(NATIVE_BENCHMARK_TASK_NAME, NativeBenchmarkTask.class, "Measures the startup time and memory of the native application.");
+
+        createTask(NATIVE_SIZE_TASK_NAME, NativeSizeTask.class, "Breaks down the size of the native image and checks the size budgets.");
+        createPgoTasks(clientExtension);
+        createTask(NATIVE_PREPARE_TASK_NAME, NativePrepareTask.class,
+                "Fetches and validates the SDKs, Attach artifacts and GraalVM installation of all targets.");
+        createTask(NATIVE_ATTACH_CHECK_TASK_NAME, NativeAttachCheckTask.class,
+                "Finds the Attach services that are not used by the application.");
+
+        project.afterEvaluate(p -> {
+            clientExtension.getTargets().get().forEach(target -> createTargetTasks(clientExtension, target));
+            project.getTasks().named(NATIVE_PREPARE_TASK_NAME, NativePrepareTask.class).configure(t ->
+                    t.getTargets().get().forEach(target -> t.getAttachArtifacts().addAll(
+                            clientExtension.getAttachConfig().getArtifactsForTarget(target).getResolvedArtifacts())));
+        });
+
+        buildEventsListenerRegistry.onTaskCompletion(NativeCacheReportService.register(project));
     }
     
+    /**
+     * Adds the tasks that build the application instrumented for profile-guided optimization,
+     * in their own build directory, and run it to collect the profiles used by nativeCompile
+     */
+    private void createPgoTasks(ClientExtension clientExtension) {
+        Provider<Directory> buildRoot = project.getLayout().getBuildDirectory().dir(Constants.GLUONFX_PATH + "/pgo");
+        Provider<List<String>> compilerArgs = clientExtension.getCompilerArgs().map(args -> {
+            List<String> instrumentedArgs = new ArrayList<>(args);
+            instrumentedArgs.add("--pgo-instrument");
+            return instrumentedArgs;
+        });
+
+        createTask(NATIVE_COMPILE_INSTRUMENTED_TASK_NAME, NativeCompileTask.class,
+                "Native AOT compilation of application, instrumented for profile-guided optimization.");
+        project.getTasks().named(NATIVE_COMPILE_INSTRUMENTED_TASK_NAME, NativeCompileTask.class).configure(t -> {
+            t.getBuildRoot().set(buildRoot);
+            t.getCompilerArgs().set(compilerArgs);
+            t.getProfileDirectory().set((Directory) null);
+        });
+        createTask(NATIVE_LINK_INSTRUMENTED_TASK_NAME, NativeLinkTask.class,
+                "Native link of application, instrumented for profile-guided optimization.");
+        project.getTasks().named(NATIVE_LINK_INSTRUMENTED_TASK_NAME, NativeLinkTask.class).configure(t -> {
+            t.getBuildRoot().set(buildRoot);
+            t.getCompilerArgs().set(compilerArgs);
+            t.getObjectFiles().setFrom(project.getTasks().named(NATIVE_COMPILE_INSTRUMENTED_TASK_NAME, NativeCompileTask.class)
+                    .map(NativeCompileTask::getObjectFiles));
+        });
+        createTask(NATIVE_PROFILE_TASK_NAME, NativeProfileTask.class,
+                "Runs the instrumented application to collect profiles for profile-guided optimization.");
+        project.getTasks().named(NATIVE_PROFILE_TASK_NAME, NativeProfileTask.class).configure(t -> {
+            t.getBuildRoot().set(buildRoot);
+            t.getCompilerArgs().set(compilerArgs);
+        });
+    }
+
+    /**
+     * Adds compile, link, build and package tasks for the given target, that use their own
+     * build directory, and the Attach artifacts for that target.
+     */
+    private void createTargetTasks(ClientExtension clientExtension, String target) {
+        String suffix = Arrays.stream(target.split("-"))
+                .map(s -> s.substring(0, 1).toUpperCase(Locale.ROOT) + s.substring(1))
+                .collect(Collectors.joining());
+        String compileTaskName = NATIVE_COMPILE_TASK_NAME + suffix;
+        String linkTaskName = NATIVE_LINK_TASK_NAME + suffix;
+
+        // The runtime classpath is resolved once, and shared by all targets
+        ConfigurableFileCollection classpath = project.files();
+        project.getPlugins().withType(JavaPlugin.class, javaPlugin -> {
+            SourceSet mainSourceSet = project.getExtensions().getByType(SourceSetContainer.class)
+                    .getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+            Configuration runtimeClasspath = project.getConfigurations()
+                    .getByName(mainSourceSet.getRuntimeClasspathConfigurationName());
+            classpath.from(mainSourceSet.getOutput(),
+                    clientExtension.getAttachConfig().getClasspathForTarget(runtimeClasspath, target));
+        });
+        Provider<Directory> buildRoot = project.getLayout().getBuildDirectory().dir(Constants.GLUONFX_PATH + "/" + target);
+
+        TaskProvider<NativeCompileTask> compileTask = createTargetTask(compileTaskName, NativeCompileTask.class, target,
+                classpath, buildRoot, "Native AOT compilation of application for " + target + ".");
+        createTargetTask(linkTaskName, NativeLinkTask.class, target, classpath, buildRoot,
+                "Native link of application for " + target + ".")
+                .configure(t -> t.getObjectFiles().setFrom(compileTask.map(NativeCompileTask::getObjectFiles)));
+        project.getTasks().register(NATIVE_BUILD_TASK_NAME + suffix, t -> {
+            t.setGroup("GluonFX");
+            t.setDescription("Combines AOT compilation and link of application for " + target + ".");
+            t.dependsOn(compileTaskName, linkTaskName);
+        });
+        createTargetTask(NATIVE_PACKAGE_TASK_NAME + suffix, NativePackageTask.class, target, classpath, buildRoot,
+                "Packages the native application for " + target + ".")
+                .configure(t -> t.mustRunAfter(linkTaskName));
+    }
+
+    private <T extends Task & ConfigBuildParameters> TaskProvider<T> createTargetTask(String name, Class<T> taskClass,
+            String target, FileCollection classpath, Provider<Directory> buildRoot, String description) {
+        TaskProvider<T> provider = project.getTasks().register(name, taskClass, project);
+        provider.configure(t -> {
+            t.setGroup("GluonFX");
+            t.setDescription(description);
+            t.getTarget().set(target);
+            t.getClasspath().setFrom(classpath);
+            t.getBuildRoot().set(buildRoot);
+        });
+        return provider;
+    }
+
     private void createTask(String name, Class<? extends Task> taskClass, String description) {
-        Task t = project.getTasks().create(name, taskClass, project);
-        t.setGroup("GluonFX");
-        t.setDescription(description);
+        project.getTasks().register(name, taskClass, project).configure(t -> {
+            t.setGroup("GluonFX");
+            t.setDescription(description);
+        });
     }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle;
+
+import javax.inject.Inject;
+
+import org.gradle.api.Action;
+import org.gradle.api.NamedDomainObjectContainer;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.Property;
+
+/**
+ * Settings of the profile-guided optimization of the native image, that requires
+ * Oracle GraalVM: nativeCompileInstrumented and nativeLinkInstrumented build an
+ * instrumented application, nativeProfile runs it over the workloads, and
+ * nativeCompile uses the collected profiles.
+ */
+public class PgoConfiguration {
+
+    /**
+     * When true, nativeCompile uses the profiles collected by nativeProfile
+     *
+     * Default: false
+     */
+    private final Property<Boolean> enabled;
+
+    /**
+     * When true, the instrumented application runs with Monocle headless and software
+     * rendering. Monocle is not added by the plugin: the application has to include it,
+     * with its reflection and JNI configuration.
+     *
+     * Default: false
+     */
+    private final Property<Boolean> headless;
+
+    /**
+     * Maximum time, in seconds, of each workload
+     *
+     * Default: 300
+     */
+    private final Property<Integer> runTimeout;
+
+    /**
+     * Runs of the instrumented application, each one writes its own profile. When empty,
+     * the application runs once without arguments.
+     */
+    private final NamedDomainObjectContainer<PgoWorkload> workloads;
+
+    @Inject
+    public PgoConfiguration(ObjectFactory objectFactory) {
+        this.enabled = objectFactory.property(Boolean.class).convention(false);
+        this.headless = objectFactory.property(Boolean.class).convention(false);
+        this.runTimeout = objectFactory.property(Integer.class).convention(300);
+        this.workloads = objectFactory.domainObjectContainer(PgoWorkload.class);
+    }
+
+    public Property<Boolean> getEnabled() {
+        return enabled;
+    }
+
+    public Property<Boolean> getHeadless() {
+        return headless;
+    }
+
+    public Property<Integer> getRunTimeout() {
+        return runTimeout;
+    }
+
+    public NamedDomainObjectContainer<PgoWorkload> getWorkloads() {
+        return workloads;
+    }
+
+    public void workloads(Action<? super NamedDomainObjectContainer<PgoWorkload>> action) {
+        action.execute(workloads);
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * BSD 3-Clause License
  *
- * Copyright (c) 2020, 2022, Gluon Software
+ * Copyright (c) 2020, 2026, Gluon Software
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -34,6 +34,9 @@ package com.gluonhq.gradle;
 import org.gradle.api.Project;
 
 import javax.inject.Inject;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 
 public class ReleaseConfiguration {
 
@@ -414,32 +417,81 @@ public class ReleaseConfiguration {
     }
 
     public com.gluonhq.substrate.model.ReleaseConfiguration toSubstrate() {
+        return toSubstrate(toMap());
+    }
+
+    /**
+     * Returns the release settings as a map of plain strings, that can be passed
+     * to other processes. Settings without a value are not included.
+     *
+     * @return a map with the value of each release setting
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> values = new HashMap<>();
+
+        values.put("packageType", getPackageType());
+        values.put("description", getDescription());
+        values.put("vendor", getVendor());
+        values.put("version", getVersion());
+        // macOS
+        values.put("macAppStore", String.valueOf(isMacAppStore()));
+        values.put("macSigningUserName", getMacSigningUserName());
+        values.put("macAppCategory", getMacAppCategory());
+        // macOS/iOS
+        values.put("bundleName", getBundleName());
+        values.put("bundleVersion", getBundleVersion());
+        values.put("bundleShortVersion", getBundleShortVersion());
+        values.put("providedSigningIdentity", getProvidedSigningIdentity());
+        values.put("providedProvisioningProfile", getProvidedProvisioningProfile());
+        values.put("skipSigning", String.valueOf(isSkipSigning()));
+        values.put("simulatorDevice", getSimulatorDevice());
+        // Android
+        values.put("appLabel", getAppLabel());
+        values.put("versionCode", getVersionCode());
+        values.put("versionName", getVersionName());
+        values.put("providedKeyStorePath", getProvidedKeyStorePath());
+        values.put("providedKeyStorePassword", getProvidedKeyStorePassword());
+        values.put("providedKeyAlias", getProvidedKeyAlias());
+        values.put("providedKeyAliasPassword", getProvidedKeyAliasPassword());
+
+        // unset values are left out
+        values.values().removeIf(Objects::isNull);
+        return values;
+    }
+
+    /**
+     * Creates the Substrate release configuration from the values returned by {@link #toMap()}.
+     *
+     * @param values a map with the value of each release setting
+     * @return the Substrate release configuration
+     */
+    public static com.gluonhq.substrate.model.ReleaseConfiguration toSubstrate(Map<String, String> values) {
         com.gluonhq.substrate.model.ReleaseConfiguration release = new com.gluonhq.substrate.model.ReleaseConfiguration();
 
-        release.setPackageType(getPackageType());
-        release.setDescription(getDescription());
-        release.setVendor(getVendor());
-        release.setVersion(getVersion());
+        release.setPackageType(values.get("packageType"));
+        release.setDescription(values.get("description"));
+        release.setVendor(values.get("vendor"));
+        release.setVersion(values.get("version"));
         // macOS
-        release.setMacAppStore(isMacAppStore());
-        release.setMacSigningUserName(getMacSigningUserName());
-        release.setMacAppCategory(getMacAppCategory());
+        release.setMacAppStore(Boolean.parseBoolean(values.get("macAppStore")));
+        release.setMacSigningUserName(values.get("macSigningUserName"));
+        release.setMacAppCategory(values.get("macAppCategory"));
         // macOS/iOS
-        release.setBundleName(getBundleName());
-        release.setBundleVersion(getBundleVersion());
-        release.setBundleShortVersion(getBundleShortVersion());
-        release.setProvidedSigningIdentity(getProvidedSigningIdentity());
-        release.setProvidedProvisioningProfile(getProvidedProvisioningProfile());
-        release.setSkipSigning(isSkipSigning());
-        release.setSimulatorDevice(getSimulatorDevice());
+        release.setBundleName(values.get("bundleName"));
+        release.setBundleVersion(values.get("bundleVersion"));
+        release.setBundleShortVersion(values.get("bundleShortVersion"));
+        release.setProvidedSigningIdentity(values.get("providedSigningIdentity"));
+        release.setProvidedProvisioningProfile(values.get("providedProvisioningProfile"));
+        release.setSkipSigning(Boolean.parseBoolean(values.get("skipSigning")));
+        release.setSimulatorDevice(values.get("simulatorDevice"));
         // Android
-        release.setAppLabel(getAppLabel());
-        release.setVersionCode(getVersionCode());
-        release.setVersionName(getVersionName());
-        release.setProvidedKeyStorePath(getProvidedKeyStorePath());
-        release.setProvidedKeyStorePassword(getProvidedKeyStorePassword());
-        release.setProvidedKeyAlias(getProvidedKeyAlias());
-        release.setProvidedKeyAliasPassword(getProvidedKeyAliasPassword());
+        release.setAppLabel(values.get("appLabel"));
+        release.setVersionCode(values.get("versionCode"));
+        release.setVersionName(values.get("versionName"));
+        release.setProvidedKeyStorePath(values.get("providedKeyStorePath"));
+        release.setProvidedKeyStorePassword(values.get("providedKeyStorePassword"));
+        release.setProvidedKeyAlias(values.get("providedKeyAlias"));
+        release.setProvidedKeyAliasPassword(values.get("providedKeyAliasPassword"));
 
         return release;
     }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle;
+
+import javax.inject.Inject;
+
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+
+/**
+ * Settings of the machine-wide cache of the static SDKs that Substrate links with.
+ *
+ * When enabled, the SDK archives are downloaded by the plugin, verified, and unpacked
+ * once in a content-addressed cache shared by all the builds and Gradle daemons of
+ * the machine, and Substrate uses them from there.
+ */
+public class SdkCacheConfiguration {
+
+    private static final String DEFAULT_REPOSITORY = "https://download2.gluonhq.com/substrate/";
+
+    /**
+     * When true, the static SDKs are managed by the cache, instead of Substrate
+     *
+     * Default: false
+     */
+    private final Property<Boolean> enabled;
+
+    /**
+     * The directory of the cache. Default: ~/.gluon/substrate/cache
+     */
+    private final Property<String> directory;
+
+    /**
+     * The base URL of the SDK archives, or a local directory with the same layout,
+     * like javafxstaticsdk/openjfx-21-ea+11.3-linux-x86_64-static.zip
+     */
+    private final Property<String> repository;
+
+    /**
+     * Maximum size of the unpacked SDKs. The least recently used ones are removed
+     * when it is exceeded.
+     *
+     * Default: 10GB
+     */
+    private final Property<String> maxSize;
+
+    /**
+     * When true, the SDKs are never downloaded, and the build fails if they are not in
+     * the cache. It is also enabled by Gradle's --offline.
+     *
+     * Default: false
+     */
+    private final Property<Boolean> offline;
+
+    /**
+     * Expected SHA-256 checksums, by archive file name. Without one, the checksum
+     * published next to the archive, with the .sha256 extension, is used if any.
+     */
+    private final MapProperty<String, String> checksums;
+
+    @Inject
+    public SdkCacheConfiguration(ObjectFactory objectFactory) {
+        this.enabled = objectFactory.property(Boolean.class).convention(false);
+        this.directory = objectFactory.property(String.class);
+        this.repository = objectFactory.property(String.class).convention(DEFAULT_REPOSITORY);
+        this.maxSize = objectFactory.property(String.class).convention("10GB");
+        this.offline = objectFactory.property(Boolean.class).convention(false);
+        this.checksums = objectFactory.mapProperty(String.class, String.class).empty();
+    }
+
+    public Property<Boolean> getEnabled() {
+        return enabled;
+    }
+
+    public Property<String> getDirectory() {
+        return directory;
+    }
+
+    public Property<String> getRepository() {
+        return repository;
+    }
+
+    public Property<String> getMaxSize() {
+        return maxSize;
+    }
+
+    public Property<Boolean> getOffline() {
+        return offline;
+    }
+
+    public MapProperty<String, String> getChecksums() {
+        return checksums;
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * BSD 3-Clause License
  *
- * Copyright (c) 2018, 2023, Gluon Software
+ * Copyright (c) 2018, 2026, Gluon Software
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -31,8 +31,10 @@
  */
 package com.gluonhq.gradle.attach;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.inject.Inject;
@@ -40,28 +42,75 @@ import javax.inject.Inject;
 import org.gradle.api.Action;
 import org.gradle.api.NamedDomainObjectContainer;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.ArtifactCollection;
 import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.DependencySet;
+import org.gradle.api.artifacts.ModuleDependency;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.attributes.Attribute;
+import org.gradle.api.attributes.Bundling;
+import org.gradle.api.attributes.Category;
+import org.gradle.api.attributes.LibraryElements;
+import org.gradle.api.attributes.Usage;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.Provider;
 
 import com.gluonhq.gradle.ClientExtension;
 import com.gluonhq.substrate.Constants;
-import org.gradle.api.artifacts.ModuleDependency;
 
+/**
+ * Adds the Attach dependencies of the selected services to the given configuration.
+ *
+ * The dependencies are added once, when the configuration is first resolved, so the
+ * order of the settings in the build script doesn't matter. They don't have a
+ * classifier: the artifact of each target is selected through the
+ * {@link #PLATFORM_ATTRIBUTE} attribute, with the variants added by {@link AttachVariantRule}.
+ */
 public class AttachConfiguration {
-    private static final String DEPENDENCY_GROUP = "com.gluonhq.attach";
-    private static final String UTIL_ARTIFACT = "util";
+
+    /**
+     * The platform of the Attach artifacts: desktop, android or ios
+     */
+    public static final Attribute<String> PLATFORM_ATTRIBUTE = Attribute.of("com.gluonhq.attach.platform", String.class);
+
+    static final String DEPENDENCY_GROUP = "com.gluonhq.attach";
+    static final String UTIL_ARTIFACT = "util";
+    static final String PLATFORM_DESKTOP = "desktop";
+    static final String PLATFORM_ANDROID = "android";
+    static final String PLATFORM_IOS = "ios";
 
     private Project project;
 
     private String version;
     private String configuration = "implementation";
+    private String unusedServices = "warn";
 
     private NamedDomainObjectContainer<AttachServiceDefinition> services;
-    private Configuration lastAppliedConfiguration;
 
     @Inject
     public AttachConfiguration(Project project) {
         this.project = project;
         this.services = project.container(AttachServiceDefinition.class);
+
+        project.getDependencies().getComponents().all(AttachVariantRule.class);
+        project.getConfigurations().configureEach(config -> config.withDependencies(dependencies -> {
+            if (config.getName().equals(getConfiguration())) {
+                addDependencies(dependencies);
+            }
+        }));
+
+        // Every classpath that can inherit the Attach dependencies, like the test classpaths,
+        // requests the artifacts of the target platform, as the classifier did before. The
+        // attribute only changes the selection of the Attach modules.
+        Provider<String> platform = project.provider(() ->
+                getPlatform(project.getExtensions().getByType(ClientExtension.class).getTarget().get()));
+        project.getConfigurations().configureEach(config -> {
+            if (config.isCanBeResolved()) {
+                config.getAttributes().attributeProvider(PLATFORM_ATTRIBUTE, platform);
+            }
+        });
     }
 
     public void version(String version) {
@@ -78,12 +127,27 @@ public class AttachConfiguration {
 
     public void setConfiguration(String configuration) {
         this.configuration = configuration;
-        applyConfiguration();
     }
 
     public String getConfiguration() {
         return configuration;
     }
+
+    /**
+     * What to do with the services that are not referenced by the application, as found by
+     * the nativeAttachCheck task: "warn", "fail", or "remove" to leave them out of the
+     * native image.
+     *
+     * @param unusedServices warn, fail or remove
+     */
+    public void setUnusedServices(String unusedServices) {
+        this.unusedServices = unusedServices;
+    }
+
+    public String getUnusedServices() {
+        return unusedServices;
+    }
+
     public Collection<AttachServiceDefinition> getServices() {
         return services;
     }
@@ -93,7 +157,6 @@ public class AttachConfiguration {
             for (String service : services) {
                 this.services.create(service);
             }
-            applyConfiguration();
         }
     }
 
@@ -106,62 +169,133 @@ public class AttachConfiguration {
     }
 
     /**
-     * Add dependencies to the specified configuration. Only dependencies to services that support the provided
-     * configuration will be included.
+     * Returns the given classpath, with the Attach artifacts resolved for the given target,
+     * instead of the target defined in the gluonfx extension.
+     *
+     * @param classpath the configuration that contains the Attach dependencies
+     * @param target the target profile
+     * @return the classpath for the target
      */
-    private void applyConfiguration() {
-        if (version == null) {
-            throw new IllegalStateException("Attach version must be specified!");
-        }
+    public FileCollection getClasspathForTarget(Configuration classpath, String target) {
+        return project.files(getClasspathWithoutAttach(classpath), createAttachConfiguration(target));
+    }
 
-        if (lastAppliedConfiguration != null) {
-            lastAppliedConfiguration.getDependencies()
-                    .removeIf(dependency -> DEPENDENCY_GROUP.equals(dependency.getGroup()));
-        }
+    /**
+     * @param classpath the configuration that contains the Attach dependencies
+     * @return the files of the classpath that are not Attach artifacts
+     */
+    public FileCollection getClasspathWithoutAttach(Configuration classpath) {
+        return classpath.getIncoming()
+                .artifactView(view -> view.componentFilter(id -> !isAttach(id)))
+                .getFiles();
+    }
 
-        String configName = getConfiguration();
-        Configuration configuration = project.getConfigurations().getByName(configName);
-        String target = project.getExtensions().getByType(ClientExtension.class).getTarget();
+    /**
+     * @param classpath the configuration that contains the Attach dependencies
+     * @return the Attach artifacts of the classpath, with their component identifiers
+     */
+    public ArtifactCollection getAttachArtifacts(Configuration classpath) {
+        return classpath.getIncoming()
+                .artifactView(view -> view.componentFilter(AttachConfiguration::isAttach))
+                .getArtifacts();
+    }
+
+    private static boolean isAttach(ComponentIdentifier id) {
+        return id instanceof ModuleComponentIdentifier &&
+                DEPENDENCY_GROUP.equals(((ModuleComponentIdentifier) id).getGroup());
+    }
+
+    /**
+     * Returns the Attach artifacts for the given target, with their component identifiers,
+     * resolved when they are queried.
+     *
+     * @param target the target profile
+     * @return the Attach artifacts for the target
+     */
+    public ArtifactCollection getArtifactsForTarget(String target) {
+        return createAttachConfiguration(target).getIncoming().getArtifacts();
+    }
+
+    /**
+     * Creates a configuration that resolves the runtime artifacts of the Attach services
+     * for the given target, with its dependencies added when it is resolved.
+     */
+    private Configuration createAttachConfiguration(String target) {
+        Configuration attach = project.getConfigurations().detachedConfiguration();
+        ObjectFactory objects = project.getObjects();
+        attach.attributes(attributes -> {
+            attributes.attribute(Usage.USAGE_ATTRIBUTE, objects.named(Usage.class, Usage.JAVA_RUNTIME));
+            attributes.attribute(Category.CATEGORY_ATTRIBUTE, objects.named(Category.class, Category.LIBRARY));
+            attributes.attribute(LibraryElements.LIBRARY_ELEMENTS_ATTRIBUTE, objects.named(LibraryElements.class, LibraryElements.JAR));
+            attributes.attribute(Bundling.BUNDLING_ATTRIBUTE, objects.named(Bundling.class, Bundling.EXTERNAL));
+            attributes.attribute(PLATFORM_ATTRIBUTE, getPlatform(target));
+        });
+        attach.withDependencies(this::addDependencies);
+        return attach;
+    }
+
+    /**
+     * Adds the Attach dependencies: one for each service, and the util artifact, without
+     * the JavaFX dependencies, that are provided by the JavaFX static SDK.
+     */
+    void addDependencies(DependencySet dependencies) {
+        getDependencyNotations().forEach(depNotation -> {
+            ModuleDependency dep = (ModuleDependency) project.getDependencies().create(depNotation);
+            dep.exclude(Map.of("group", "org.openjfx", "module", "*"));
+            dependencies.add(dep);
+        });
+    }
 
-        project.getLogger().info("Adding Attach dependencies for target: " + target);
+    /**
+     * Returns the notation of the Attach dependencies: one for each service, and the util artifact.
+     */
+    private List<Map<String, String>> getDependencyNotations() {
+        List<Map<String, String>> notations = new ArrayList<>();
         if (services != null && !services.isEmpty()) {
+            if (version == null) {
+                throw new IllegalStateException("Attach version must be specified!");
+            }
             services.stream()
-                .map(asd -> generateDependencyNotation(asd, target))
-                .forEach(depNotion -> {
-                    ModuleDependency dep = (ModuleDependency) project.getDependencies().add(configName, depNotion);
-                    if (dep != null) {
-                        dep.exclude(Map.of("group", "org.openjfx", "module", "*"));
-                    }
-                });
+                .map(this::generateDependencyNotation)
+                .forEach(notations::add);
 
             // Also add util artifact if any other artifact added
             Map<String, String> utilDependencyNotationMap = new HashMap<>();
             utilDependencyNotationMap.put("group", DEPENDENCY_GROUP);
             utilDependencyNotationMap.put("name", UTIL_ARTIFACT);
             utilDependencyNotationMap.put("version", getVersion());
-            if (Constants.PROFILE_ANDROID.equals(target) || Constants.PROFILE_IOS.equals(target)
-                    || Constants.PROFILE_IOS_SIM.equals(target)) {
-                String utilTarget = Constants.PROFILE_IOS_SIM.equals(target) ?
-                        Constants.PROFILE_IOS : target;
-                utilDependencyNotationMap.put("classifier", utilTarget);
-            }
-            ModuleDependency dep = (ModuleDependency) project.getDependencies().add(configName, utilDependencyNotationMap);
-            if (dep != null) {
-                dep.exclude(Map.of("group", "org.openjfx", "module", "*"));
-            }
+            notations.add(utilDependencyNotationMap);
         }
-
-        lastAppliedConfiguration = configuration;
+        return notations;
     }
 
-    private Map<String, String> generateDependencyNotation(AttachServiceDefinition asd, String target) {
+    private Map<String, String> generateDependencyNotation(AttachServiceDefinition asd) {
         Map<String, String> dependencyNotationMap = new HashMap<>();
         dependencyNotationMap.put("group", DEPENDENCY_GROUP);
         dependencyNotationMap.put("name", asd.getName());
         dependencyNotationMap.put("version", getVersion());
-        dependencyNotationMap.put("classifier", asd.getSupportedPlatform(target));
 
         project.getLogger().info("Adding dependency for {} in configuration {}: {}", asd.getService().getServiceName(), getConfiguration(), dependencyNotationMap);
         return dependencyNotationMap;
     }
+
+    /**
+     * @param target the target profile
+     * @return the platform of the Attach artifacts for the target, desktop if the target
+     * is not valid, as that is reported by the native tasks, not by every resolution
+     */
+    static String getPlatform(String target) {
+        switch (target) {
+            case Constants.PROFILE_HOST:
+            case Constants.PROFILE_LINUX_AARCH64:
+                return PLATFORM_DESKTOP;
+            case Constants.PROFILE_IOS:
+            case Constants.PROFILE_IOS_SIM:
+                return PLATFORM_IOS;
+            case Constants.PROFILE_ANDROID:
+                return PLATFORM_ANDROID;
+            default:
+                return PLATFORM_DESKTOP;
+        }
+    }
 }
@@ -84,6 +84,20 @@ public enum AttachService {
         return name().replace('_', '-').toLowerCase(Locale.ROOT);
     }
 
+    /**
+     * @return the package of the service API, like com.gluonhq.attach.storage
+     */
+    public String getPackageName() {
+        switch (this) {
+            case AUGMENTED_REALITY:
+                return "com.gluonhq.attach.augmented";
+            case BARCODE_SCAN:
+                return "com.gluonhq.attach.barcode";
+            default:
+                return "com.gluonhq.attach." + name().replace("_", "").toLowerCase(Locale.ROOT);
+        }
+    }
+
     public boolean isAndroidSupported() {
         return androidSupported;
     }
@@ -31,7 +31,6 @@
  */
 package com.gluonhq.gradle.attach;
 
-import com.gluonhq.substrate.Constants;
 import org.gradle.api.GradleException;
 import org.gradle.api.Named;
 import org.gradle.api.logging.LogLevel;
@@ -86,21 +85,6 @@ public class AttachServiceDefinition implements Named {
         version(version);
     }
 
-    String getSupportedPlatform(String target) {
-        switch (target) {
-            case Constants.PROFILE_HOST:
-            case Constants.PROFILE_LINUX_AARCH64:
-                return getService().isDesktopSupported() ? "desktop" : "";
-            case Constants.PROFILE_IOS:
-            case Constants.PROFILE_IOS_SIM:
-                return getService().isIosSupported() ? "ios" : "";
-            case Constants.PROFILE_ANDROID:
-                return getService().isAndroidSupported() ? "android" : "";
-            default:
-                throw new RuntimeException("No valid target found for " + target);
-        }
-    }
-
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
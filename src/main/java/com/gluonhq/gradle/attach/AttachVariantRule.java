@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.attach;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.gradle.api.artifacts.CacheableRule;
+import org.gradle.api.artifacts.ComponentMetadataContext;
+import org.gradle.api.artifacts.ComponentMetadataDetails;
+import org.gradle.api.artifacts.ComponentMetadataRule;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+
+/**
+ * Adds a runtime variant for each platform to the Attach modules, that are published with a
+ * classifier per platform, so the variant of each target is selected by the
+ * {@link AttachConfiguration#PLATFORM_ATTRIBUTE} attribute instead of a classifier.
+ * When a service is not supported on a platform, its variant has the artifact without classifier.
+ * An API variant is added for each platform too, with the artifact without classifier, so
+ * compile classpaths don't see the implementation classes of the platform.
+ */
+@CacheableRule
+public abstract class AttachVariantRule implements ComponentMetadataRule {
+
+    static final List<String> PLATFORMS = List.of(AttachConfiguration.PLATFORM_DESKTOP,
+            AttachConfiguration.PLATFORM_ANDROID, AttachConfiguration.PLATFORM_IOS);
+
+    @Override
+    public void execute(ComponentMetadataContext context) {
+        ComponentMetadataDetails details = context.getDetails();
+        ModuleVersionIdentifier id = details.getId();
+        if (!AttachConfiguration.DEPENDENCY_GROUP.equals(id.getGroup())) {
+            return;
+        }
+        // Modules published with a POM only have compile and runtime variants, and the ones
+        // with Gradle metadata have apiElements and runtimeElements: only the existing base is used
+        for (String platform : PLATFORMS) {
+            String classifier = getClassifier(id.getName(), platform);
+            String fileName = id.getName() + "-" + id.getVersion() + (classifier.isEmpty() ? "" : "-" + classifier) + ".jar";
+            for (String base : List.of("compile", "apiElements")) {
+                details.maybeAddVariant(platform + "Api", base, variant ->
+                        variant.attributes(attributes -> attributes.attribute(AttachConfiguration.PLATFORM_ATTRIBUTE, platform)));
+            }
+            for (String base : List.of("runtime", "runtimeElements")) {
+                details.maybeAddVariant(platform + "Runtime", base, variant -> {
+                    variant.attributes(attributes -> attributes.attribute(AttachConfiguration.PLATFORM_ATTRIBUTE, platform));
+                    variant.withFiles(files -> {
+                        files.removeAllFiles();
+                        files.addFile(fileName);
+                    });
+                });
+            }
+        }
+    }
+
+    /**
+     * @param module the Attach module, a service or util
+     * @param platform the platform
+     * @return the classifier of the artifact of the module for the platform, or an empty string
+     */
+    static String getClassifier(String module, String platform) {
+        if (AttachConfiguration.UTIL_ARTIFACT.equals(module)) {
+            return AttachConfiguration.PLATFORM_DESKTOP.equals(platform) ? "" : platform;
+        }
+        AttachService service;
+        try {
+            service = AttachService.valueOf(module.replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            // A module that is not known by this version of the plugin
+            return platform;
+        }
+        switch (platform) {
+            case AttachConfiguration.PLATFORM_ANDROID:
+                return service.isAndroidSupported() ? platform : "";
+            case AttachConfiguration.PLATFORM_IOS:
+                return service.isIosSupported() ? platform : "";
+            default:
+                return service.isDesktopSupported() ? platform : "";
+        }
+    }
+}
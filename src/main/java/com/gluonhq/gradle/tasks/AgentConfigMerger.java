@@ -0,0 +1,465 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import groovy.json.JsonOutput;
+import groovy.json.JsonSlurper;
+
+/**
+ * Merges the configuration files generated by the native-image tracing agent
+ * into the native-image configuration of the project.
+ *
+ * Entries are identified by their class name (or by their content, for entries
+ * without a name), entries with the same identity are merged, and the result is
+ * written sorted, so the same runs always produce the same files.
+ */
+class AgentConfigMerger {
+
+    enum Mode {
+        /**
+         * Replaces the existing configuration with the one from the last run
+         */
+        FRESH,
+        /**
+         * Adds the configuration from the last run to the existing one
+         */
+        ACCUMULATE,
+        /**
+         * Like accumulate, and removes the entries of classes that are not on the classpath anymore
+         */
+        PRUNE;
+
+        static Mode of(String mode) {
+            try {
+                return valueOf(mode.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid agent mode: " + mode +
+                        ". Valid modes are fresh, accumulate and prune", e);
+            }
+        }
+    }
+
+    /**
+     * Number of entries of a configuration file before and after the merge
+     */
+    static final class FileReport {
+        final String fileName;
+        final int added;
+        final int removed;
+        final int total;
+        final int filtered;
+
+        FileReport(String fileName, int added, int removed, int total, int filtered) {
+            this.fileName = fileName;
+            this.added = added;
+            this.removed = removed;
+            this.total = total;
+            this.filtered = filtered;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s: +%d -%d (%d entries", fileName, added, removed, total) +
+                    (filtered > 0 ? ", " + filtered + " filtered out)" : ")");
+        }
+    }
+
+    private static final Set<String> JDK_PACKAGES = Set.of("java.", "javax.", "jdk.", "sun.");
+
+    /**
+     * Sections of the configuration objects that hold class entries, like in
+     * serialization-config.json or reachability-metadata.json
+     */
+    private static final Set<String> CLASS_SECTIONS = Set.of("reflection", "jni", "serialization",
+            "types", "lambdaCapturingTypes", "proxies");
+
+    /**
+     * Arrays whose elements are entries with an identity, that are merged and sorted.
+     * Any other array, like {@code parameterTypes} or the {@code interfaces} of a proxy,
+     * is a value and keeps its order.
+     */
+    private static final Set<String> ENTRY_SECTIONS = Stream.concat(CLASS_SECTIONS.stream(),
+            Stream.of("fields", "methods", "queriedMethods", "resources", "bundles", "includes", "excludes"))
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final Mode mode;
+    private final Predicate<String> classExists;
+    private final Predicate<String> filter;
+
+    /**
+     * @param mode how the existing configuration is handled
+     * @param classExists tells if a class is still available, used in prune mode
+     * @param filter tells if the entries of a class recorded by the agent are kept, applied in all modes
+     */
+    AgentConfigMerger(Mode mode, Predicate<String> classExists, Predicate<String> filter) {
+        this.mode = mode;
+        this.classExists = classExists;
+        this.filter = filter;
+    }
+
+    /**
+     * Merges the configuration files of the given session directories into the target
+     * directory. In fresh mode, the configuration files of the target directory that
+     * the sessions didn't produce are deleted.
+     *
+     * @param targetDir the native-image configuration directory of the project
+     * @param sessionDirs the directories where the agent wrote its output
+     * @return a report for each configuration file
+     * @throws IOException if a file can't be read or written
+     */
+    List<FileReport> merge(Path targetDir, List<Path> sessionDirs) throws IOException {
+        Set<String> fileNames = new TreeSet<>();
+        for (Path sessionDir : sessionDirs) {
+            fileNames.addAll(listConfigFiles(sessionDir));
+        }
+        fileNames.addAll(listConfigFiles(targetDir));
+
+        List<FileReport> reports = new ArrayList<>();
+        for (String fileName : fileNames) {
+            Path target = targetDir.resolve(fileName);
+            Object existing = Files.exists(target) ? read(target) : null;
+
+            // the filter only applies to what the agent recorded: the existing entries were
+            // kept on purpose, and are only removed by prune when their classes are gone
+            boolean classEntries = !fileName.startsWith("resource");
+            Object merged = mode == Mode.FRESH ? null : existing;
+            Set<String> filteredKeys = new HashSet<>();
+            for (Path sessionDir : sessionDirs) {
+                Path session = sessionDir.resolve(fileName);
+                if (Files.exists(session)) {
+                    Object recorded = read(session);
+                    if (classEntries) {
+                        Set<String> keys = collectKeys(recorded);
+                        recorded = retain(recorded, name -> filter.test(getElementName(name)));
+                        keys.removeAll(collectKeys(recorded));
+                        filteredKeys.addAll(keys);
+                    }
+                    merged = mergeValues(merged, recorded);
+                }
+            }
+            if (classEntries && mode == Mode.PRUNE) {
+                merged = retain(merged, this::isAvailable);
+            }
+            merged = sort(merged, true);
+
+            Set<String> before = collectKeys(existing);
+            Set<String> after = collectKeys(merged);
+            int added = (int) after.stream().filter(k -> !before.contains(k)).count();
+            int removed = (int) before.stream().filter(k -> !after.contains(k)).count();
+            reports.add(new FileReport(fileName, added, removed, after.size(), filteredKeys.size()));
+
+            if (merged == null) {
+                // fresh mode: not produced by the last run
+                Files.delete(target);
+                continue;
+            }
+            StringBuilder json = new StringBuilder();
+            write(json, merged, "");
+            Files.writeString(target, json.append('\n'), StandardCharsets.UTF_8);
+        }
+        return reports;
+    }
+
+    /**
+     * Creates a predicate that tells if a class is available in the given classpath or in the JDK.
+     *
+     * @param classpath the classpath of the application
+     * @return the predicate
+     */
+    static Predicate<String> classpathIndex(Collection<File> classpath) {
+        Set<String> classes = new HashSet<>();
+        classpath.forEach(file -> classes.addAll(listClasses(file)));
+        ClassLoader platform = ClassLoader.getPlatformClassLoader();
+        return name -> classes.contains(name) ||
+                JDK_PACKAGES.stream().anyMatch(name::startsWith) ||
+                platform.getResource(name.replace('.', '/') + ".class") != null;
+    }
+
+    /**
+     * Lists the names of the classes of a classpath entry
+     *
+     * @param file a jar or a classes directory
+     * @return the class names, or an empty set if the file is neither
+     */
+    static Set<String> listClasses(File file) {
+        Set<String> classes = new HashSet<>();
+        if (file.isDirectory()) {
+            Path root = file.toPath();
+            try (Stream<Path> files = Files.walk(root)) {
+                files.map(root::relativize)
+                        .map(Path::toString)
+                        .filter(name -> name.endsWith(".class"))
+                        .forEach(name -> classes.add(toClassName(name.replace(File.separatorChar, '/'))));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else if (file.isFile() && file.getName().endsWith(".jar")) {
+            try (ZipFile zip = new ZipFile(file)) {
+                zip.stream()
+                        .map(ZipEntry::getName)
+                        .filter(name -> name.endsWith(".class"))
+                        .map(name -> name.startsWith("META-INF/versions/") ?
+                                name.substring(name.indexOf('/', "META-INF/versions/".length()) + 1) : name)
+                        .forEach(name -> classes.add(toClassName(name)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return classes;
+    }
+
+    private static String toClassName(String path) {
+        return path.substring(0, path.length() - ".class".length()).replace('/', '.');
+    }
+
+    private static List<String> listConfigFiles(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.endsWith("-config.json") || name.equals("reachability-metadata.json"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static Object read(Path file) {
+        return new JsonSlurper().parse(file.toFile(), StandardCharsets.UTF_8.name());
+    }
+
+    private static Object mergeValues(Object a, Object b) {
+        return mergeValues(a, b, true);
+    }
+
+    /**
+     * Merges two JSON values: entry arrays are joined, merging the entries with the same
+     * identity, objects are merged by key, and booleans are combined. Other values,
+     * including value arrays, are replaced.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object mergeValues(Object a, Object b, boolean entryArray) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (entryArray && a instanceof List && b instanceof List) {
+            Map<String, Object> entries = new LinkedHashMap<>();
+            for (Object entry : (List<Object>) a) {
+                entries.merge(getKey(entry), entry, (x, y) -> mergeValues(x, y, false));
+            }
+            for (Object entry : (List<Object>) b) {
+                entries.merge(getKey(entry), entry, (x, y) -> mergeValues(x, y, false));
+            }
+            return new ArrayList<>(entries.values());
+        }
+        if (a instanceof Map && b instanceof Map) {
+            Map<String, Object> result = new LinkedHashMap<>((Map<String, Object>) a);
+            ((Map<String, Object>) b).forEach((k, v) ->
+                    result.merge(k, v, (x, y) -> mergeValues(x, y, ENTRY_SECTIONS.contains(k))));
+            return result;
+        }
+        if (a instanceof Boolean && b instanceof Boolean) {
+            return (Boolean) a || (Boolean) b;
+        }
+        return b;
+    }
+
+    /**
+     * Keeps only the entries whose classes match the predicate
+     */
+    @SuppressWarnings("unchecked")
+    private static Object retain(Object value, Predicate<String> predicate) {
+        if (value instanceof List) {
+            return ((List<Object>) value).stream()
+                    .filter(entry -> getClassNames(entry).stream().allMatch(predicate))
+                    .collect(Collectors.toList());
+        }
+        if (value instanceof Map) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            ((Map<String, Object>) value).forEach((k, v) ->
+                    result.put(k, CLASS_SECTIONS.contains(k) ? retain(v, predicate) : v));
+            return result;
+        }
+        return value;
+    }
+
+    private boolean isAvailable(String className) {
+        String name = getElementName(className);
+        // primitive arrays, lambdas and generated classes can't be looked up
+        return name.startsWith("[") || name.contains("$$") || classExists.test(name);
+    }
+
+    /**
+     * The name of the element class of an array type, or the given name otherwise
+     */
+    private static String getElementName(String className) {
+        String name = className;
+        while (name.endsWith("[]")) {
+            name = name.substring(0, name.length() - 2);
+        }
+        if (name.startsWith("[")) {
+            String element = name.replaceFirst("^\\[+", "");
+            if (element.startsWith("L") && element.endsWith(";")) {
+                return element.substring(1, element.length() - 1);
+            }
+        }
+        return name;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> getClassNames(Object entry) {
+        if (entry instanceof String) {
+            // proxy-config.json of older releases: arrays of interfaces
+            return List.of((String) entry);
+        }
+        if (entry instanceof List) {
+            return (List<String>) entry;
+        }
+        if (entry instanceof Map) {
+            Map<String, Object> map = (Map<String, Object>) entry;
+            Object name = map.containsKey("name") ? map.get("name") : map.get("type");
+            if (name instanceof String) {
+                return List.of((String) name);
+            }
+            if (map.get("interfaces") instanceof List) {
+                return (List<String>) map.get("interfaces");
+            }
+        }
+        return List.of();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String getKey(Object entry) {
+        if (entry instanceof Map) {
+            Map<String, Object> map = (Map<String, Object>) entry;
+            for (String key : List.of("name", "type", "pattern", "glob", "interfaces")) {
+                if (map.containsKey(key)) {
+                    return key + "=" + JsonOutput.toJson(map.get(key)) +
+                            (map.containsKey("parameterTypes") ? JsonOutput.toJson(map.get("parameterTypes")) : "") +
+                            (map.containsKey("condition") ? " if " + JsonOutput.toJson(sort(map.get("condition"), false)) : "");
+                }
+            }
+        }
+        return JsonOutput.toJson(sort(entry, false));
+    }
+
+    /**
+     * The identities of all the entries of a configuration file, to count what changed
+     */
+    @SuppressWarnings("unchecked")
+    private static Set<String> collectKeys(Object value) {
+        Set<String> keys = new HashSet<>();
+        if (value instanceof List) {
+            ((List<Object>) value).forEach(entry -> keys.add(getKey(entry)));
+        } else if (value instanceof Map) {
+            ((Map<String, Object>) value).forEach((k, v) -> {
+                if (v instanceof List || v instanceof Map) {
+                    collectKeys(v).forEach(key -> keys.add(k + "/" + key));
+                }
+            });
+        }
+        return keys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void write(StringBuilder json, Object value, String indent) {
+        String inner = indent + "  ";
+        if (value instanceof Map && !((Map<String, Object>) value).isEmpty()) {
+            json.append("{\n");
+            Iterator<Map.Entry<String, Object>> entries = ((Map<String, Object>) value).entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, Object> entry = entries.next();
+                json.append(inner).append(JsonOutput.toJson(entry.getKey())).append(": ");
+                write(json, entry.getValue(), inner);
+                json.append(entries.hasNext() ? ",\n" : "\n");
+            }
+            json.append(indent).append('}');
+        } else if (value instanceof List && !((List<Object>) value).isEmpty()) {
+            json.append("[\n");
+            Iterator<Object> entries = ((List<Object>) value).iterator();
+            while (entries.hasNext()) {
+                json.append(inner);
+                write(json, entries.next(), inner);
+                json.append(entries.hasNext() ? ",\n" : "\n");
+            }
+            json.append(indent).append(']');
+        } else {
+            json.append(JsonOutput.toJson(value));
+        }
+    }
+
+    /**
+     * Sorts object keys and the entries of entry arrays by identity, so the output is
+     * deterministic. Value arrays keep their order.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object sort(Object value, boolean entryArray) {
+        if (value instanceof Map) {
+            Map<String, Object> sorted = new TreeMap<>();
+            ((Map<String, Object>) value).forEach((k, v) -> sorted.put(k, sort(v, ENTRY_SECTIONS.contains(k))));
+            return sorted;
+        }
+        if (value instanceof List) {
+            List<Object> sorted = ((List<Object>) value).stream()
+                    .map(entry -> sort(entry, false))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            if (entryArray) {
+                sorted.sort((o1, o2) -> getKey(o1).compareTo(getKey(o2)));
+            }
+            return sorted;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import groovy.json.JsonOutput;
+
+/**
+ * A filter of class names for the native-image tracing agent, written as an
+ * access-filter-file or caller-filter-file.
+ *
+ * As with Gradle file patterns, excludes win over includes, and when there are
+ * includes, only the classes that match them are kept. Patterns use the agent
+ * syntax: {@code com.foo.Bar}, {@code com.foo.*} for the classes of a package,
+ * and {@code com.foo.**} for a package and its subpackages.
+ */
+class AgentFilter implements Predicate<String> {
+
+    private final List<String> includes;
+    private final List<String> excludes;
+
+    AgentFilter(List<String> includes, List<String> excludes) {
+        this.includes = List.copyOf(includes);
+        this.excludes = List.copyOf(excludes);
+    }
+
+    boolean isEmpty() {
+        return includes.isEmpty() && excludes.isEmpty();
+    }
+
+    @Override
+    public boolean test(String className) {
+        if (excludes.stream().anyMatch(pattern -> matches(pattern, className))) {
+            return false;
+        }
+        return includes.isEmpty() || includes.stream().anyMatch(pattern -> matches(pattern, className));
+    }
+
+    /**
+     * Writes the filter in the format of the agent, where the last rule that
+     * matches a class decides
+     *
+     * @param file the filter file
+     * @throws IOException if the file can't be written
+     */
+    void write(Path file) throws IOException {
+        List<String> rules = new ArrayList<>();
+        if (!includes.isEmpty()) {
+            rules.add(rule("excludeClasses", "**"));
+            includes.forEach(pattern -> rules.add(rule("includeClasses", pattern)));
+        }
+        excludes.forEach(pattern -> rules.add(rule("excludeClasses", pattern)));
+        Files.writeString(file, "{ \"rules\": [\n" + String.join(",\n", rules) + "\n  ]\n}\n", StandardCharsets.UTF_8);
+    }
+
+    private static String rule(String type, String pattern) {
+        return "    {\"" + type + "\" : " + JsonOutput.toJson(pattern) + "}";
+    }
+
+    static boolean matches(String pattern, String className) {
+        if (pattern.equals("**")) {
+            return true;
+        }
+        if (pattern.endsWith(".**")) {
+            return className.startsWith(pattern.substring(0, pattern.length() - 2));
+        }
+        if (pattern.endsWith(".*")) {
+            String prefix = pattern.substring(0, pattern.length() - 1);
+            return className.startsWith(prefix) && className.indexOf('.', prefix.length()) < 0;
+        }
+        return pattern.equals(className);
+    }
+}
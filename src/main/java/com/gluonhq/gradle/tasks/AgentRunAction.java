@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import javax.inject.Inject;
+
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.process.ExecOperations;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+/**
+ * Runs the application with the tracing agent in its own JVM, so several
+ * scenarios can run at the same time.
+ */
+public abstract class AgentRunAction implements WorkAction<AgentRunAction.Parameters> {
+
+    private static final Logger LOGGER = Logging.getLogger(AgentRunAction.class);
+
+    public interface Parameters extends WorkParameters {
+
+        /**
+         * The name of the scenario, if the run is part of one
+         */
+        Property<String> getScenario();
+
+        /**
+         * The java executable of GraalVM
+         */
+        Property<String> getExecutable();
+
+        ConfigurableFileCollection getClasspath();
+
+        Property<String> getMainClass();
+
+        Property<String> getMainModule();
+
+        DirectoryProperty getWorkingDirectory();
+
+        /**
+         * JVM arguments, including the one of the agent
+         */
+        ListProperty<String> getJvmArgs();
+
+        ListProperty<String> getArgs();
+    }
+
+    @Inject
+    protected abstract ExecOperations getExecOperations();
+
+    @Override
+    public void execute() {
+        Parameters parameters = getParameters();
+        if (parameters.getScenario().isPresent()) {
+            LOGGER.lifecycle("Running agent scenario {}", parameters.getScenario().get());
+        }
+        getExecOperations().javaexec(spec -> {
+            spec.executable(parameters.getExecutable().get());
+            spec.classpath(parameters.getClasspath());
+            spec.getMainClass().set(parameters.getMainClass());
+            spec.getMainModule().set(parameters.getMainModule());
+            spec.setWorkingDir(parameters.getWorkingDirectory().get().getAsFile());
+            spec.jvmArgs(parameters.getJvmArgs().get());
+            spec.setArgs(parameters.getArgs().get());
+        });
+    }
+}
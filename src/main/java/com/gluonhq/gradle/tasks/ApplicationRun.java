@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.util.List;
+
+import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.plugins.ApplicationPlugin;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.JavaExec;
+import org.gradle.api.tasks.TaskProvider;
+
+/**
+ * Settings shared by the tasks that run the application on the JVM or natively:
+ * the headless mode, and the settings of the application run task.
+ */
+final class ApplicationRun {
+
+    private static final String MONOCLE_DEPENDENCY = "org.testfx:openjfx-monocle:";
+
+    /**
+     * Run JavaFX with Monocle headless and software rendering, without a display
+     */
+    static final List<String> HEADLESS_JVM_ARGS = List.of(
+            "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless",
+            "-Dprism.order=sw", "-Djava.awt.headless=true"
+    );
+
+    private ApplicationRun() {
+    }
+
+    /**
+     * Monocle, to add to the JVM classpath in headless mode, or no files otherwise
+     */
+    static Provider<FileCollection> getHeadlessClasspath(Project project, Provider<Boolean> headless,
+                                                         Provider<String> monocleVersion) {
+        return headless.zip(monocleVersion, (enabled, version) -> enabled ?
+                project.getConfigurations().detachedConfiguration(project.getDependencies().create(MONOCLE_DEPENDENCY + version)) :
+                project.files());
+    }
+
+    /**
+     * Reuses the JVM arguments and working directory of the application run task, without modifying it.
+     * Without the application plugin, the application runs in the project directory.
+     */
+    static void useRunTaskSettings(Project project, ListProperty<String> jvmArgs, DirectoryProperty workingDirectory) {
+        workingDirectory.convention(project.getLayout().getProjectDirectory());
+        project.getPlugins().withType(ApplicationPlugin.class, applicationPlugin -> {
+            TaskProvider<JavaExec> runTask = project.getTasks().named(ApplicationPlugin.TASK_RUN_NAME, JavaExec.class);
+            jvmArgs.convention(runTask.map(JavaExec::getAllJvmArgs));
+            workingDirectory.convention(project.getLayout().dir(runTask.map(JavaExec::getWorkingDir)));
+        });
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import com.gluonhq.gradle.attach.AttachService;
+
+/**
+ * Finds the Attach services that are used, scanning the bytecode of the application and
+ * its dependencies for references to the API package of each service, like
+ * com.gluonhq.attach.storage. The services that
+ * are used can depend on other services, so their own jars are scanned as well.
+ *
+ * A service can also be loaded by name from a resource, like a service loader file,
+ * a reflection configuration or an FXML file. The services mentioned in resources are
+ * reported as unused when no class references them, but they are never removed.
+ */
+class AttachUsage {
+
+    private static final String UTIL = "util";
+
+    private final Map<String, String> packages = new LinkedHashMap<>();
+    private final Map<String, String> referencedBy = new TreeMap<>();
+    private final Map<String, String> mentionedBy = new TreeMap<>();
+    private final Set<String> unused = new TreeSet<>();
+    private final Set<String> removable = new TreeSet<>();
+    private long unusedBytes;
+    private int unusedMethods;
+
+    private AttachUsage(Collection<String> modules) {
+        for (String module : modules) {
+            AttachService service = getService(module);
+            if (service != null) {
+                packages.put(service.getPackageName().replace('.', '/') + "/", module);
+            }
+        }
+    }
+
+    /**
+     * Analyzes the usage of the given Attach modules
+     *
+     * @param classpath the jars and directories of the application, without the Attach artifacts
+     * @param modules the jars of each Attach module, by module name
+     * @return the analysis, with the results
+     */
+    static AttachUsage analyze(Collection<File> classpath, Map<String, List<File>> modules) {
+        AttachUsage usage = new AttachUsage(modules.keySet());
+        classpath.forEach(file -> usage.scan(file, null));
+
+        // The services that are kept can use other services
+        Set<String> scanned = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>(usage.getKept());
+        while (!pending.isEmpty()) {
+            String module = pending.pop();
+            if (scanned.add(module)) {
+                modules.getOrDefault(module, List.of()).forEach(file -> usage.scan(file, module));
+                usage.getKept().stream().filter(m -> !scanned.contains(m)).forEach(pending::push);
+            }
+        }
+
+        for (Map.Entry<String, List<File>> entry : modules.entrySet()) {
+            String module = entry.getKey();
+            boolean used = usage.referencedBy.containsKey(module) ||
+                    UTIL.equals(module) && !usage.referencedBy.isEmpty() ||
+                    !UTIL.equals(module) && getService(module) == null;
+            if (!used) {
+                usage.unused.add(module);
+                for (File file : entry.getValue()) {
+                    usage.unusedBytes += file.length();
+                    usage.unusedMethods += countMethods(file);
+                }
+                boolean kept = usage.mentionedBy.containsKey(module) ||
+                        UTIL.equals(module) && !usage.mentionedBy.isEmpty();
+                if (!kept) {
+                    usage.removable.add(module);
+                }
+            }
+        }
+        return usage;
+    }
+
+    private Set<String> getKept() {
+        Set<String> kept = new TreeSet<>(referencedBy.keySet());
+        kept.addAll(mentionedBy.keySet());
+        return kept;
+    }
+
+    /**
+     * @return the services that are used, with the first class found that references each of them
+     */
+    Map<String, String> getReferencedBy() {
+        return referencedBy;
+    }
+
+    /**
+     * @return the services that are mentioned by name in a resource, with the first resource
+     * found that mentions each of them
+     */
+    Map<String, String> getMentionedBy() {
+        return mentionedBy;
+    }
+
+    /**
+     * @return the modules that are not used, including util when no service is used
+     */
+    Set<String> getUnused() {
+        return unused;
+    }
+
+    /**
+     * @return the unused modules that can be removed, as no resource mentions them
+     */
+    Set<String> getRemovable() {
+        return removable;
+    }
+
+    /**
+     * @return the size of the artifacts of the modules that are not used
+     */
+    long getUnusedBytes() {
+        return unusedBytes;
+    }
+
+    /**
+     * @return the number of methods of the modules that are not used
+     */
+    int getUnusedMethods() {
+        return unusedMethods;
+    }
+
+    private void scan(File file, String module) {
+        ReachabilityAnalyzer.forEachEntry(file, name -> isScanned(name) || isResource(name), (name, bytes) -> {
+            if (bytes == null) {
+                return;
+            }
+            boolean resource = isResource(name);
+            Map<String, String> found = resource ? mentionedBy : referencedBy;
+            for (Map.Entry<String, String> entry : packages.entrySet()) {
+                String referenced = entry.getValue();
+                if (referenced.equals(module) || found.containsKey(referenced)) {
+                    continue;
+                }
+                if (resource && (references(bytes, entry.getKey()) ||
+                        name.contains(entry.getKey().replace('/', '.')))) {
+                    mentionedBy.put(referenced, name);
+                } else if (!resource && references(bytes, entry.getKey())) {
+                    referencedBy.put(referenced, name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+                }
+            }
+        });
+    }
+
+    /**
+     * Types are referenced by their internal name, in the UTF-8 entries of the constant pool,
+     * either as class names or within descriptors and signatures. Names loaded with reflection
+     * are found in their dotted form.
+     */
+    private static boolean references(byte[] bytes, String internalPackage) {
+        return indexOf(bytes, internalPackage.getBytes(StandardCharsets.UTF_8)) >= 0 ||
+                indexOf(bytes, internalPackage.replace('/', '.').getBytes(StandardCharsets.UTF_8)) >= 0;
+    }
+
+    private static int indexOf(byte[] bytes, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= bytes.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (bytes[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static boolean isScanned(String name) {
+        return name.endsWith(".class") && !name.endsWith("module-info.class");
+    }
+
+    /**
+     * Service loader files, native-image configuration, FXML and properties files can
+     * name classes that are loaded at runtime
+     */
+    private static boolean isResource(String name) {
+        return name.startsWith("META-INF/services/") || name.endsWith(".json") ||
+                name.endsWith(".fxml") || name.endsWith(".properties");
+    }
+
+    private static int countMethods(File file) {
+        int[] methods = new int[1];
+        ReachabilityAnalyzer.forEachEntry(file, AttachUsage::isScanned, (name, bytes) -> {
+            if (bytes != null) {
+                new ClassReader(bytes).accept(new ClassVisitor(Opcodes.ASM9) {
+                    @Override
+                    public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                        methods[0]++;
+                        return null;
+                    }
+                }, ClassReader.SKIP_CODE);
+            }
+        });
+        return methods[0];
+    }
+
+    private static AttachService getService(String module) {
+        try {
+            return AttachService.valueOf(module.replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
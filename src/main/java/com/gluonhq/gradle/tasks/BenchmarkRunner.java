@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs an application and measures the time until it prints a ready marker, or
+ * until it exits, with its peak resident memory and CPU time.
+ *
+ * The peak RSS is read from /proc on Linux, and sampled with ps on macOS. It is
+ * not available on Windows.
+ */
+class BenchmarkRunner {
+
+    private static final long SAMPLE_MILLIS = 10;
+    private static final int OUTPUT_LINES = 20;
+    private static final boolean LINUX = System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("linux");
+    private static final boolean MAC = System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("mac");
+
+    static final class Sample {
+        final double startupMillis;
+        final long peakRssKb;
+        final double cpuMillis;
+
+        Sample(double startupMillis, long peakRssKb, double cpuMillis) {
+            this.startupMillis = startupMillis;
+            this.peakRssKb = peakRssKb;
+            this.cpuMillis = cpuMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "startup %.1f ms, peak RSS %s, CPU %.1f ms", startupMillis,
+                    peakRssKb < 0 ? "n/a" : peakRssKb / 1024 + " MB", cpuMillis);
+        }
+    }
+
+    private final String readyMarker;
+    private final Duration timeout;
+
+    BenchmarkRunner(String readyMarker, Duration timeout) {
+        this.readyMarker = readyMarker;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Runs the command once
+     *
+     * @param command the executable and its arguments
+     * @param workingDirectory the working directory of the process
+     * @return the measurements of the run
+     * @throws IOException if the process can't be started, fails, or doesn't get ready in time
+     * @throws InterruptedException if interrupted while waiting for the process
+     */
+    Sample run(List<String> command, File workingDirectory) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(workingDirectory)
+                .redirectErrorStream(true)
+                .start();
+        process.getOutputStream().close();
+
+        CountDownLatch ready = new CountDownLatch(1);
+        long[] readyTime = new long[1];
+        Deque<String> output = new ArrayDeque<>();
+        Thread reader = new Thread(() -> {
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (readyMarker != null && ready.getCount() > 0 && line.contains(readyMarker)) {
+                        readyTime[0] = System.nanoTime();
+                        ready.countDown();
+                    }
+                    synchronized (output) {
+                        output.addLast(line);
+                        if (output.size() > OUTPUT_LINES) {
+                            output.removeFirst();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // the process was stopped
+            }
+        }, "benchmark-output");
+        reader.setDaemon(true);
+        reader.start();
+
+        long deadline = start + timeout.toNanos();
+        long peakRssKb = -1;
+        Duration cpu = Duration.ZERO;
+        try {
+            while (true) {
+                boolean done = readyMarker != null ?
+                        ready.await(SAMPLE_MILLIS, TimeUnit.MILLISECONDS) :
+                        process.waitFor(SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+                // the values of the last sample are kept, as they can't be read once the process exits
+                if (process.isAlive()) {
+                    peakRssKb = Math.max(peakRssKb, readPeakRss(process.pid()));
+                    cpu = process.info().totalCpuDuration().orElse(cpu);
+                }
+                if (done) {
+                    break;
+                }
+                if (readyMarker != null && !process.isAlive()) {
+                    reader.join(1000);
+                    throw new IOException("The application exited with code " + process.exitValue() +
+                            " before printing '" + readyMarker + "':\n" + getOutput(output));
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IOException("The application didn't " + (readyMarker != null ? "print '" + readyMarker + "'" : "exit") +
+                            " within " + timeout.getSeconds() + " seconds:\n" + getOutput(output));
+                }
+            }
+        } finally {
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly();
+        }
+        long end = readyMarker != null ? readyTime[0] : System.nanoTime();
+        if (readyMarker == null && process.exitValue() != 0) {
+            reader.join(1000);
+            throw new IOException("The application exited with code " + process.exitValue() + ":\n" + getOutput(output));
+        }
+        return new Sample((end - start) / 1e6, peakRssKb, cpu.toNanos() / 1e6);
+    }
+
+    private static String getOutput(Deque<String> output) {
+        synchronized (output) {
+            return String.join("\n", output);
+        }
+    }
+
+    /**
+     * The peak resident set size of the process in KB, or the current one when the
+     * peak is not available, or -1
+     */
+    private static long readPeakRss(long pid) {
+        try {
+            if (LINUX) {
+                for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                    if (line.startsWith("VmHWM:")) {
+                        return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                    }
+                }
+            } else if (MAC) {
+                Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", Long.toString(pid)).start();
+                String rss = new String(ps.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+                ps.waitFor();
+                return rss.isEmpty() ? -1 : Long.parseLong(rss);
+            }
+        } catch (IOException | NumberFormatException e) {
+            // the process exited
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return -1;
+    }
+
+    /**
+     * Summary of a list of values, with the percentiles taken by nearest rank
+     */
+    static Map<String, Double> summarize(List<Double> values) {
+        List<Double> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        Map<String, Double> summary = new LinkedHashMap<>();
+        summary.put("min", round(sorted.get(0)));
+        summary.put("p50", round(percentile(sorted, 50)));
+        summary.put("p90", round(percentile(sorted, 90)));
+        summary.put("p99", round(percentile(sorted, 99)));
+        summary.put("max", round(sorted.get(sorted.size() - 1)));
+        summary.put("mean", round(sorted.stream().mapToDouble(Double::doubleValue).average().orElse(0)));
+        return summary;
+    }
+
+    private static double percentile(List<Double> sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Memory and CPUs available to the native-image builder on this machine,
+ * taking into account the cgroup (v1 or v2) limits of the container, if any.
+ * From those, it derives how many native compilations can run at the same
+ * time, and the heap and threads of each builder.
+ */
+class BuilderResources {
+
+    private static final long MB = 1024L * 1024;
+    private static final long GB = 1024 * MB;
+
+    /**
+     * Minimum heap that a native-image builder of a JavaFX application needs
+     */
+    static final long MIN_BUILDER_HEAP = 3 * GB;
+
+    /**
+     * Memory left to the operating system and other processes, like the Gradle daemon
+     */
+    private static final long RESERVED_MEMORY = GB;
+
+    /**
+     * The resident size of the builder, relative to its heap, including
+     * metaspace, code cache and native memory
+     */
+    private static final double BUILDER_FOOTPRINT = 1.25;
+
+    private static final Path CGROUP = Path.of("/sys/fs/cgroup");
+
+    private final long physicalMemory;
+    private final long cgroupMemoryLimit;
+    private final String cgroupVersion;
+    private final int cpus;
+    private final long workerHeap;
+
+    BuilderResources(long physicalMemory, long cgroupMemoryLimit, String cgroupVersion, int cpus, long workerHeap) {
+        this.physicalMemory = physicalMemory;
+        this.cgroupMemoryLimit = cgroupMemoryLimit;
+        this.cgroupVersion = cgroupVersion;
+        this.cpus = cpus;
+        this.workerHeap = workerHeap;
+    }
+
+    /**
+     * Detects the resources of this machine
+     *
+     * @param workerHeapSize the maximum heap of the worker process that runs the builder,
+     *                       like "2g", or null if it is not set
+     * @return the resources
+     */
+    static BuilderResources detect(String workerHeapSize) {
+        long physicalMemory = ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getTotalMemorySize();
+        long cgroupLimit = -1;
+        String cgroupVersion = null;
+        int cpus = Runtime.getRuntime().availableProcessors();
+
+        // cgroup v2
+        String memoryMax = read(CGROUP.resolve("memory.max"));
+        if (memoryMax != null) {
+            cgroupVersion = "v2";
+            cgroupLimit = parseLimit(memoryMax);
+            String[] cpuMax = String.valueOf(read(CGROUP.resolve("cpu.max"))).split(" ");
+            if (cpuMax.length == 2) {
+                cpus = Math.min(cpus, cpuQuota(cpuMax[0], cpuMax[1]));
+            }
+        } else {
+            // cgroup v1
+            String limit = read(CGROUP.resolve("memory").resolve("memory.limit_in_bytes"));
+            if (limit != null) {
+                cgroupVersion = "v1";
+                cgroupLimit = parseLimit(limit);
+                String quota = read(CGROUP.resolve("cpu").resolve("cpu.cfs_quota_us"));
+                String period = read(CGROUP.resolve("cpu").resolve("cpu.cfs_period_us"));
+                if (quota != null && period != null) {
+                    cpus = Math.min(cpus, cpuQuota(quota, period));
+                }
+            }
+        }
+        // an unlimited v1 group reports a huge value
+        if (cgroupLimit >= physicalMemory) {
+            cgroupLimit = -1;
+        }
+        return new BuilderResources(physicalMemory, cgroupLimit, cgroupVersion, Math.max(1, cpus),
+                workerHeapSize == null ? 0 : Sizes.parse(workerHeapSize));
+    }
+
+    /**
+     * @return the memory that is available for native-image builders, besides the heap
+     * of the worker process that launches them
+     */
+    long getUsableMemory() {
+        long limit = cgroupMemoryLimit > 0 ? cgroupMemoryLimit : physicalMemory;
+        return Math.max(0, limit - workerHeap - RESERVED_MEMORY);
+    }
+
+    /**
+     * @return how many builders with the minimum heap fit in the usable memory, at least one
+     */
+    int getMaxParallelCompiles() {
+        return (int) Math.max(1, getUsableMemory() / (long) (MIN_BUILDER_HEAP * BUILDER_FOOTPRINT));
+    }
+
+    long getBuilderHeap(int parallelCompiles) {
+        long heap = (long) (getUsableMemory() / Math.max(1, parallelCompiles) / BUILDER_FOOTPRINT);
+        return heap / MB * MB;
+    }
+
+    int getBuilderThreads(int parallelCompiles) {
+        return Math.max(1, cpus / Math.max(1, parallelCompiles));
+    }
+
+    /**
+     * Returns the native-image arguments that set the heap and threads of the builder,
+     * unless they are already defined in the compiler arguments.
+     *
+     * @param compilerArgs the compiler arguments of the project
+     * @param heapSize the heap size set by the user, like "6g", or null to derive it
+     * @param threads the threads set by the user, or null to derive them
+     * @param parallelCompiles the number of compilations that can run at the same time
+     * @return the additional arguments for native-image
+     */
+    List<String> getBuilderArgs(List<String> compilerArgs, String heapSize, Integer threads, int parallelCompiles) {
+        List<String> args = new ArrayList<>();
+        if (compilerArgs.stream().noneMatch(arg -> arg.startsWith("-J-Xmx"))) {
+            args.add("-J-Xmx" + (heapSize != null ? heapSize : getBuilderHeap(parallelCompiles) / MB + "m"));
+        }
+        if (compilerArgs.stream().noneMatch(arg -> arg.startsWith("-H:NumberOfThreads") || arg.startsWith("--parallelism"))) {
+            args.add("-H:NumberOfThreads=" + (threads != null ? threads : getBuilderThreads(parallelCompiles)));
+        }
+        return args;
+    }
+
+    boolean isMemoryInsufficient(int parallelCompiles) {
+        return getBuilderHeap(parallelCompiles) < MIN_BUILDER_HEAP;
+    }
+
+    @Override
+    public String toString() {
+        String memory = cgroupMemoryLimit > 0 ?
+                String.format(Locale.ROOT, "%d MB cgroup %s limit", cgroupMemoryLimit / MB, cgroupVersion) :
+                String.format(Locale.ROOT, "%d MB physical memory", physicalMemory / MB);
+        return memory + ", " + cpus + " CPUs";
+    }
+
+    private static String read(Path path) {
+        try {
+            return Files.isReadable(path) ? Files.readString(path).trim() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static long parseLimit(String value) {
+        try {
+            return "max".equals(value) ? -1 : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int cpuQuota(String quota, String period) {
+        try {
+            long q = Long.parseLong(quota);
+            long p = Long.parseLong(period);
+            return q > 0 && p > 0 ? (int) Math.max(1, (q + p - 1) / p) : Integer.MAX_VALUE;
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * An index of the classes and native-image configuration files of each entry of
+ * the classpath, used to find duplicate classes, split packages and conflicting
+ * native-image metadata.
+ *
+ * Jars are indexed reading only their central directory, and in parallel. Jars are
+ * read into heap buffers rather than memory-mapped, since a mapped file stays locked
+ * on Windows until the mapping is garbage collected. The index is kept in a file, and
+ * only the jars that changed since the last build are read again.
+ */
+class ClasspathIndex {
+
+    private static final int MAGIC = 0x474c4349;
+    private static final int VERSION = 1;
+
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    private static final int CEN_SIGNATURE = 0x02014b50;
+    private static final int EOCD_SIZE = 22;
+
+    private static final String NATIVE_IMAGE_CONFIG = "META-INF/native-image/";
+
+    private static final class Entry {
+        final long length;
+        final long lastModified;
+        final List<String> names;
+
+        Entry(long length, long lastModified, List<String> names) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.names = names;
+        }
+    }
+
+    private final Map<String, Entry> entries;
+    private int reindexed;
+
+    private ClasspathIndex(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Loads the index from the given file, and updates it with the jars of the
+     * classpath that changed
+     *
+     * @param indexFile the file of the index, that might not exist yet
+     * @param classpath jars and directories
+     * @return the updated index
+     * @throws IOException if the index file can't be written
+     */
+    static ClasspathIndex update(Path indexFile, Collection<File> classpath) throws IOException {
+        Map<String, Entry> previous = read(indexFile);
+        Map<String, Entry> current = new ConcurrentHashMap<>();
+        List<File> jars = classpath.stream()
+                .filter(file -> file.isFile() && file.getName().endsWith(".jar"))
+                .collect(Collectors.toList());
+        ClasspathIndex index = new ClasspathIndex(current);
+        try {
+            jars.parallelStream().forEach(jar -> {
+                Entry entry = previous.get(jar.getAbsolutePath());
+                if (entry == null || entry.length != jar.length() || entry.lastModified != jar.lastModified()) {
+                    entry = new Entry(jar.length(), jar.lastModified(), readNames(jar));
+                    synchronized (index) {
+                        index.reindexed++;
+                    }
+                }
+                current.put(jar.getAbsolutePath(), entry);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (index.reindexed > 0 || previous.size() != current.size()) {
+            write(indexFile, current);
+        }
+        // directories are not kept in the index, they change on every build
+        for (File file : classpath) {
+            if (file.isDirectory()) {
+                current.put(file.getAbsolutePath(), new Entry(0, 0, readNames(file.toPath())));
+            }
+        }
+        // keep the classpath order, for the report
+        Map<String, Entry> ordered = new LinkedHashMap<>();
+        classpath.stream()
+                .map(File::getAbsolutePath)
+                .filter(current::containsKey)
+                .forEach(path -> ordered.put(path, current.get(path)));
+        return new ClasspathIndex(ordered).withReindexed(index.reindexed);
+    }
+
+    private ClasspathIndex withReindexed(int reindexed) {
+        this.reindexed = reindexed;
+        return this;
+    }
+
+    /**
+     * @return the number of jars that were read in the last update
+     */
+    int getReindexed() {
+        return reindexed;
+    }
+
+    int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * The entry of each class, the first one in the classpath when there are duplicates
+     *
+     * @return the file name of the entry of each class, by class name
+     */
+    Map<String, String> getClassOwners() {
+        Map<String, String> owners = new HashMap<>();
+        entries.forEach((path, entry) -> entry.names.stream()
+                .filter(name -> name.endsWith(".class"))
+                .forEach(name -> owners.putIfAbsent(name.substring(0, name.length() - 6).replace('/', '.'), new File(path).getName())));
+        return owners;
+    }
+
+    /**
+     * Classes found in more than one entry, grouped by the entries that contain them
+     *
+     * @return for each list of entries, the classes they share
+     */
+    Map<List<String>, List<String>> getDuplicateClasses() {
+        return groupShared(name -> name.endsWith(".class"), name -> name.substring(0, name.length() - 6).replace('/', '.'));
+    }
+
+    /**
+     * Packages with classes in more than one entry
+     *
+     * @return for each list of entries, the packages they share
+     */
+    Map<List<String>, List<String>> getSplitPackages() {
+        return groupShared(name -> name.endsWith(".class") && name.indexOf('/') > 0,
+                name -> name.substring(0, name.lastIndexOf('/')).replace('/', '.'));
+    }
+
+    /**
+     * Native-image configuration files with the same path in more than one entry,
+     * where only the first one is used
+     *
+     * @return for each list of entries, the files they share
+     */
+    Map<List<String>, List<String>> getConflictingConfigurations() {
+        return groupShared(name -> name.startsWith(NATIVE_IMAGE_CONFIG), name -> name);
+    }
+
+    private Map<List<String>, List<String>> groupShared(Predicate<String> filter, Function<String, String> key) {
+        Map<String, Set<String>> owners = new HashMap<>();
+        entries.forEach((path, entry) -> entry.names.stream()
+                .filter(filter)
+                .map(key)
+                .forEach(name -> owners.computeIfAbsent(name, n -> new LinkedHashSet<>()).add(new File(path).getName())));
+        Map<List<String>, List<String>> shared = new TreeMap<>((a, b) -> a.toString().compareTo(b.toString()));
+        owners.forEach((name, paths) -> {
+            if (paths.size() > 1) {
+                shared.computeIfAbsent(new ArrayList<>(paths), p -> new ArrayList<>()).add(name);
+            }
+        });
+        shared.values().forEach(names -> names.sort(null));
+        return shared;
+    }
+
+    private static boolean isIndexed(String name) {
+        if (name.endsWith("/")) {
+            return false;
+        }
+        if (name.endsWith(".class")) {
+            return !name.startsWith("META-INF/") && !name.endsWith("module-info.class") && !name.endsWith("package-info.class");
+        }
+        return name.startsWith(NATIVE_IMAGE_CONFIG);
+    }
+
+    private static List<String> readNames(Path root) {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile)
+                    .map(path -> root.relativize(path).toString().replace(File.separatorChar, '/'))
+                    .filter(ClasspathIndex::isIndexed)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the names of the entries of a jar from its central directory
+     */
+    private static List<String> readNames(File jar) {
+        try (FileChannel channel = FileChannel.open(jar.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            int tailSize = (int) Math.min(size, 0xFFFF + EOCD_SIZE);
+            ByteBuffer tail = read(channel, size - tailSize, tailSize);
+            int eocd = -1;
+            for (int i = tailSize - EOCD_SIZE; i >= 0; i--) {
+                if (tail.getInt(i) == EOCD_SIGNATURE) {
+                    eocd = i;
+                    break;
+                }
+            }
+            if (eocd < 0) {
+                throw new IOException("Invalid jar file: " + jar);
+            }
+            int count = Short.toUnsignedInt(tail.getShort(eocd + 10));
+            long cenSize = Integer.toUnsignedLong(tail.getInt(eocd + 12));
+            long cenOffset = Integer.toUnsignedLong(tail.getInt(eocd + 16));
+            if (count == 0xFFFF || cenSize >= Integer.MAX_VALUE || cenOffset == 0xFFFFFFFFL) {
+                // zip64
+                return readNamesWithZipFile(jar);
+            }
+            // jars with a prefix, like self-extracting archives, have shifted offsets
+            cenOffset = size - tailSize + eocd - cenSize;
+            ByteBuffer cen = read(channel, cenOffset, (int) cenSize);
+            List<String> names = new ArrayList<>();
+            int position = 0;
+            byte[] buffer = new byte[256];
+            while (position + 46 <= cenSize && cen.getInt(position) == CEN_SIGNATURE) {
+                int nameLength = Short.toUnsignedInt(cen.getShort(position + 28));
+                int extraLength = Short.toUnsignedInt(cen.getShort(position + 30));
+                int commentLength = Short.toUnsignedInt(cen.getShort(position + 32));
+                if (buffer.length < nameLength) {
+                    buffer = new byte[nameLength];
+                }
+                cen.get(position + 46, buffer, 0, nameLength);
+                String name = new String(buffer, 0, nameLength, StandardCharsets.UTF_8);
+                if (isIndexed(name)) {
+                    names.add(name);
+                }
+                position += 46 + nameLength + extraLength + commentLength;
+            }
+            return names;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static List<String> readNamesWithZipFile(File jar) throws IOException {
+        try (ZipFile zip = new ZipFile(jar)) {
+            return zip.stream().map(ZipEntry::getName).filter(ClasspathIndex::isIndexed).collect(Collectors.toList());
+        }
+    }
+
+    private static Map<String, Entry> read(Path indexFile) {
+        Map<String, Entry> entries = new HashMap<>();
+        if (!Files.exists(indexFile)) {
+            return entries;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return entries;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String path = in.readUTF();
+                long length = in.readLong();
+                long lastModified = in.readLong();
+                int size = in.readInt();
+                List<String> names = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    names.add(in.readUTF());
+                }
+                entries.put(path, new Entry(length, lastModified, names));
+            }
+        } catch (IOException e) {
+            // a corrupted index is rebuilt
+            entries.clear();
+        }
+        return entries;
+    }
+
+    private static void write(Path indexFile, Map<String, Entry> entries) throws IOException {
+        Files.createDirectories(indexFile.getParent());
+        Path temp = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> e : new TreeMap<>(entries).entrySet()) {
+                out.writeUTF(e.getKey());
+                out.writeLong(e.getValue().length);
+                out.writeLong(e.getValue().lastModified);
+                out.writeInt(e.getValue().names.size());
+                for (String name : e.getValue().names) {
+                    out.writeUTF(name);
+                }
+            }
+        }
+        Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,569 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.regex.Matcher;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import groovy.json.JsonSlurper;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Removes from the dependency jars the classes that can't be reached from the
+ * application, before they are passed to native-image.
+ *
+ * Reachability is computed at class level, from the classes of the project, the
+ * given seeds, the service providers and the classes named in the native-image
+ * configuration files of the classpath, and the skins set with -fx-skin in the
+ * stylesheets, following every type referenced in the bytecode, and string
+ * constants that name a class. Classes that only exist in a version of a
+ * multi-release jar are followed too. JavaFX and Attach jars are not changed.
+ */
+class ClasspathShrinker {
+
+    /**
+     * The file of the output directory that maps the fingerprint of each original jar
+     * to its shrunk version
+     */
+    static final String CLASSPATH_FILE = "classpath.txt";
+
+    private static final String NATIVE_IMAGE_CONFIG = "META-INF/native-image/";
+    private static final String SERVICES = "META-INF/services/";
+    private static final String VERSIONS = "META-INF/versions/";
+
+    private final Map<String, ZipFile> classJars = new HashMap<>();
+    // entries of the classes that only exist in a version of a multi-release jar
+    private final Map<String, String> versionedEntries = new HashMap<>();
+    private final Map<String, Path> classFiles = new HashMap<>();
+    private final Set<String> reachable = new HashSet<>();
+    private final Deque<String> pending = new ArrayDeque<>();
+
+    private int removedClasses;
+    private int totalClasses;
+    private long originalBytes;
+    private long shrunkBytes;
+
+    /**
+     * Shrinks the jars of the classpath into the output directory
+     *
+     * @param classpath the runtime classpath
+     * @param seeds classes that are used reflectively, like the main class
+     * @param keepPatterns patterns of classes that are always kept, like com.foo.**
+     * @param outputDir the directory where the shrunk jars are written
+     * @return the shrinker, with the statistics of the process
+     * @throws IOException if a file can't be read or written
+     */
+    static ClasspathShrinker shrink(Collection<File> classpath, Collection<String> seeds, List<String> keepPatterns,
+                                    Path outputDir) throws IOException {
+        ClasspathShrinker shrinker = new ClasspathShrinker();
+        List<ZipFile> jars = new ArrayList<>();
+        try {
+            for (File file : classpath) {
+                if (file.isDirectory()) {
+                    shrinker.indexDirectory(file.toPath());
+                } else if (file.isFile() && file.getName().endsWith(".jar")) {
+                    ZipFile jar = new ZipFile(file);
+                    jars.add(jar);
+                    shrinker.indexJar(jar);
+                }
+            }
+            AgentFilter keep = new AgentFilter(keepPatterns, List.of());
+            seeds.forEach(shrinker::reach);
+            if (!keepPatterns.isEmpty()) {
+                shrinker.classJars.keySet().stream().filter(keep).collect(Collectors.toList()).forEach(shrinker::reach);
+            }
+            shrinker.traverse();
+            shrinker.write(jars, outputDir);
+        } finally {
+            for (ZipFile jar : jars) {
+                jar.close();
+            }
+        }
+        return shrinker;
+    }
+
+    String getSummary() {
+        return String.format(Locale.ROOT, "Classpath shrinking: %d of %d classes removed, %.2f MB saved (%.2f MB to %.2f MB)",
+                removedClasses, totalClasses, (originalBytes - shrunkBytes) / (1024.0 * 1024),
+                originalBytes / (1024.0 * 1024), shrunkBytes / (1024.0 * 1024));
+    }
+
+    /**
+     * Reads the map of the output directory, from the fingerprint of each original jar
+     * to its shrunk version
+     *
+     * @param outputDir the output directory of the shrinker
+     * @return the map of fingerprints to files
+     * @throws IOException if the file can't be read
+     */
+    static Map<String, File> readClasspathMap(Path outputDir) throws IOException {
+        Map<String, File> map = new HashMap<>();
+        for (String line : Files.readAllLines(outputDir.resolve(CLASSPATH_FILE), StandardCharsets.UTF_8)) {
+            int index = line.indexOf('\t');
+            if (index > 0) {
+                map.put(line.substring(0, index), outputDir.resolve(line.substring(index + 1)).toFile());
+            }
+        }
+        return map;
+    }
+
+    /**
+     * The SHA-256 of the content of a file
+     *
+     * @param file the file
+     * @return the hexadecimal fingerprint
+     * @throws IOException if the file can't be read
+     */
+    static String fingerprint(File file) throws IOException {
+        try (InputStream is = Files.newInputStream(file.toPath())) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = is.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void indexDirectory(Path root) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        for (Path path : files) {
+            String name = root.relativize(path).toString().replace(File.separatorChar, '/');
+            if (isClass(name)) {
+                // the classes of the project are always kept
+                String className = toClassName(name);
+                classFiles.putIfAbsent(className, path);
+                reach(className);
+            } else {
+                readMetadata(name, () -> Files.readAllBytes(path));
+            }
+        }
+    }
+
+    private void indexJar(ZipFile jar) throws IOException {
+        boolean platform = jar.stream().anyMatch(e -> isClass(e.getName()) &&
+                ReachabilityAnalyzer.isPlatformResource(e.getName()));
+        for (ZipEntry entry : jar.stream().collect(Collectors.toList())) {
+            String name = entry.getName();
+            if (isClass(name)) {
+                String baseName = getBaseName(name);
+                if (!baseName.equals(name) && jar.getEntry(baseName) != null) {
+                    // the base version is indexed instead
+                    continue;
+                }
+                String className = toClassName(baseName);
+                if (platform) {
+                    // platform jars are not changed, and don't refer to other jars
+                    reachable.add(className);
+                } else if (classJars.putIfAbsent(className, jar) == null && !baseName.equals(name)) {
+                    versionedEntries.put(className, name);
+                }
+            } else {
+                readMetadata(name, () -> jar.getInputStream(entry).readAllBytes());
+            }
+        }
+    }
+
+    private interface Content {
+        byte[] read() throws IOException;
+    }
+
+    /**
+     * Service providers and native-image configuration files name classes that are
+     * loaded reflectively
+     */
+    private void readMetadata(String name, Content content) throws IOException {
+        if (name.startsWith(SERVICES) && name.length() > SERVICES.length()) {
+            new String(content.read(), StandardCharsets.UTF_8).lines()
+                    .map(line -> line.replaceFirst("#.*", "").trim())
+                    .filter(line -> !line.isEmpty())
+                    .forEach(this::reach);
+        } else if (name.endsWith(".css")) {
+            // skins are created reflectively by the CSS engine
+            Matcher matcher = ReachabilityAnalyzer.CSS_SKIN.matcher(new String(content.read(), StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                reach(matcher.group(1));
+            }
+        } else if (name.startsWith(NATIVE_IMAGE_CONFIG) && name.endsWith(".json")) {
+            try {
+                collectClassNames(new JsonSlurper().parse(content.read()));
+            } catch (RuntimeException e) {
+                // not a configuration file
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collectClassNames(Object json) {
+        if (json instanceof Map) {
+            ((Map<String, Object>) json).forEach((key, value) -> {
+                if (("name".equals(key) || "type".equals(key)) && value instanceof String) {
+                    reach((String) value);
+                } else {
+                    collectClassNames(value);
+                }
+            });
+        } else if (json instanceof List) {
+            ((List<Object>) json).forEach(this::collectClassNames);
+        } else if (json instanceof String) {
+            // lists of interfaces of proxies
+            reach((String) json);
+        }
+    }
+
+    private void reach(String name) {
+        String className = name.replace('/', '.');
+        if (reachable.add(className)) {
+            pending.add(className);
+        }
+    }
+
+    private void traverse() throws IOException {
+        while (!pending.isEmpty()) {
+            String className = pending.poll();
+            byte[] bytes = readClass(className);
+            if (bytes != null) {
+                new ClassReader(bytes).accept(new ReferenceCollector(), ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+            }
+        }
+    }
+
+    private byte[] readClass(String className) throws IOException {
+        String entryName = versionedEntries.getOrDefault(className, className.replace('.', '/') + ".class");
+        ZipFile jar = classJars.get(className);
+        if (jar != null) {
+            try (InputStream is = jar.getInputStream(jar.getEntry(entryName))) {
+                return is.readAllBytes();
+            }
+        }
+        Path path = classFiles.get(className);
+        return path != null ? Files.readAllBytes(path) : null;
+    }
+
+    private void write(List<ZipFile> jars, Path outputDir) throws IOException {
+        Map<String, String> classpathMap = new TreeMap<>();
+        for (ZipFile jar : jars) {
+            File file = new File(jar.getName());
+            List<? extends ZipEntry> entries = jar.stream().collect(Collectors.toList());
+            List<ZipEntry> kept = entries.stream().filter(this::isKept).collect(Collectors.toList());
+            long classes = countClasses(entries);
+            long keptClasses = countClasses(kept);
+            totalClasses += classes;
+            originalBytes += file.length();
+            if (keptClasses == classes) {
+                shrunkBytes += file.length();
+                continue;
+            }
+            removedClasses += classes - keptClasses;
+
+            // keep the name of the jar, that Substrate uses to identify some libraries
+            String fingerprint = fingerprint(file);
+            Path target = outputDir.resolve(fingerprint.substring(0, 16)).resolve(file.getName());
+            Files.createDirectories(target.getParent());
+            try (OutputStream os = Files.newOutputStream(target);
+                 JarOutputStream jos = new JarOutputStream(os)) {
+                for (ZipEntry entry : kept) {
+                    JarEntry copy = new JarEntry(entry.getName());
+                    // fixed timestamps, so the output is reproducible
+                    copy.setTime(entry.getTime());
+                    jos.putNextEntry(copy);
+                    try (InputStream is = jar.getInputStream(entry)) {
+                        is.transferTo(jos);
+                    }
+                    jos.closeEntry();
+                }
+            }
+            shrunkBytes += Files.size(target);
+            classpathMap.put(fingerprint, outputDir.relativize(target).toString().replace(File.separatorChar, '/'));
+        }
+        Files.writeString(outputDir.resolve(CLASSPATH_FILE), classpathMap.entrySet().stream()
+                .map(e -> e.getKey() + "\t" + e.getValue() + "\n")
+                .collect(Collectors.joining()), StandardCharsets.UTF_8);
+    }
+
+    private boolean isKept(ZipEntry entry) {
+        String name = entry.getName();
+        if (!isClass(name)) {
+            return true;
+        }
+        name = getBaseName(name);
+        return name.endsWith("module-info.class") || name.endsWith("package-info.class") ||
+                reachable.contains(toClassName(name));
+    }
+
+    /**
+     * The classes of a jar, counting once the classes with several versions
+     */
+    private static long countClasses(List<? extends ZipEntry> entries) {
+        return entries.stream()
+                .map(ZipEntry::getName)
+                .filter(ClasspathShrinker::isClass)
+                .map(ClasspathShrinker::getBaseName)
+                .distinct()
+                .count();
+    }
+
+    /**
+     * The name of an entry of a multi-release jar in the base version
+     */
+    private static String getBaseName(String name) {
+        return name.startsWith(VERSIONS) ? name.substring(name.indexOf('/', VERSIONS.length()) + 1) : name;
+    }
+
+    private static boolean isClass(String name) {
+        return name.endsWith(".class");
+    }
+
+    private static String toClassName(String path) {
+        return path.substring(0, path.length() - ".class".length()).replace('/', '.');
+    }
+
+    private void reachType(Type type) {
+        if (type.getSort() == Type.ARRAY) {
+            type = type.getElementType();
+        }
+        if (type.getSort() == Type.OBJECT) {
+            reach(type.getClassName());
+        } else if (type.getSort() == Type.METHOD) {
+            reachType(type.getReturnType());
+            for (Type argument : type.getArgumentTypes()) {
+                reachType(argument);
+            }
+        }
+    }
+
+    private void reachDescriptor(String descriptor) {
+        if (descriptor != null) {
+            reachType(Type.getType(descriptor));
+        }
+    }
+
+    private void reachInternalName(String internalName) {
+        if (internalName != null) {
+            reachType(internalName.startsWith("[") ? Type.getType(internalName) : Type.getObjectType(internalName));
+        }
+    }
+
+    private void reachConstant(Object value) {
+        if (value instanceof Type) {
+            reachType((Type) value);
+        } else if (value instanceof Handle) {
+            reachInternalName(((Handle) value).getOwner());
+            reachDescriptor(((Handle) value).getDesc());
+        } else if (value instanceof String) {
+            String name = (String) value;
+            // classes loaded by name
+            if (classJars.containsKey(name)) {
+                reach(name);
+            }
+        }
+    }
+
+    /**
+     * Follows every type referenced by a class
+     */
+    private class ReferenceCollector extends ClassVisitor {
+
+        private final AnnotationVisitor annotationVisitor = new AnnotationVisitor(Opcodes.ASM9) {
+            @Override
+            public void visit(String name, Object value) {
+                reachConstant(value);
+            }
+
+            @Override
+            public void visitEnum(String name, String descriptor, String value) {
+                reachDescriptor(descriptor);
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String name, String descriptor) {
+                reachDescriptor(descriptor);
+                return this;
+            }
+
+            @Override
+            public AnnotationVisitor visitArray(String name) {
+                return this;
+            }
+        };
+
+        ReferenceCollector() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            reachInternalName(superName);
+            if (interfaces != null) {
+                for (String i : interfaces) {
+                    reachInternalName(i);
+                }
+            }
+        }
+
+        @Override
+        public void visitOuterClass(String owner, String name, String descriptor) {
+            reachInternalName(owner);
+        }
+
+        @Override
+        public void visitNestHost(String nestHost) {
+            reachInternalName(nestHost);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            reachDescriptor(descriptor);
+            return annotationVisitor;
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+            reachDescriptor(descriptor);
+            return new FieldVisitor(Opcodes.ASM9) {
+                @Override
+                public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+                    reachDescriptor(descriptor);
+                    return annotationVisitor;
+                }
+            };
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            reachDescriptor(descriptor);
+            if (exceptions != null) {
+                for (String exception : exceptions) {
+                    reachInternalName(exception);
+                }
+            }
+            return new MethodVisitor(Opcodes.ASM9) {
+                @Override
+                public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+                    reachDescriptor(descriptor);
+                    return annotationVisitor;
+                }
+
+                @Override
+                public AnnotationVisitor visitParameterAnnotation(int parameter, String descriptor, boolean visible) {
+                    reachDescriptor(descriptor);
+                    return annotationVisitor;
+                }
+
+                @Override
+                public AnnotationVisitor visitAnnotationDefault() {
+                    return annotationVisitor;
+                }
+
+                @Override
+                public void visitTypeInsn(int opcode, String type) {
+                    reachInternalName(type);
+                }
+
+                @Override
+                public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+                    reachInternalName(owner);
+                    reachDescriptor(descriptor);
+                }
+
+                @Override
+                public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+                    reachInternalName(owner);
+                    reachDescriptor(descriptor);
+                }
+
+                @Override
+                public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle,
+                                                   Object... bootstrapMethodArguments) {
+                    reachDescriptor(descriptor);
+                    reachConstant(bootstrapMethodHandle);
+                    for (Object argument : bootstrapMethodArguments) {
+                        reachConstant(argument);
+                    }
+                }
+
+                @Override
+                public void visitLdcInsn(Object value) {
+                    reachConstant(value);
+                }
+
+                @Override
+                public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+                    reachDescriptor(descriptor);
+                }
+
+                @Override
+                public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+                    reachInternalName(type);
+                }
+            };
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2024, Gluon
+ * Copyright (c) 2019, 2026, Gluon
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -32,22 +32,19 @@ package com.gluonhq.gradle.tasks;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
 
 import org.gradle.api.GradleException;
 import org.gradle.api.Project;
-import org.gradle.api.artifacts.DependencySet;
+import org.gradle.api.logging.Logger;
 import org.gradle.api.plugins.ApplicationPlugin;
 import org.gradle.api.plugins.JavaApplication;
-import org.gradle.api.plugins.JavaPlugin;
 import org.gradle.api.provider.Property;
-import org.gradle.api.tasks.SourceSet;
-import org.gradle.api.tasks.SourceSetContainer;
 
-import com.gluonhq.gradle.ClientExtension;
+import com.gluonhq.gradle.ReleaseConfiguration;
 import com.gluonhq.substrate.Constants;
 import com.gluonhq.substrate.ProjectConfiguration;
 import com.gluonhq.substrate.SubstrateDispatcher;
@@ -55,18 +52,35 @@ import com.gluonhq.substrate.model.Triplet;
 
 class ConfigBuild {
 
-    private final Project project;
-    private final ClientExtension clientExtension;
+    private final ConfigBuildParameters task;
+    private final Logger logger;
+    private final SubstrateConfigurations configurations;
+    private final boolean keyByClasspath;
 
-    ConfigBuild(Project project) {
-        this.project = project;
+    ConfigBuild(NativeBaseTask task) {
+        this(task, task.getLogger(), task.getConfigurationService().get().getConfigurations(), false);
+    }
 
-        clientExtension = project.getExtensions().getByType(ClientExtension.class);
+    /**
+     * @param parameters the values to create the Substrate configuration
+     * @param logger the logger
+     * @param configurations the configurations shared with other tasks or steps, or null
+     *                       to always create a new one
+     * @param keyByClasspath whether the classpath is part of the configuration key, which is
+     *                       needed when the configurations outlive the build, like in a worker
+     *                       process
+     */
+    ConfigBuild(ConfigBuildParameters parameters, Logger logger, SubstrateConfigurations configurations,
+                boolean keyByClasspath) {
+        this.task = parameters;
+        this.logger = logger;
+        this.configurations = configurations;
+        this.keyByClasspath = keyByClasspath;
     }
 
     public SubstrateDispatcher createSubstrateDispatcher() throws IOException {
-        Path clientPath = project.getLayout().getBuildDirectory().dir(Constants.GLUONFX_PATH).get().getAsFile().toPath();
-        project.getLogger().debug(" in directory {}", clientPath);
+        Path clientPath = task.getBuildRoot().get().getAsFile().toPath();
+        logger.debug(" in directory {}", clientPath);
 
         return new SubstrateDispatcher(clientPath, createSubstrateConfiguration());
     }
@@ -78,16 +92,10 @@ class ConfigBuild {
         try {
             String mainClassName = clientConfig.getMainClassName();
             String name = clientConfig.getAppName();
-            for (org.gradle.api.artifacts.Configuration configuration : project.getBuildscript().getConfigurations()) {
-                project.getLogger().debug("Configuration = " + configuration);
-                DependencySet deps = configuration.getAllDependencies();
-                project.getLogger().debug("Dependencies = " + deps);
-                deps.forEach(dep -> project.getLogger().debug("Dependency = " + dep));
-            }
-            project.getLogger().debug("mainClassName = " + mainClassName + " and app name = " + name);
+            logger.debug("mainClassName = " + mainClassName + " and app name = " + name);
 
-            Path buildRootPath = project.getLayout().getBuildDirectory().dir(Constants.GLUONFX_PATH).get().getAsFile().toPath();
-            project.getLogger().debug("BuildRoot: " + buildRootPath);
+            Path buildRootPath = task.getBuildRoot().get().getAsFile().toPath();
+            logger.debug("BuildRoot: " + buildRootPath);
 
             SubstrateDispatcher dispatcher = new SubstrateDispatcher(buildRootPath, clientConfig);
             result = dispatcher.nativeCompile();
@@ -100,7 +108,63 @@ class ConfigBuild {
         }
     }
 
-    private ProjectConfiguration createSubstrateConfiguration() {
+    // package-private for the jmh benchmarks
+    ProjectConfiguration createSubstrateConfiguration() {
+        if (configurations == null) {
+            return newSubstrateConfiguration();
+        }
+        return configurations.get(getConfigurationKey(), this::newSubstrateConfiguration);
+    }
+
+    /**
+     * The values that define the configuration. Within a build, the classpath is left
+     * out, as it is the same runtime classpath for all the tasks of a project.
+     */
+    private List<Object> getConfigurationKey() {
+        return Arrays.asList(task.getBuildRoot().get().getAsFile(), task.getTarget().get(),
+                task.getMainClass().getOrNull(), task.getAppName().get(), task.getAppIdentifier().get(),
+                task.getBundlesList().get(), task.getResourcesList().get(),
+                task.getReflectionList().get(), task.getJniList().get(),
+                task.getCompilerArgs().get(), task.getLinkerArgs().get(), task.getRuntimeArgs().get(),
+                task.getJavaStaticSdkVersion().getOrNull(), task.getJavafxStaticSdkVersion().getOrNull(),
+                task.getGraalvmHome().getOrNull(), task.getEnableSwRendering().get(), task.getVerbose().get(),
+                task.getRemoteHostName().getOrNull(), task.getRemoteDir().getOrNull(),
+                task.getReleaseConfiguration().get(),
+                keyByClasspath ? getClassPathFromSourceSets() : null);
+    }
+
+    private ProjectConfiguration newSubstrateConfiguration() {
+        // Init Client Config
+        ProjectConfiguration clientConfig = new ProjectConfiguration(task.getMainClass().getOrNull(), getClassPath());
+        clientConfig.setJavaStaticSdkVersion(task.getJavaStaticSdkVersion().getOrNull());
+        clientConfig.setJavafxStaticSdkVersion(task.getJavafxStaticSdkVersion().getOrNull());
+
+        clientConfig.setTarget(toTriplet(task.getTarget().get()));
+
+        clientConfig.setBundlesList(task.getBundlesList().get());
+        clientConfig.setResourcesList(task.getResourcesList().get());
+        clientConfig.setJniList(task.getJniList().get());
+        clientConfig.setCompilerArgs(task.getCompilerArgs().get());
+        clientConfig.setLinkerArgs(task.getLinkerArgs().get());
+        clientConfig.setRuntimeArgs(task.getRuntimeArgs().get());
+        clientConfig.setReflectionList(task.getReflectionList().get());
+        clientConfig.setAppId(task.getAppIdentifier().get());
+        clientConfig.setAppName(task.getAppName().get());
+
+        clientConfig.setGraalPath(getGraalHome(task.getGraalvmHome().getOrNull()));
+
+        clientConfig.setUsePrismSW(task.getEnableSwRendering().get());
+        clientConfig.setVerbose(task.getVerbose().get());
+
+        clientConfig.setRemoteHostName(task.getRemoteHostName().getOrNull());
+        clientConfig.setRemoteDir(task.getRemoteDir().getOrNull());
+
+        clientConfig.setReleaseConfiguration(ReleaseConfiguration.toSubstrate(task.getReleaseConfiguration().get()));
+
+        return clientConfig;
+    }
+
+    static String getMainClass(Project project) {
         // Use Application Plugin First to get mainClass
         Property<String> mainClass = project.getObjects().property(String.class);
         project.getPlugins().withType(ApplicationPlugin.class, applicationPlugin -> {
@@ -111,87 +175,44 @@ class ConfigBuild {
         if (!mainClass.isPresent()) {
             mainClass.set((String) project.getProperties().get("mainClassName"));
         }
+        return mainClass.getOrNull();
+    }
 
-        // Init Client Config
-        ProjectConfiguration clientConfig = new ProjectConfiguration(mainClass.getOrNull(), getClassPath());
-        clientConfig.setJavaStaticSdkVersion(clientExtension.getJavaStaticSdkVersion());
-        clientConfig.setJavafxStaticSdkVersion(clientExtension.getJavafxStaticSdkVersion());
-
-        Triplet targetTriplet;
-        String target = clientExtension.getTarget().toLowerCase(Locale.ROOT);
+    static Triplet toTriplet(String targetName) {
+        String target = targetName.toLowerCase(Locale.ROOT);
         switch (target) {
             case Constants.PROFILE_HOST:
-                targetTriplet = Triplet.fromCurrentOS();
-                break;
+                return Triplet.fromCurrentOS();
             case Constants.PROFILE_IOS:
-                targetTriplet = new Triplet(Constants.Profile.IOS);
-                break;
+                return new Triplet(Constants.Profile.IOS);
             case Constants.PROFILE_IOS_SIM:
-                targetTriplet = new Triplet(Constants.Profile.IOS_SIM);
-                break;
+                return new Triplet(Constants.Profile.IOS_SIM);
             case Constants.PROFILE_ANDROID:
-                targetTriplet = new Triplet(Constants.Profile.ANDROID);
-                break;
+                return new Triplet(Constants.Profile.ANDROID);
             case Constants.PROFILE_LINUX_AARCH64:
-                targetTriplet = new Triplet(Constants.Profile.LINUX_AARCH64);
-                break;
+                return new Triplet(Constants.Profile.LINUX_AARCH64);
             default:
                 throw new RuntimeException("No valid target found for " + target);
         }
-        clientConfig.setTarget(targetTriplet);
-
-        clientConfig.setBundlesList(clientExtension.getBundlesList());
-        clientConfig.setResourcesList(clientExtension.getResourcesList());
-        clientConfig.setJniList(clientExtension.getJniList());
-        clientConfig.setCompilerArgs(clientExtension.getCompilerArgs());
-        clientConfig.setLinkerArgs(clientExtension.getLinkerArgs());
-        clientConfig.setRuntimeArgs(clientExtension.getRuntimeArgs());
-        clientConfig.setReflectionList(clientExtension.getReflectionList());
-        String appId = clientExtension.getAppIdentifier();
-        clientConfig.setAppId(appId != null ? appId :
-                project.getGroup() + "." + project.getName());
-        clientConfig.setAppName(project.getName());
-
-        clientConfig.setGraalPath(getGraalHome());
-
-        clientConfig.setUsePrismSW(clientExtension.isEnableSwRendering());
-        clientConfig.setVerbose(clientExtension.isVerbose());
-
-        clientConfig.setRemoteHostName(clientExtension.getRemoteHostName());
-        clientConfig.setRemoteDir(clientExtension.getRemoteDir());
-
-        clientConfig.setReleaseConfiguration(clientExtension.getReleaseConfiguration().toSubstrate());
-
-        return clientConfig;
     }
 
     private String getClassPath() {
         List<Path> classPath = getClassPathFromSourceSets();
-        project.getLogger().debug("Runtime classPath = " + classPath);
+        logger.debug("Runtime classPath = " + classPath);
         String cp = classPath.stream()
                 .map(Path::toString)
                 .collect(Collectors.joining(File.pathSeparator)) + File.pathSeparator;
         return cp;
     }
 
-    private List<Path> getClassPathFromSourceSets() {
-        final List<Path> classPath = new ArrayList<>();
-        project.getPlugins().withType(JavaPlugin.class, javaPlugin -> {
-            SourceSetContainer sourceSetContainer = project.getExtensions().getByType(SourceSetContainer.class);
-            SourceSet mainSourceSet = sourceSetContainer.getByName(SourceSet.MAIN_SOURCE_SET_NAME);
-            mainSourceSet.getRuntimeClasspath().getFiles().stream()
-                    .filter(File::exists)
-                    .map(File::toPath)
-                    .forEachOrdered(classPath::add);
-        });
-        return classPath;
+    List<Path> getClassPathFromSourceSets() {
+        return task.getClasspath().getFiles().stream()
+                .filter(File::exists)
+                .map(File::toPath)
+                .collect(Collectors.toList());
     }
 
-    private Path getGraalHome() {
-        String graalvmHome = clientExtension.getGraalvmHome();
-        if (graalvmHome == null) {
-            graalvmHome = System.getenv("GRAALVM_HOME");
-        }
+    static Path getGraalHome(String graalvmHome) {
         if (graalvmHome == null) {
             throw new GradleException("GraalVM installation directory not found." +
                     " Either set GRAALVM_HOME as an environment variable or" +
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+
+/**
+ * The values needed by {@link ConfigBuild} to create the Substrate project configuration.
+ * They are provided by the GluonFX tasks and, when the work runs in a worker process,
+ * by the worker parameters.
+ */
+public interface ConfigBuildParameters {
+
+    ConfigurableFileCollection getClasspath();
+
+    Property<String> getMainClass();
+
+    Property<String> getTarget();
+
+    Property<String> getAppName();
+
+    Property<String> getAppIdentifier();
+
+    ListProperty<String> getBundlesList();
+
+    ListProperty<String> getResourcesList();
+
+    ListProperty<String> getReflectionList();
+
+    ListProperty<String> getJniList();
+
+    ListProperty<String> getCompilerArgs();
+
+    ListProperty<String> getLinkerArgs();
+
+    ListProperty<String> getRuntimeArgs();
+
+    Property<String> getJavaStaticSdkVersion();
+
+    Property<String> getJavafxStaticSdkVersion();
+
+    Property<Boolean> getEnableSwRendering();
+
+    Property<Boolean> getVerbose();
+
+    Property<String> getRemoteHostName();
+
+    Property<String> getRemoteDir();
+
+    /**
+     * The release settings, as returned by {@link com.gluonhq.gradle.ReleaseConfiguration#toMap()}
+     */
+    MapProperty<String, String> getReleaseConfiguration();
+
+    Property<String> getGraalvmHome();
+
+    DirectoryProperty getBuildRoot();
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import groovy.json.JsonOutput;
+
+/**
+ * The resources of the classpath that are embedded in the native image, by the
+ * default resource extensions and the resourcesList of the configuration.
+ */
+class EmbeddedResources {
+
+    /**
+     * The extensions of the resources that are included by default
+     */
+    static final List<String> DEFAULT_EXTENSIONS = List.of(
+            "png", "gif", "jpg", "jpeg", "bmp", "ttf", "css", "fxml", "json", "frag", "gls", "license");
+
+    private static final Pattern EXTENSION = Pattern.compile("[A-Za-z0-9]+");
+
+    static final class Resource {
+        final String path;
+        final String source;
+        final long size;
+
+        Resource(String path, String source, long size) {
+            this.path = path;
+            this.source = source;
+            this.size = size;
+        }
+    }
+
+    private final List<String> extensions = new ArrayList<>(DEFAULT_EXTENSIONS);
+    private final List<String> patterns = new ArrayList<>();
+
+    /**
+     * @param resourcesList the additional resource patterns or extensions of the configuration
+     */
+    EmbeddedResources(List<String> resourcesList) {
+        for (String resource : resourcesList) {
+            if (EXTENSION.matcher(resource).matches()) {
+                extensions.add(resource);
+            } else {
+                patterns.add(resource);
+            }
+        }
+    }
+
+    /**
+     * Lists the resources of the classpath that are embedded, sorted by size, larger first
+     *
+     * @param classpath jars and directories
+     * @return the embedded resources
+     */
+    List<Resource> list(Collection<File> classpath) {
+        Predicate<String> embedded = getMatcher();
+        List<Resource> resources = new ArrayList<>();
+        for (File file : classpath) {
+            if (file.isDirectory()) {
+                Path root = file.toPath();
+                try (Stream<Path> files = Files.walk(root)) {
+                    for (Path path : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                        String name = root.relativize(path).toString().replace(File.separatorChar, '/');
+                        if (embedded.test(name)) {
+                            resources.add(new Resource(name, file.getPath(), Files.size(path)));
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            } else if (file.isFile() && file.getName().endsWith(".jar")) {
+                try (ZipFile zip = new ZipFile(file)) {
+                    zip.stream()
+                            .filter(entry -> !entry.isDirectory() && embedded.test(entry.getName()))
+                            .map(entry -> new Resource(entry.getName(), file.getName(), size(entry)))
+                            .forEach(resources::add);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        resources.sort(Comparator.comparingLong((Resource r) -> r.size).reversed().thenComparing(r -> r.path));
+        return resources;
+    }
+
+    /**
+     * Creates a resource-config.json that includes the referenced resources, and
+     * excludes the other resources that would be included by extension, except the
+     * ones of JavaFX and Attach and the ones that match the patterns of the configuration
+     *
+     * @param referenced the resources referenced by the application
+     * @return the content of the file
+     */
+    String toResourceConfig(Collection<String> referenced) {
+        String includes = referenced.stream()
+                .sorted()
+                .map(path -> "      {\"pattern\": " + JsonOutput.toJson(Pattern.quote(path)) + "}")
+                .collect(Collectors.joining(",\n"));
+        return "{\n" +
+                "  \"resources\": {\n" +
+                "    \"includes\": [\n" + includes + (includes.isEmpty() ? "" : "\n") + "    ],\n" +
+                "    \"excludes\": [\n" +
+                "      {\"pattern\": " + JsonOutput.toJson(getExcludePattern(referenced)) + "}\n" +
+                "    ]\n" +
+                "  }\n" +
+                "}\n";
+    }
+
+    private String getExcludePattern(Collection<String> referenced) {
+        String platform = ReachabilityAnalyzer.EXCLUDED_PACKAGES.stream()
+                .map(p -> Pattern.quote(p.replace('.', '/')))
+                .collect(Collectors.joining("|"));
+        String kept = referenced.stream()
+                .sorted()
+                .map(Pattern::quote)
+                .collect(Collectors.joining("|"));
+        // resources that match the patterns of the configuration are kept too
+        String explicit = String.join("|", patterns);
+        return "^(?!" + platform + ")" + (kept.isEmpty() ? "" : "(?!(?:" + kept + ")$)") +
+                (explicit.isEmpty() ? "" : "(?!(?:" + explicit + ")$)") +
+                ".*\\.(?:" + String.join("|", extensions) + ")$";
+    }
+
+    private Predicate<String> getMatcher() {
+        List<Pattern> compiled = patterns.stream().map(Pattern::compile).collect(Collectors.toList());
+        return name -> {
+            int index = name.lastIndexOf('.');
+            if (index >= 0 && name.lastIndexOf('/') < index && extensions.contains(name.substring(index + 1))) {
+                return true;
+            }
+            return compiled.stream().anyMatch(p -> p.matcher(name).matches());
+        };
+    }
+
+    private static long size(ZipEntry entry) {
+        return Math.max(entry.getSize(), 0);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.inject.Inject;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskAction;
+
+import com.gluonhq.substrate.Constants;
+
+/**
+ * Scans the bytecode and FXML files of the application and its dependencies, and
+ * writes the reflection, JNI, resource and bundle lists that they need.
+ */
+@CacheableTask
+public abstract class NativeAnalyzeTask extends DefaultTask {
+
+    @Inject
+    public NativeAnalyzeTask(Project project) {
+        project.getPlugins().withType(JavaPlugin.class, javaPlugin -> {
+            SourceSetContainer sourceSetContainer = project.getExtensions().getByType(SourceSetContainer.class);
+            SourceSet mainSourceSet = sourceSetContainer.getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+            getClasspath().from(mainSourceSet.getRuntimeClasspath());
+        });
+        getReachabilityFile().convention(project.getLayout().getBuildDirectory()
+                .file(Constants.GLUONFX_PATH + "/analysis/reachability.json"));
+    }
+
+    @Classpath
+    public abstract ConfigurableFileCollection getClasspath();
+
+    /**
+     * The JSON file with the reflectionList, jniList, resourcesList and bundlesList
+     * found by the analysis
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReachabilityFile();
+
+    @TaskAction
+    public void action() {
+        long start = System.nanoTime();
+        ReachabilityAnalyzer analyzer;
+        try {
+            analyzer = ReachabilityAnalyzer.analyze(getClasspath().getFiles());
+        } catch (UncheckedIOException e) {
+            throw new GradleException("Error analyzing the classpath", e);
+        }
+        Path reachabilityFile = getReachabilityFile().get().getAsFile().toPath();
+        try {
+            Files.writeString(reachabilityFile, analyzer.toJson(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new GradleException("Error writing " + reachabilityFile, e);
+        }
+        getLogger().lifecycle("{} in {} ms", analyzer.getSummary(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.ArtifactCollection;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskAction;
+
+import com.gluonhq.gradle.ClientExtension;
+import com.gluonhq.gradle.attach.AttachConfiguration;
+import com.gluonhq.substrate.Constants;
+
+import groovy.json.JsonOutput;
+
+/**
+ * Finds the Attach services that are declared but not used by the application, and the
+ * size of their artifacts. With unusedServices = "remove" in attachConfig, the native
+ * tasks only get the artifacts of the services that are used.
+ */
+public abstract class NativeAttachCheckTask extends DefaultTask {
+
+    static final String MODE_WARN = "warn";
+    static final String MODE_FAIL = "fail";
+    static final String MODE_REMOVE = "remove";
+
+    @Inject
+    public NativeAttachCheckTask(Project project) {
+        AttachConfiguration attachConfiguration = project.getExtensions().getByType(ClientExtension.class).getAttachConfig();
+        project.getPlugins().withType(JavaPlugin.class, javaPlugin -> {
+            SourceSetContainer sourceSetContainer = project.getExtensions().getByType(SourceSetContainer.class);
+            SourceSet mainSourceSet = sourceSetContainer.getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+            Configuration runtimeClasspath = project.getConfigurations()
+                    .getByName(mainSourceSet.getRuntimeClasspathConfigurationName());
+            getClasspath().from(mainSourceSet.getOutput(), attachConfiguration.getClasspathWithoutAttach(runtimeClasspath));
+            ArtifactCollection attachArtifacts = attachConfiguration.getAttachArtifacts(runtimeClasspath);
+            getAttachFiles().from(attachArtifacts.getArtifactFiles());
+            getAttachArtifacts().addAll(attachArtifacts.getResolvedArtifacts());
+        });
+        getMode().convention(project.provider(attachConfiguration::getUnusedServices));
+        getReportFile().convention(project.getLayout().getBuildDirectory().file(Constants.GLUONFX_PATH + "/attach-usage.json"));
+        getUsedArtifactsFile().convention(project.getLayout().getBuildDirectory().file(Constants.GLUONFX_PATH + "/attach-classpath.txt"));
+    }
+
+    /**
+     * The classes of the application and its dependencies, without the Attach artifacts
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getClasspath();
+
+    /**
+     * The Attach artifacts of the runtime classpath
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getAttachFiles();
+
+    /**
+     * The Attach artifacts, with the module of each of them
+     */
+    @Internal
+    public abstract ListProperty<ResolvedArtifactResult> getAttachArtifacts();
+
+    /**
+     * What to do with the unused services: warn, fail or remove
+     */
+    @Input
+    public abstract Property<String> getMode();
+
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    /**
+     * The Attach artifacts that the native tasks use in remove mode, one path per line
+     */
+    @OutputFile
+    public abstract RegularFileProperty getUsedArtifactsFile();
+
+    @TaskAction
+    public void action() throws IOException {
+        String mode = getMode().get();
+        if (!List.of(MODE_WARN, MODE_FAIL, MODE_REMOVE).contains(mode)) {
+            throw new GradleException("Invalid value for unusedServices: '" + mode + "', it should be warn, fail or remove");
+        }
+        Map<String, List<File>> modules = new TreeMap<>();
+        for (ResolvedArtifactResult artifact : getAttachArtifacts().get()) {
+            String module = ((ModuleComponentIdentifier) artifact.getId().getComponentIdentifier()).getModule();
+            modules.computeIfAbsent(module, m -> new ArrayList<>()).add(artifact.getFile());
+        }
+        AttachUsage usage = AttachUsage.analyze(getClasspath().getFiles(), modules);
+
+        usage.getReferencedBy().forEach((module, className) -> getLogger().info("Attach {} is used by {}", module, className));
+        usage.getMentionedBy().forEach((module, resource) -> getLogger().info("Attach {} is mentioned in {}", module, resource));
+        if (!usage.getUnused().isEmpty()) {
+            String message = String.format(Locale.ROOT, "Attach services not used by the application: %s (%s, %d methods)",
+                    String.join(", ", usage.getUnused()), SizeBreakdown.format(usage.getUnusedBytes()), usage.getUnusedMethods());
+            if (MODE_REMOVE.equals(mode)) {
+                getLogger().lifecycle("{}, removed from the native image: {}", message,
+                        usage.getRemovable().isEmpty() ? "none" : String.join(", ", usage.getRemovable()));
+                usage.getUnused().stream()
+                        .filter(module -> !usage.getRemovable().contains(module))
+                        .forEach(module -> getLogger().lifecycle("Attach {} is kept, as it is mentioned in {}", module,
+                                usage.getMentionedBy().getOrDefault(module, "a resource")));
+            } else {
+                getLogger().warn("{}. Remove them from attachConfig, or set unusedServices = \"remove\"", message);
+            }
+        } else {
+            getLogger().lifecycle("All the Attach services are used by the application");
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("used", usage.getReferencedBy());
+        report.put("mentioned", usage.getMentionedBy());
+        report.put("unused", usage.getUnused());
+        report.put("removable", usage.getRemovable());
+        report.put("unusedBytes", usage.getUnusedBytes());
+        report.put("unusedMethods", usage.getUnusedMethods());
+        Path reportFile = getReportFile().get().getAsFile().toPath();
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, JsonOutput.prettyPrint(JsonOutput.toJson(report)), StandardCharsets.UTF_8);
+
+        List<String> usedArtifacts = modules.entrySet().stream()
+                .filter(entry -> !MODE_REMOVE.equals(mode) || !usage.getRemovable().contains(entry.getKey()))
+                .flatMap(entry -> entry.getValue().stream())
+                .map(File::getAbsolutePath)
+                .collect(Collectors.toList());
+        Files.write(getUsedArtifactsFile().get().getAsFile().toPath(), usedArtifacts, StandardCharsets.UTF_8);
+
+        if (MODE_FAIL.equals(mode) && !usage.getUnused().isEmpty()) {
+            throw new GradleException("Unused Attach services: " + String.join(", ", usage.getUnused()));
+        }
+    }
+
+    /**
+     * @param file the file written by the task with the Attach artifacts to use
+     * @return the artifacts
+     */
+    static List<File> readUsedArtifacts(RegularFile file) {
+        try {
+            return Files.readAllLines(file.getAsFile().toPath(), StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.isBlank())
+                    .map(File::new)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021, Gluon
+ * Copyright (c) 2019, 2026, Gluon
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -29,21 +29,335 @@
  */
 package com.gluonhq.gradle.tasks;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+import org.gradle.api.Action;
 import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileCollection;
 import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Console;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
 
-import javax.inject.Inject;
+import com.gluonhq.gradle.ClientExtension;
+import com.gluonhq.gradle.GluonFXPlugin;
+import com.gluonhq.gradle.attach.AttachConfiguration;
+import com.gluonhq.substrate.Constants;
 
-abstract class NativeBaseTask extends DefaultTask {
+import javax.inject.Inject;
 
-    final Project project;
+/**
+ * Base class of the GluonFX tasks. All the values needed to create the Substrate
+ * {@link com.gluonhq.substrate.ProjectConfiguration} are captured as task properties
+ * at configuration time, so the tasks don't access the project during execution.
+ */
+abstract class NativeBaseTask extends DefaultTask implements ConfigBuildParameters {
 
     @Inject
     public NativeBaseTask(Project project) {
-        this.project = project;
-        project.getPluginManager().withPlugin("java", e ->
-                dependsOn(project.getTasks().findByName(JavaPlugin.CLASSES_TASK_NAME),
-                          project.getTasks().findByName(JavaPlugin.PROCESS_RESOURCES_TASK_NAME)));
+        ClientExtension clientExtension = project.getExtensions().getByType(ClientExtension.class);
+
+        // The runtime classpath carries the dependencies on the classes and resources tasks
+        project.getPlugins().withType(JavaPlugin.class, javaPlugin -> {
+            SourceSetContainer sourceSetContainer = project.getExtensions().getByType(SourceSetContainer.class);
+            SourceSet mainSourceSet = sourceSetContainer.getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+            getClasspath().from((Callable<FileCollection>) () -> getRuntimeClasspath(project, clientExtension, mainSourceSet));
+        });
+
+        getTarget().convention(clientExtension.getTarget());
+        getTargetTriplet().convention(getTarget().map(target -> ConfigBuild.toTriplet(target).getArchOs()));
+        getMainClass().convention(project.provider(() -> ConfigBuild.getMainClass(project)));
+        getAppName().convention(project.getName());
+        getAppIdentifier().convention(clientExtension.getAppIdentifier()
+                .orElse(project.provider(() -> project.getGroup() + "." + project.getName())));
+        getBundlesList().convention(clientExtension.getBundlesList());
+        getResourcesList().convention(clientExtension.getResourcesList());
+        getReflectionList().convention(clientExtension.getReflectionList());
+        getJniList().convention(clientExtension.getJniList());
+        getCompilerArgs().convention(clientExtension.getCompilerArgs());
+        getLinkerArgs().convention(clientExtension.getLinkerArgs());
+        getRuntimeArgs().convention(clientExtension.getRuntimeArgs());
+        getJavaStaticSdkVersion().convention(clientExtension.getJavaStaticSdkVersion());
+        getJavafxStaticSdkVersion().convention(clientExtension.getJavafxStaticSdkVersion());
+        getEnableSwRendering().convention(clientExtension.getEnableSwRendering());
+        getVerbose().convention(clientExtension.getVerbose());
+        getWorkerHeapSize().convention(clientExtension.getWorkerHeapSize());
+        getWorkerJvmArgs().convention(clientExtension.getWorkerJvmArgs());
+        getRemoteHostName().convention(clientExtension.getRemoteHostName());
+        getRemoteDir().convention(clientExtension.getRemoteDir());
+        getReleaseConfiguration().convention(project.provider(() -> clientExtension.getReleaseConfiguration().toMap()));
+
+        getGraalvmHome().convention(clientExtension.getGraalvmHome()
+                .orElse(project.getProviders().environmentVariable("GRAALVM_HOME")));
+        // The release file identifies the GraalVM distribution, wherever it is installed
+        Provider<Path> graalvmHome = project.provider(() -> ConfigBuild.getGraalHome(getGraalvmHome().getOrNull()));
+        getGraalvmVersion().convention(project.getProviders()
+                .fileContents(project.getLayout().file(graalvmHome.map(home -> home.resolve("release").toFile())))
+                .getAsText()
+                .orElse(graalvmHome.map(Path::toString)));
+
+        getBuildRoot().convention(project.getLayout().getBuildDirectory().dir(Constants.GLUONFX_PATH));
+
+        Provider<SubstrateConfigurationService> configurationService = project.getGradle().getSharedServices()
+                .registerIfAbsent(SubstrateConfigurationService.NAME, SubstrateConfigurationService.class, spec -> {});
+        getConfigurationService().set(configurationService);
+        usesService(configurationService);
+
+        Provider<StaticSdkCacheService> sdkCacheService = StaticSdkCacheService.register(project);
+        getSdkCacheService().set(sdkCacheService);
+        usesService(sdkCacheService);
+    }
+
+    /**
+     * The runtime classpath of the main source set, that is handed over to native-image
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getClasspath();
+
+    @Input
+    @Optional
+    public abstract Property<String> getMainClass();
+
+    /**
+     * The target profile, as defined in the gluonfx extension
+     */
+    @Input
+    public abstract Property<String> getTarget();
+
+    /**
+     * The resolved target triplet, so host builds from different platforms don't mix
+     */
+    @Input
+    public abstract Property<String> getTargetTriplet();
+
+    @Input
+    public abstract Property<String> getAppName();
+
+    @Input
+    public abstract Property<String> getAppIdentifier();
+
+    @Input
+    public abstract ListProperty<String> getBundlesList();
+
+    @Input
+    public abstract ListProperty<String> getResourcesList();
+
+    @Input
+    public abstract ListProperty<String> getReflectionList();
+
+    @Input
+    public abstract ListProperty<String> getJniList();
+
+    @Input
+    public abstract ListProperty<String> getCompilerArgs();
+
+    @Internal
+    public abstract ListProperty<String> getLinkerArgs();
+
+    @Internal
+    public abstract ListProperty<String> getRuntimeArgs();
+
+    @Input
+    @Optional
+    public abstract Property<String> getJavaStaticSdkVersion();
+
+    @Input
+    @Optional
+    public abstract Property<String> getJavafxStaticSdkVersion();
+
+    @Input
+    public abstract Property<Boolean> getEnableSwRendering();
+
+    @Console
+    public abstract Property<Boolean> getVerbose();
+
+    @Internal
+    public abstract Property<String> getRemoteHostName();
+
+    @Internal
+    public abstract Property<String> getRemoteDir();
+
+    @Internal
+    public abstract MapProperty<String, String> getReleaseConfiguration();
+
+    /**
+     * The GraalVM installation directory, from the gluonfx extension or GRAALVM_HOME
+     */
+    @Internal
+    public abstract Property<String> getGraalvmHome();
+
+    /**
+     * The content of the GraalVM release file, or its installation path if there is none
+     */
+    @Input
+    public abstract Property<String> getGraalvmVersion();
+
+    /**
+     * The root directory of the Substrate build, $buildDir/gluonfx
+     */
+    @Internal
+    public abstract DirectoryProperty getBuildRoot();
+
+    @Internal
+    public abstract Property<String> getWorkerHeapSize();
+
+    @Internal
+    public abstract ListProperty<String> getWorkerJvmArgs();
+
+    /**
+     * The shared service that keeps the Substrate configuration during the build
+     */
+    @Internal
+    public abstract Property<SubstrateConfigurationService> getConfigurationService();
+
+    /**
+     * The shared service that installs the static SDKs from the machine-wide cache
+     */
+    @Internal
+    public abstract Property<StaticSdkCacheService> getSdkCacheService();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    /**
+     * Runs the given Substrate step in a worker process, so the daemon is not
+     * blocked, and other tasks can run in parallel.
+     *
+     * @param step the step to run, as defined in {@link NativeWorkAction}
+     */
+    void submitWork(String step) {
+        submitWork(step, parameters -> {});
+    }
+
+    /**
+     * Runs the given Substrate step in a worker process, with additional parameters.
+     *
+     * @param step the step to run, as defined in {@link NativeWorkAction}
+     * @param configuration sets the parameters that are specific to the step
+     */
+    void submitWork(String step, Action<? super NativeWorkAction.Parameters> configuration) {
+        installStaticSdks();
+        WorkQueue workQueue = getWorkerExecutor().processIsolation(spec -> spec.forkOptions(options -> {
+            options.setMaxHeapSize(getWorkerHeapSize().getOrNull());
+            options.jvmArgs(getWorkerJvmArgs().get());
+        }));
+        workQueue.submit(NativeWorkAction.class, parameters -> {
+            parameters.getStep().set(step);
+            parameters.getClasspath().from(getClasspath());
+            parameters.getMainClass().set(getMainClass());
+            parameters.getTarget().set(getTarget());
+            parameters.getAppName().set(getAppName());
+            parameters.getAppIdentifier().set(getAppIdentifier());
+            parameters.getBundlesList().set(getBundlesList());
+            parameters.getResourcesList().set(getResourcesList());
+            parameters.getReflectionList().set(getReflectionList());
+            parameters.getJniList().set(getJniList());
+            parameters.getCompilerArgs().set(getCompilerArgs());
+            parameters.getLinkerArgs().set(getLinkerArgs());
+            parameters.getRuntimeArgs().set(getRuntimeArgs());
+            parameters.getJavaStaticSdkVersion().set(getJavaStaticSdkVersion());
+            parameters.getJavafxStaticSdkVersion().set(getJavafxStaticSdkVersion());
+            parameters.getEnableSwRendering().set(getEnableSwRendering());
+            parameters.getVerbose().set(getVerbose());
+            parameters.getRemoteHostName().set(getRemoteHostName());
+            parameters.getRemoteDir().set(getRemoteDir());
+            parameters.getReleaseConfiguration().set(getReleaseConfiguration());
+            parameters.getGraalvmHome().set(getGraalvmHome());
+            parameters.getBuildRoot().set(getBuildRoot());
+            configuration.execute(parameters);
+        });
+    }
+
+    /**
+     * Returns the runtime classpath of the main source set. With unusedServices = "remove",
+     * its Attach artifacts are the ones that nativeAttachCheck found to be used.
+     */
+    private static FileCollection getRuntimeClasspath(Project project, ClientExtension clientExtension, SourceSet mainSourceSet) {
+        AttachConfiguration attachConfiguration = clientExtension.getAttachConfig();
+        if (!NativeAttachCheckTask.MODE_REMOVE.equals(attachConfiguration.getUnusedServices())) {
+            return mainSourceSet.getRuntimeClasspath();
+        }
+        Configuration runtimeClasspath = project.getConfigurations()
+                .getByName(mainSourceSet.getRuntimeClasspathConfigurationName());
+        return project.files(mainSourceSet.getOutput(), attachConfiguration.getClasspathWithoutAttach(runtimeClasspath),
+                project.getTasks().named(GluonFXPlugin.NATIVE_ATTACH_CHECK_TASK_NAME, NativeAttachCheckTask.class)
+                        .flatMap(NativeAttachCheckTask::getUsedArtifactsFile)
+                        .map(NativeAttachCheckTask::readUsedArtifacts));
+    }
+
+    /**
+     * Installs the static SDKs of the target from the cache, when it is enabled, before
+     * Substrate looks for them. The Java static SDK is only installed when its version
+     * is set, as otherwise Substrate uses the static libraries of GraalVM.
+     * Without the cache, or if the download fails, Substrate downloads them as usual.
+     */
+    void installStaticSdks() {
+        StaticSdkCacheService service = getSdkCacheService().get();
+        if (!service.isEnabled()) {
+            return;
+        }
+        String osArch = getOsArch(getTargetTriplet().get());
+        try {
+            service.install(StaticSdkCache.Kind.JAVAFX,
+                    getJavafxStaticSdkVersion().getOrElse(Constants.DEFAULT_JAVAFX_STATIC_SDK_VERSION), osArch, getLogger());
+            if (getJavaStaticSdkVersion().isPresent()) {
+                service.install(StaticSdkCache.Kind.JAVA, getJavaStaticSdkVersion().get(), osArch, getLogger());
+            }
+        } catch (IOException e) {
+            if (service.isOffline()) {
+                throw new GradleException(e.getMessage(), e);
+            }
+            getLogger().warn("The static SDK cache failed, Substrate will download the SDK: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Substrate uses os-arch for the SDK directories, while the triplet is arch-os
+     *
+     * @param triplet the target triplet, like x86_64-linux
+     * @return the target as os-arch, like linux-x86_64
+     */
+    static String getOsArch(String triplet) {
+        int separator = triplet.indexOf('-');
+        return triplet.substring(separator + 1) + "-" + triplet.substring(0, separator);
+    }
+
+    /**
+     * The path of the application linked by Substrate, relative to the build root
+     *
+     * @param triplet the target triplet, like x86_64-linux
+     * @param appName the name of the application
+     * @return the relative path of the executable
+     */
+    static String getExecutablePath(String triplet, String appName) {
+        return triplet + "/" + appName + "/" + getExecutableName(triplet, appName);
+    }
+
+    /**
+     * The file name of the application linked by Substrate, in its application directory
+     *
+     * @param triplet the target triplet, like x86_64-linux
+     * @param appName the name of the application
+     * @return the file name of the executable
+     */
+    static String getExecutableName(String triplet, String appName) {
+        return appName + (triplet.contains("windows") ? ".exe" : "");
     }
 }
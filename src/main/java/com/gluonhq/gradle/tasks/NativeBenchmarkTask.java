@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import groovy.json.JsonOutput;
+import groovy.json.JsonSlurper;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.options.Option;
+
+import com.gluonhq.gradle.BenchmarkConfiguration;
+import com.gluonhq.gradle.ClientExtension;
+import com.gluonhq.gradle.GluonFXPlugin;
+
+/**
+ * Runs the native application linked by nativeLink, and the application on the JVM,
+ * several times, and reports their startup time, peak RSS and CPU time.
+ */
+public abstract class NativeBenchmarkTask extends NativeBaseTask {
+
+    /**
+     * Number of previous runs in the history used as baseline for the regression check
+     */
+    private static final int BASELINE_RUNS = 5;
+
+    @Inject
+    public NativeBenchmarkTask(Project project) {
+        super(project);
+
+        ClientExtension clientExtension = project.getExtensions().getByType(ClientExtension.class);
+        BenchmarkConfiguration benchmarkConfig = clientExtension.getBenchmarkConfig();
+        getIterations().convention(benchmarkConfig.getIterations());
+        getWarmupIterations().convention(benchmarkConfig.getWarmupIterations());
+        getReadyMarker().convention(benchmarkConfig.getReadyMarker());
+        getRunTimeout().convention(benchmarkConfig.getRunTimeout());
+        getHeadless().convention(benchmarkConfig.getHeadless());
+        getJvm().convention(benchmarkConfig.getJvm());
+        getArgs().convention(benchmarkConfig.getArgs());
+        getRegressionThreshold().convention(benchmarkConfig.getRegressionThreshold());
+        getHeadlessClasspath().from(ApplicationRun.getHeadlessClasspath(project, getHeadless(),
+                clientExtension.getAgentConfig().getMonocleVersion()));
+
+        getExecutable().convention(getBuildRoot().file(getTargetTriplet().zip(getAppName(), NativeBaseTask::getExecutablePath)));
+        getReportFile().convention(getBuildRoot().file(getTargetTriplet().map(triplet -> triplet + "/benchmark.json")));
+        // Kept in the project directory, like the size baseline, so it survives a clean
+        getHistoryFile().convention(project.getLayout().getProjectDirectory().file("benchmark-history.jsonl"));
+        ApplicationRun.useRunTaskSettings(project, getJvmArgs(), getWorkingDirectory());
+
+        mustRunAfter(GluonFXPlugin.NATIVE_LINK_TASK_NAME);
+        // Measurements depend on the machine and its load, they are never up-to-date
+        doNotTrackState("Benchmarks measure the application each time they run");
+    }
+
+    @Input
+    @Option(option = "iterations", description = "Number of measured runs")
+    public abstract Property<Integer> getIterations();
+
+    @Input
+    public abstract Property<Integer> getWarmupIterations();
+
+    @Input
+    @Optional
+    public abstract Property<String> getReadyMarker();
+
+    /**
+     * Maximum time of a single run, in seconds
+     */
+    @Input
+    public abstract Property<Integer> getRunTimeout();
+
+    @Input
+    public abstract Property<Boolean> getHeadless();
+
+    /**
+     * Whether the application is also benchmarked on the JVM
+     */
+    @Input
+    public abstract Property<Boolean> getJvm();
+
+    @Input
+    public abstract ListProperty<String> getArgs();
+
+    /**
+     * JVM arguments of the application run task
+     */
+    @Input
+    public abstract ListProperty<String> getJvmArgs();
+
+    @Input
+    @Optional
+    public abstract Property<Double> getRegressionThreshold();
+
+    /**
+     * Monocle, added to the JVM classpath in headless mode
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getHeadlessClasspath();
+
+    /**
+     * The native application produced by nativeLink
+     */
+    @Internal
+    public abstract RegularFileProperty getExecutable();
+
+    @Internal
+    public abstract DirectoryProperty getWorkingDirectory();
+
+    /**
+     * The JSON report of the last benchmark
+     */
+    @Internal
+    public abstract RegularFileProperty getReportFile();
+
+    /**
+     * The reports of the previous benchmarks, one JSON object per line
+     */
+    @Internal
+    public abstract RegularFileProperty getHistoryFile();
+
+    @TaskAction
+    public void action() {
+        getLogger().info("ClientNativeBenchmark action");
+
+        File executable = getExecutable().get().getAsFile();
+        if (!executable.exists()) {
+            throw new GradleException("The native application " + executable + " doesn't exist, run nativeBuild first");
+        }
+        String readyMarker = getReadyMarker().getOrElse("");
+        if (readyMarker.isEmpty()) {
+            readyMarker = null;
+            getLogger().warn("No readyMarker set, the startup time is measured until the application exits");
+        }
+        BenchmarkRunner runner = new BenchmarkRunner(readyMarker, Duration.ofSeconds(getRunTimeout().get()));
+        List<String> headlessArgs = getHeadless().get() ? ApplicationRun.HEADLESS_JVM_ARGS : List.of();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("target", getTargetTriplet().get());
+        report.put("iterations", getIterations().get());
+        report.put("binarySize", executable.length());
+
+        List<String> nativeCommand = new ArrayList<>();
+        nativeCommand.add(executable.getAbsolutePath());
+        nativeCommand.addAll(headlessArgs);
+        nativeCommand.addAll(getArgs().get());
+        report.put("native", benchmark("native", runner, nativeCommand));
+
+        if (getJvm().get()) {
+            String binary = System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("windows") ? "java.exe" : "java";
+            Path java = ConfigBuild.getGraalHome(getGraalvmHome().getOrNull()).resolve("bin").resolve(binary);
+            List<String> jvmCommand = new ArrayList<>();
+            jvmCommand.add(java.toString());
+            jvmCommand.addAll(getJvmArgs().get());
+            jvmCommand.addAll(headlessArgs);
+            jvmCommand.add("-cp");
+            jvmCommand.add(getClasspath().plus(getHeadlessClasspath()).getAsPath());
+            jvmCommand.add(getMainClass().get());
+            jvmCommand.addAll(getArgs().get());
+            report.put("jvm", benchmark("JVM", runner, jvmCommand));
+        }
+
+        Path historyFile = getHistoryFile().get().getAsFile().toPath();
+        List<String> regressions = findRegressions(report, readHistory(historyFile));
+        try {
+            Path reportFile = getReportFile().get().getAsFile().toPath();
+            Files.createDirectories(reportFile.getParent());
+            Files.writeString(reportFile, JsonOutput.prettyPrint(JsonOutput.toJson(report)), StandardCharsets.UTF_8);
+            getLogger().lifecycle("Benchmark report written to {}", reportFile);
+            // regressions are not added to the history, so they don't become the new baseline
+            if (regressions.isEmpty()) {
+                Files.createDirectories(historyFile.getParent());
+                Files.writeString(historyFile, JsonOutput.toJson(report) + "\n", StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            throw new GradleException("Error writing the benchmark report", e);
+        }
+        if (!regressions.isEmpty()) {
+            throw new GradleException("Performance regression of the native application:\n  " + String.join("\n  ", regressions));
+        }
+    }
+
+    private Map<String, Object> benchmark(String name, BenchmarkRunner runner, List<String> command) {
+        File workingDirectory = getWorkingDirectory().get().getAsFile();
+        List<BenchmarkRunner.Sample> samples = new ArrayList<>();
+        int warmup = getWarmupIterations().get();
+        int iterations = getIterations().get();
+        try {
+            for (int i = 0; i < warmup + iterations; i++) {
+                BenchmarkRunner.Sample sample = runner.run(command, workingDirectory);
+                if (i < warmup) {
+                    getLogger().info("{} warmup {}: {}", name, i + 1, sample);
+                } else {
+                    getLogger().lifecycle("{} run {}: {}", name, i - warmup + 1, sample);
+                    samples.add(sample);
+                }
+            }
+        } catch (IOException e) {
+            throw new GradleException("Error running the " + name + " application: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GradleException("The benchmark was interrupted", e);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("startupMillis", summarize(samples, s -> s.startupMillis));
+        if (samples.stream().allMatch(s -> s.peakRssKb >= 0)) {
+            result.put("peakRssKb", summarize(samples, s -> (double) s.peakRssKb));
+        }
+        result.put("cpuMillis", summarize(samples, s -> s.cpuMillis));
+        getLogger().lifecycle("{}: startup {} ms (p50), {} ms (p90)", name,
+                ((Map<?, ?>) result.get("startupMillis")).get("p50"), ((Map<?, ?>) result.get("startupMillis")).get("p90"));
+        return result;
+    }
+
+    private static Map<String, Double> summarize(List<BenchmarkRunner.Sample> samples, Function<BenchmarkRunner.Sample, Double> value) {
+        return BenchmarkRunner.summarize(samples.stream().map(value).collect(Collectors.toList()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> readHistory(Path historyFile) {
+        List<Map<String, Object>> history = new ArrayList<>();
+        if (!Files.exists(historyFile)) {
+            return history;
+        }
+        try {
+            for (String line : Files.readAllLines(historyFile, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    history.add((Map<String, Object>) new JsonSlurper().parseText(line));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            getLogger().warn("Ignoring the benchmark history {}: {}", historyFile, e.getMessage());
+            history.clear();
+        }
+        return history;
+    }
+
+    /**
+     * Compares the median startup time and peak RSS, and the binary size, with the
+     * median of the last runs of the same target in the history
+     */
+    List<String> findRegressions(Map<String, Object> report, List<Map<String, Object>> history) {
+        List<String> regressions = new ArrayList<>();
+        if (!getRegressionThreshold().isPresent()) {
+            return regressions;
+        }
+        List<Map<String, Object>> previous = history.stream()
+                .filter(entry -> report.get("target").equals(entry.get("target")))
+                .collect(Collectors.toList());
+        if (previous.isEmpty()) {
+            getLogger().lifecycle("No previous benchmark of {} in the history, the regression check is skipped", report.get("target"));
+            return regressions;
+        }
+        previous = previous.subList(Math.max(0, previous.size() - BASELINE_RUNS), previous.size());
+        double threshold = getRegressionThreshold().get();
+        for (String metric : List.of("native.startupMillis", "native.peakRssKb", "binarySize")) {
+            Double current = getMetric(report, metric);
+            List<Double> values = previous.stream()
+                    .map(entry -> getMetric(entry, metric))
+                    .filter(Objects::nonNull)
+                    .sorted()
+                    .collect(Collectors.toList());
+            if (current == null || values.isEmpty()) {
+                continue;
+            }
+            double baseline = values.get(values.size() / 2);
+            double change = baseline == 0 ? 0 : (current - baseline) * 100 / baseline;
+            String message = String.format(Locale.ROOT, "%s: %.1f, baseline %.1f (%+.1f%%, threshold %.1f%%)",
+                    metric, current, baseline, change, threshold);
+            getLogger().lifecycle("  {}", message);
+            if (change > threshold) {
+                regressions.add(message);
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * The value of a metric, or the median of a summarized metric
+     */
+    private static Double getMetric(Map<String, Object> report, String metric) {
+        Object value = report;
+        for (String key : metric.split("\\.")) {
+            value = value instanceof Map ? ((Map<?, ?>) value).get(key) : null;
+        }
+        if (value instanceof Map) {
+            value = ((Map<?, ?>) value).get("p50");
+        }
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
+    }
+}
@@ -34,6 +34,8 @@ import org.gradle.api.Project;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.TaskAction;
 
+import com.gluonhq.gradle.GluonFXPlugin;
+
 import javax.inject.Inject;
 
 @CacheableTask
@@ -41,11 +43,11 @@ public class NativeBuildTask extends DefaultTask {
 
     @Inject
     public NativeBuildTask(Project project) {
-        dependsOn(project.getTasks().findByName("nativeCompile"), project.getTasks().findByName("nativeLink"));
+        dependsOn(GluonFXPlugin.NATIVE_COMPILE_TASK_NAME, GluonFXPlugin.NATIVE_LINK_TASK_NAME);
     }
 
     @TaskAction
     public void action() {
-        getProject().getLogger().info("ClientNativeBuild action");
+        getLogger().info("ClientNativeBuild action");
     }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.gradle.tooling.events.FinishEvent;
+import org.gradle.tooling.events.OperationCompletionListener;
+import org.gradle.tooling.events.task.TaskFailureResult;
+import org.gradle.tooling.events.task.TaskFinishEvent;
+import org.gradle.tooling.events.task.TaskOperationResult;
+import org.gradle.tooling.events.task.TaskSkippedResult;
+import org.gradle.tooling.events.task.TaskSuccessResult;
+
+/**
+ * Collects the outcome of the cacheable GluonFX tasks during a build, and
+ * logs a summary of build cache hits and misses when the build finishes.
+ */
+public abstract class NativeCacheReportService implements BuildService<NativeCacheReportService.Params>,
+        OperationCompletionListener, AutoCloseable {
+
+    public static final String NAME = "gluonfxCacheReport";
+
+    private static final Logger LOGGER = Logging.getLogger(NativeCacheReportService.class);
+
+    /**
+     * The types of the tasks that are included in the report, with all their
+     * variants, like nativeCompileHost or nativeCompileInstrumented
+     */
+    private static final List<Class<? extends Task>> TASK_TYPES =
+            List.of(NativeCompileTask.class, NativeLinkTask.class, NativeProfileTask.class);
+
+    public interface Params extends BuildServiceParameters {
+
+        /**
+         * Paths of the tasks that are included in the report, from all the projects
+         */
+        SetProperty<String> getTaskPaths();
+    }
+
+    /**
+     * Registers the service, if it is not registered yet, and adds the tasks of the project
+     * that are included in the report. The tasks are found by type, without creating them.
+     *
+     * @param project the project
+     * @return the service
+     */
+    @SuppressWarnings("unchecked")
+    public static Provider<NativeCacheReportService> register(Project project) {
+        Provider<NativeCacheReportService> service = project.getGradle().getSharedServices()
+                .registerIfAbsent(NAME, NativeCacheReportService.class, spec -> {});
+        Params parameters = (Params) project.getGradle().getSharedServices().getRegistrations()
+                .getByName(NAME).getParameters();
+        parameters.getTaskPaths().addAll(project.provider(() -> TASK_TYPES.stream()
+                .flatMap(type -> project.getTasks().withType(type).getNames().stream())
+                .map(project::absoluteProjectPath)
+                .collect(Collectors.toSet())));
+        return service;
+    }
+
+    private final Map<String, String> outcomes = new TreeMap<>();
+    private Set<String> taskPaths;
+
+    @Override
+    public void onFinish(FinishEvent event) {
+        if (!(event instanceof TaskFinishEvent)) {
+            return;
+        }
+        String taskPath = ((TaskFinishEvent) event).getDescriptor().getTaskPath();
+        if (!getTaskPaths().contains(taskPath)) {
+            return;
+        }
+        String outcome = getOutcome(((TaskFinishEvent) event).getResult());
+        synchronized (outcomes) {
+            outcomes.put(taskPath, outcome);
+        }
+    }
+
+    private synchronized Set<String> getTaskPaths() {
+        if (taskPaths == null) {
+            taskPaths = getParameters().getTaskPaths().get();
+        }
+        return taskPaths;
+    }
+
+    @Override
+    public void close() {
+        synchronized (outcomes) {
+            if (outcomes.isEmpty()) {
+                return;
+            }
+            long hits = outcomes.values().stream().filter("FROM-CACHE"::equals).count();
+            long misses = outcomes.values().stream().filter("EXECUTED"::equals).count();
+            long upToDate = outcomes.values().stream().filter("UP-TO-DATE"::equals).count();
+            LOGGER.lifecycle("GluonFX build cache: {} hit(s), {} miss(es), {} up-to-date", hits, misses, upToDate);
+            outcomes.forEach((path, outcome) -> LOGGER.lifecycle("  {} {}", path, outcome));
+        }
+    }
+
+    private static String getOutcome(TaskOperationResult result) {
+        if (result instanceof TaskSuccessResult) {
+            TaskSuccessResult success = (TaskSuccessResult) result;
+            if (success.isFromCache()) {
+                return "FROM-CACHE";
+            }
+            return success.isUpToDate() ? "UP-TO-DATE" : "EXECUTED";
+        } else if (result instanceof TaskSkippedResult) {
+            return "SKIPPED";
+        } else if (result instanceof TaskFailureResult) {
+            return "FAILED";
+        }
+        return "UNKNOWN";
+    }
+}
@@ -29,23 +29,322 @@
  */
 package com.gluonhq.gradle.tasks;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import groovy.json.JsonSlurper;
+import org.gradle.api.GradleException;
 import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 
+import com.gluonhq.gradle.ClientExtension;
+import com.gluonhq.gradle.GluonFXPlugin;
+
 import javax.inject.Inject;
 
 @CacheableTask
-public class NativeCompileTask extends NativeBaseTask {
+public abstract class NativeCompileTask extends NativeBaseTask {
 
     @Inject
     public NativeCompileTask(Project project) {
         super(project);
+
+        getOutputDirectory().convention(getBuildRoot().dir(getTargetTriplet().map(triplet -> triplet + "/gvm/tmp")));
+        getReportFile().convention(getBuildRoot().file(getTargetTriplet().map(triplet -> triplet + "/gvm/native-image-report.json")));
+
+        ClientExtension clientExtension = project.getExtensions().getByType(ClientExtension.class);
+        getReachabilityFile().convention(clientExtension.getReachabilityAnalysis().flatMap(analysis -> analysis ?
+                project.getTasks().named(GluonFXPlugin.NATIVE_ANALYZE_TASK_NAME, NativeAnalyzeTask.class)
+                        .flatMap(NativeAnalyzeTask::getReachabilityFile) :
+                project.getObjects().fileProperty()));
+        getShrinkDirectory().convention(clientExtension.getClasspathShrinking().flatMap(shrinking -> shrinking ?
+                project.getTasks().named(GluonFXPlugin.NATIVE_SHRINK_TASK_NAME, NativeShrinkTask.class)
+                        .flatMap(NativeShrinkTask::getOutputDirectory) :
+                project.getObjects().directoryProperty()));
+        getResourceConfigFile().convention(clientExtension.getResourcePruning().flatMap(pruning -> pruning ?
+                project.getTasks().named(GluonFXPlugin.NATIVE_RESOURCES_TASK_NAME, NativeResourcesTask.class)
+                        .flatMap(NativeResourcesTask::getResourceConfigFile) :
+                project.getObjects().fileProperty()));
+        getProfileDirectory().convention(clientExtension.getPgoConfig().getEnabled().flatMap(enabled -> enabled ?
+                project.getTasks().named(GluonFXPlugin.NATIVE_PROFILE_TASK_NAME, NativeProfileTask.class)
+                        .flatMap(NativeProfileTask::getOutputDirectory) :
+                project.getObjects().directoryProperty()));
+        getSizeReport().convention(clientExtension.getSizeReport());
+        getClasspathCheck().convention(clientExtension.getClasspathCheck());
+        getClasspathIndexFile().convention(getBuildRoot().file(getTargetTriplet().map(triplet -> triplet + "/classpath-index.bin")));
+        getBuilderHeapSize().convention(clientExtension.getBuilderHeapSize());
+        getBuilderThreads().convention(clientExtension.getBuilderThreads());
+        Provider<Integer> maxParallelCompiles = clientExtension.getMaxParallelCompiles()
+                .orElse(project.provider(() -> BuilderResources.detect(getWorkerHeapSize().getOrNull()).getMaxParallelCompiles()));
+        getMaxParallelCompiles().convention(maxParallelCompiles);
+
+        Provider<NativeCompileAdmissionService> admissionService = project.getGradle().getSharedServices()
+                .registerIfAbsent(NativeCompileAdmissionService.NAME, NativeCompileAdmissionService.class,
+                        spec -> spec.getMaxParallelUsages().set(maxParallelCompiles));
+        usesService(admissionService);
     }
 
+    /**
+     * The directory where native-image places the compiled object file. The rest of the
+     * Substrate directory, like the logs, is not part of the outputs, so it doesn't end up
+     * in the build cache.
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    /**
+     * The object files and libraries in the output directory, that nativeLink links
+     */
+    @Internal
+    public FileTree getObjectFiles() {
+        return getOutputDirectory().getAsFileTree().matching(spec -> spec.include("**/*.o", "**/*.obj", "**/*.a", "**/*.lib"));
+    }
+
+    /**
+     * The JSON report with the timings, memory usage, reachable elements and size of
+     * the native image build
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    /**
+     * The lists found by nativeAnalyze, added to the ones of the configuration when
+     * the reachability analysis is enabled
+     */
+    @InputFile
+    @Optional
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getReachabilityFile();
+
+    /**
+     * The output of nativeShrink, used instead of the original dependency jars when
+     * classpath shrinking is enabled
+     */
+    @InputDirectory
+    @Optional
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getShrinkDirectory();
+
+    /**
+     * The resource configuration of nativeResources, used when resource pruning is enabled
+     */
+    @InputFile
+    @Optional
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getResourceConfigFile();
+
+    /**
+     * The profiles collected by nativeProfile, used for profile-guided optimization
+     * when it is enabled
+     */
+    @InputDirectory
+    @Optional
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getProfileDirectory();
+
+    /**
+     * Whether native-image dumps the size of each method and heap object type, for nativeSize
+     */
+    @Input
+    public abstract Property<Boolean> getSizeReport();
+
+    /**
+     * What to do when the classpath has duplicate classes or conflicting native-image
+     * configuration files: warn, fail or off
+     */
+    @Input
+    public abstract Property<String> getClasspathCheck();
+
+    /**
+     * The index of the classpath kept between builds, so only the jars that changed
+     * are read again
+     */
+    @Internal
+    public abstract RegularFileProperty getClasspathIndexFile();
+
+    /**
+     * Heap size of the native-image builder, derived from the available memory if not set
+     */
+    @Internal
+    public abstract Property<String> getBuilderHeapSize();
+
+    /**
+     * Threads of the native-image builder, derived from the available CPUs if not set
+     */
+    @Internal
+    public abstract Property<Integer> getBuilderThreads();
+
+    @Internal
+    public abstract Property<Integer> getMaxParallelCompiles();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
     @TaskAction
     public void action() {
-        getProject().getLogger().debug("ClientNativeCompile action");
-        new ConfigBuild(project).build();
+        getLogger().debug("ClientNativeCompile action");
+
+        // The builder settings don't change the result, so they are not part of the task inputs
+        BuilderResources resources = BuilderResources.detect(getWorkerHeapSize().getOrNull());
+        int parallelCompiles = getMaxParallelCompiles().get();
+        List<String> builderArgs = resources.getBuilderArgs(getCompilerArgs().get(),
+                getBuilderHeapSize().getOrNull(), getBuilderThreads().getOrNull(), parallelCompiles);
+        getLogger().lifecycle("Native image builder: {} ({}, up to {} parallel compilation(s))",
+                builderArgs.isEmpty() ? "settings from compilerArgs" : String.join(" ", builderArgs),
+                resources, parallelCompiles);
+        boolean derivedHeap = !getBuilderHeapSize().isPresent() && builderArgs.stream().anyMatch(arg -> arg.startsWith("-J-Xmx"));
+        if (derivedHeap && resources.isMemoryInsufficient(parallelCompiles)) {
+            getLogger().warn("The available memory is below the recommended {} MB for the native-image builder, " +
+                    "the compilation might fail or be killed", BuilderResources.MIN_BUILDER_HEAP / (1024 * 1024));
+        }
+
+        checkClasspath();
+        Map<String, List<String>> reachability = readReachabilityFile();
+        List<File> classpath = getShrunkClasspath();
+        List<String> pgoArgs = getPgoArgs();
+
+        // the object files of a previous compilation would end up in the outputs
+        getFileSystemOperations().delete(spec -> spec.delete(getOutputDirectory().get().getAsFileTree()));
+        submitWork(NativeWorkAction.COMPILE, parameters -> {
+            if (classpath != null) {
+                parameters.getClasspath().setFrom(classpath);
+            }
+            parameters.getReflectionList().addAll(reachability.getOrDefault("reflectionList", List.of()));
+            parameters.getJniList().addAll(reachability.getOrDefault("jniList", List.of()));
+            parameters.getResourcesList().addAll(reachability.getOrDefault("resourcesList", List.of()));
+            parameters.getBundlesList().addAll(reachability.getOrDefault("bundlesList", List.of()));
+            parameters.getCompilerArgs().addAll(builderArgs);
+            parameters.getCompilerArgs().addAll(pgoArgs);
+            if (getResourceConfigFile().isPresent()) {
+                parameters.getCompilerArgs().addAll(List.of("-H:+UnlockExperimentalVMOptions",
+                        "-H:ResourceConfigurationFiles=" + getResourceConfigFile().get().getAsFile().getAbsolutePath(),
+                        "-H:-UnlockExperimentalVMOptions"));
+            }
+            if (getSizeReport().get()) {
+                parameters.getCompilerArgs().addAll(List.of("-H:+UnlockExperimentalVMOptions",
+                        "-H:DashboardDump=" + getOutputDirectory().get().file(NativeSizeTask.DASHBOARD_DUMP).getAsFile().getAbsolutePath(),
+                        "-H:+DashboardCode", "-H:+DashboardHeap", "-H:-UnlockExperimentalVMOptions"));
+            }
+            parameters.getObjectDirectory().set(getOutputDirectory());
+            parameters.getLogDirectory().set(getBuildRoot().dir(getTargetTriplet().map(triplet -> triplet + "/gvm/log")));
+            parameters.getReportFile().set(getReportFile());
+        });
+    }
+
+    /**
+     * Checks the classpath for duplicate classes, split packages and conflicting
+     * native-image configuration files, before the substrate configuration is created
+     */
+    private void checkClasspath() {
+        String mode = getClasspathCheck().get();
+        if ("off".equals(mode)) {
+            return;
+        }
+        if (!"warn".equals(mode) && !"fail".equals(mode)) {
+            throw new GradleException("Invalid classpathCheck '" + mode + "', it should be one of warn, fail or off");
+        }
+        long start = System.nanoTime();
+        ClasspathIndex index;
+        try {
+            index = ClasspathIndex.update(getClasspathIndexFile().get().getAsFile().toPath(), getClasspath().getFiles());
+        } catch (IOException e) {
+            throw new GradleException("Error indexing the classpath", e);
+        }
+        Map<List<String>, List<String>> duplicates = index.getDuplicateClasses();
+        Map<List<String>, List<String>> splitPackages = index.getSplitPackages();
+        Map<List<String>, List<String>> conflicts = index.getConflictingConfigurations();
+        getLogger().info("Indexed {} classpath entries in {} ms, {} jar(s) read", index.getSize(),
+                (System.nanoTime() - start) / 1_000_000, index.getReindexed());
+
+        int duplicateCount = duplicates.values().stream().mapToInt(List::size).sum();
+        int conflictCount = conflicts.values().stream().mapToInt(List::size).sum();
+        if (duplicateCount == 0 && conflictCount == 0) {
+            splitPackages.forEach((jars, packages) ->
+                    getLogger().info("Split package(s) in {}: {}", String.join(", ", jars), String.join(", ", packages)));
+            return;
+        }
+        getLogger().warn("The classpath has {} duplicate class(es) and {} conflicting native-image configuration file(s), " +
+                "only the first one in the classpath is used", duplicateCount, conflictCount);
+        duplicates.forEach((jars, classes) -> getLogger().warn("  {} classes in {}, like {}",
+                classes.size(), String.join(", ", jars), classes.get(0)));
+        conflicts.forEach((jars, files) -> getLogger().warn("  {} in {}",
+                String.join(", ", files), String.join(", ", jars)));
+        splitPackages.forEach((jars, packages) -> getLogger().warn("  split package(s) in {}: {}",
+                String.join(", ", jars), String.join(", ", packages)));
+        if ("fail".equals(mode)) {
+            throw new GradleException("The classpath has duplicate classes or conflicting native-image configuration files, " +
+                    "see the log for details");
+        }
+    }
+
+    /**
+     * The argument that makes native-image use the profiles of nativeProfile, merged
+     */
+    private List<String> getPgoArgs() {
+        if (!getProfileDirectory().isPresent()) {
+            return List.of();
+        }
+        List<String> profiles = getProfileDirectory().getAsFileTree().matching(spec -> spec.include("*.iprof")).getFiles().stream()
+                .map(File::getAbsolutePath)
+                .sorted()
+                .collect(Collectors.toList());
+        if (profiles.isEmpty()) {
+            throw new GradleException("No profiles found in " + getProfileDirectory().get().getAsFile() + ", run nativeProfile first");
+        }
+        getLogger().lifecycle("Using {} profile(s) for profile-guided optimization", profiles.size());
+        return List.of("--pgo=" + String.join(",", profiles));
+    }
+
+    /**
+     * The classpath, with the dependency jars replaced by their shrunk versions
+     */
+    private List<File> getShrunkClasspath() {
+        if (!getShrinkDirectory().isPresent()) {
+            return null;
+        }
+        try {
+            Map<String, File> shrunkJars = ClasspathShrinker.readClasspathMap(getShrinkDirectory().get().getAsFile().toPath());
+            List<File> classpath = new ArrayList<>();
+            for (File file : getClasspath().getFiles()) {
+                File shrunk = file.isFile() ? shrunkJars.get(ClasspathShrinker.fingerprint(file)) : null;
+                classpath.add(shrunk != null ? shrunk : file);
+            }
+            getLogger().lifecycle("Using the shrunk classpath of {}", getShrinkDirectory().get().getAsFile());
+            return classpath;
+        } catch (IOException e) {
+            throw new GradleException("Error reading the shrunk classpath", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, List<String>> readReachabilityFile() {
+        if (!getReachabilityFile().isPresent()) {
+            return Map.of();
+        }
+        File file = getReachabilityFile().get().getAsFile();
+        Map<String, List<String>> reachability = (Map<String, List<String>>) new JsonSlurper().parse(file, StandardCharsets.UTF_8.name());
+        getLogger().lifecycle("Using the lists of {}", file);
+        return reachability;
     }
 }
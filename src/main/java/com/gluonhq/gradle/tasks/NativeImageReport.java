@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import groovy.json.JsonOutput;
+import org.gradle.api.logging.Logger;
+
+/**
+ * Telemetry of a native-image build, parsed from the output of the builder
+ * that Substrate logs for the compile step.
+ *
+ * Both the legacy output format ("[app:1234]   analysis:  31,100.00 ms")
+ * and the current one ("[2/8] Performing analysis...  (31.1s @ 1.20GB)")
+ * are supported.
+ */
+class NativeImageReport {
+
+    private static final Pattern LEGACY_PHASE = Pattern.compile(
+            "\\[[^\\]]+\\]\\s+\\(?\\[?([a-z]+)\\]?\\)?:\\s+([\\d,.]+) ms(?:,\\s+([\\d.]+) GB)?");
+    private static final Pattern STEP = Pattern.compile(
+            "\\[\\d+/\\d+\\] ([A-Za-z ]+?)\\.\\.\\..*\\(([\\d.]+)s @ ([\\d.]+)GB\\)");
+    private static final Pattern REACHABLE = Pattern.compile(
+            "([\\d,]+) \\([\\d.]+%\\) of\\s+[\\d,]+ (types|fields|methods) reachable");
+    private static final Pattern GC = Pattern.compile(
+            "([\\d.]+)s \\([\\d.]+% of total time\\) in (\\d+) GCs \\| Peak RSS: ([\\d.]+)GB");
+    private static final Pattern SIZE = Pattern.compile(
+            "([\\d.]+)([kMG]?B) \\([\\d.]+%\\) for (code area|image heap)");
+    private static final Pattern FINISHED = Pattern.compile(
+            "Finished generating '.*' in (?:(\\d+)m )?(\\d+(?:\\.\\d+)?)s");
+
+    private static final Map<String, String> STEP_PHASES = Map.of(
+            "Initializing", "setup",
+            "Performing analysis", "analysis",
+            "Building universe", "universe",
+            "Parsing methods", "parse",
+            "Inlining methods", "inline",
+            "Compiling methods", "compile",
+            "Laying out methods", "layout",
+            "Layouting methods", "layout",
+            "Creating image", "image",
+            "Writing image", "write");
+
+    private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+    private final Map<String, Long> reachable = new LinkedHashMap<>();
+    private boolean parsed;
+    private long totalMillis = -1;
+    private long peakRssBytes = -1;
+    private long gcMillis = -1;
+    private long gcCount = -1;
+    private long codeAreaBytes = -1;
+    private long imageHeapBytes = -1;
+    private long objectFileBytes = -1;
+
+    static NativeImageReport parse(List<String> lines) {
+        NativeImageReport report = new NativeImageReport();
+        report.parsed = true;
+        for (String line : lines) {
+            Matcher m;
+            if ((m = LEGACY_PHASE.matcher(line)).find()) {
+                long millis = Math.round(Double.parseDouble(m.group(2).replace(",", "")));
+                if ("total".equals(m.group(1))) {
+                    report.totalMillis = millis;
+                } else {
+                    report.phaseMillis.put(m.group(1), millis);
+                }
+                if (m.group(3) != null) {
+                    report.peakRssBytes = Math.max(report.peakRssBytes, toBytes(m.group(3), "GB"));
+                }
+            } else if ((m = STEP.matcher(line)).find()) {
+                String phase = STEP_PHASES.getOrDefault(m.group(1).trim(),
+                        m.group(1).trim().toLowerCase(Locale.ROOT).replace(' ', '-'));
+                report.phaseMillis.put(phase, Math.round(Double.parseDouble(m.group(2)) * 1000));
+                report.peakRssBytes = Math.max(report.peakRssBytes, toBytes(m.group(3), "GB"));
+            } else if ((m = REACHABLE.matcher(line)).find()) {
+                report.reachable.put(m.group(2), Long.parseLong(m.group(1).replace(",", "")));
+            } else if ((m = GC.matcher(line)).find()) {
+                report.gcMillis = Math.round(Double.parseDouble(m.group(1)) * 1000);
+                report.gcCount = Long.parseLong(m.group(2));
+                report.peakRssBytes = toBytes(m.group(3), "GB");
+            } else if ((m = SIZE.matcher(line)).find()) {
+                long bytes = toBytes(m.group(1), m.group(2));
+                if ("code area".equals(m.group(3))) {
+                    report.codeAreaBytes = bytes;
+                } else {
+                    report.imageHeapBytes = bytes;
+                }
+            } else if ((m = FINISHED.matcher(line)).find()) {
+                long minutes = m.group(1) == null ? 0 : Long.parseLong(m.group(1));
+                report.totalMillis = minutes * 60_000 + Math.round(Double.parseDouble(m.group(2)) * 1000);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Finds the log of the compile step in the log directory of the target, writes the
+     * report to the given file, and logs a summary. When the log can't be read, the
+     * report is written anyway, marked as not parsed, with the size of the object file.
+     *
+     * @param logDirectory the Substrate log directory of the target
+     * @param since the time the compile step started, older logs are ignored
+     * @param objectDirectory the directory that contains the object file
+     * @param reportFile the JSON file to write
+     * @param logger the logger for the summary
+     */
+    static void create(Path logDirectory, long since, Path objectDirectory, Path reportFile, Logger logger) {
+        Optional<Path> log = findLast(logDirectory, name -> name.startsWith("process-compile-") && name.endsWith(".log"))
+                .filter(p -> p.toFile().lastModified() >= since);
+        NativeImageReport report = new NativeImageReport();
+        if (log.isEmpty()) {
+            logger.warn("Native image build log not found in {}, the build report is not parsed", logDirectory);
+        } else {
+            try {
+                report = parse(Files.readAllLines(log.get(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                logger.warn("Error reading the native image build log, the build report is not parsed", e);
+            }
+        }
+        NativeImageReport result = report;
+        findLast(objectDirectory, name -> name.endsWith(".o") || name.endsWith(".obj"))
+                .ifPresent(o -> result.objectFileBytes = o.toFile().length());
+        try {
+            Files.createDirectories(reportFile.getParent());
+            Files.writeString(reportFile, report.toJson(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing the native image build report " + reportFile, e);
+        }
+        if (report.parsed) {
+            logger.lifecycle(report.getSummary());
+        }
+        logger.lifecycle("Native image build report: {}", reportFile);
+    }
+
+    String toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("parsed", parsed);
+        json.put("totalTimeMs", totalMillis);
+        json.put("phases", phaseMillis);
+        json.put("peakRssBytes", peakRssBytes);
+        Map<String, Object> gc = new LinkedHashMap<>();
+        gc.put("timeMs", gcMillis);
+        gc.put("count", gcCount);
+        json.put("gc", gc);
+        json.put("reachable", reachable);
+        Map<String, Object> imageSize = new LinkedHashMap<>();
+        imageSize.put("codeAreaBytes", codeAreaBytes);
+        imageSize.put("imageHeapBytes", imageHeapBytes);
+        imageSize.put("objectFileBytes", objectFileBytes);
+        json.put("imageSize", imageSize);
+        return JsonOutput.prettyPrint(JsonOutput.toJson(json)) + "\n";
+    }
+
+    String getSummary() {
+        String phases = phaseMillis.entrySet().stream()
+                .map(e -> e.getKey() + " " + formatSeconds(e.getValue()))
+                .collect(Collectors.joining(", "));
+        StringBuilder summary = new StringBuilder("Native image built");
+        if (totalMillis >= 0) {
+            summary.append(" in ").append(formatSeconds(totalMillis));
+        }
+        if (!phases.isEmpty()) {
+            summary.append(" (").append(phases).append(")");
+        }
+        if (peakRssBytes >= 0) {
+            summary.append(String.format(Locale.ROOT, ", peak RSS %.2f GB", peakRssBytes / (1024.0 * 1024 * 1024)));
+        }
+        if (!reachable.isEmpty()) {
+            summary.append(", reachable ").append(reachable.entrySet().stream()
+                    .map(e -> e.getValue() + " " + e.getKey())
+                    .collect(Collectors.joining(", ")));
+        }
+        if (objectFileBytes >= 0) {
+            summary.append(String.format(Locale.ROOT, ", object file %.2f MB", objectFileBytes / (1024.0 * 1024)));
+        }
+        return summary.toString();
+    }
+
+    static Optional<Path> findLast(Path root, Predicate<String> fileName) {
+        if (!Files.isDirectory(root)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(p -> fileName.test(p.getFileName().toString()))
+                    .max(Comparator.comparingLong(p -> p.toFile().lastModified()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long toBytes(String value, String unit) {
+        double number = Double.parseDouble(value);
+        switch (unit) {
+            case "GB":
+                return Math.round(number * 1024 * 1024 * 1024);
+            case "MB":
+                return Math.round(number * 1024 * 1024);
+            case "kB":
+                return Math.round(number * 1024);
+            default:
+                return Math.round(number);
+        }
+    }
+
+    private static String formatSeconds(long millis) {
+        return String.format(Locale.ROOT, "%.1f s", millis / 1000.0);
+    }
+}
@@ -39,7 +39,7 @@ import org.gradle.api.tasks.TaskAction;
 import com.gluonhq.substrate.SubstrateDispatcher;
 
 @CacheableTask
-public class NativeInstallTask extends NativeBaseTask {
+public abstract class NativeInstallTask extends NativeBaseTask {
     @Inject
     public NativeInstallTask(Project project) {
         super(project);
@@ -47,11 +47,11 @@ public class NativeInstallTask extends NativeBaseTask {
 
     @TaskAction
     public void action() {
-        getProject().getLogger().info("ClientNativeInstall action");
+        getLogger().info("ClientNativeInstall action");
 
         boolean result;
         try {
-            SubstrateDispatcher dispatcher = new ConfigBuild(project).createSubstrateDispatcher();
+            SubstrateDispatcher dispatcher = new ConfigBuild(this).createSubstrateDispatcher();
             result = dispatcher.nativeInstall();
         } catch (Exception e) {
             throw new GradleException("Failed to install", e);
@@ -29,36 +29,171 @@
  */
 package com.gluonhq.gradle.tasks;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.inject.Inject;
 
-import org.gradle.api.GradleException;
 import org.gradle.api.Project;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.ConfigurableFileTree;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 
-import com.gluonhq.substrate.SubstrateDispatcher;
+import com.gluonhq.gradle.GluonFXPlugin;
+import com.gluonhq.substrate.Constants;
 
+/**
+ * Links the object file of nativeCompile with the static libraries of the Java and
+ * JavaFX SDKs. The task is skipped, or taken from the build cache, when the object
+ * file, the static libraries and the linker arguments haven't changed.
+ */
 @CacheableTask
-public class NativeLinkTask extends NativeBaseTask {
+public abstract class NativeLinkTask extends NativeBaseTask {
+
+    private static final String[] LIBRARY_PATTERNS = {"**/*.a", "**/*.lib", "**/*.o", "**/*.obj"};
+
     @Inject
     public NativeLinkTask(Project project) {
         super(project);
+
+        getObjectFiles().from(project.getTasks().named(GluonFXPlugin.NATIVE_COMPILE_TASK_NAME, NativeCompileTask.class)
+                .map(NativeCompileTask::getObjectFiles));
+        getStaticLibraries().from(getTargetTriplet().map(triplet -> getStaticLibraries(project.getObjects(), triplet)));
+        getApplicationDirectory().convention(getBuildRoot().dir(getTargetTriplet().zip(getAppName(),
+                (triplet, appName) -> triplet + "/" + appName)));
+
+        // On Android, the linked library is written to the directory of nativeCompile
+        getOutputs().upToDateWhen(task -> !Constants.PROFILE_ANDROID.equals(getTarget().get()));
+        getOutputs().cacheIf("The target is not android", task -> !Constants.PROFILE_ANDROID.equals(getTarget().get()));
     }
 
+    /**
+     * The object files and libraries created by the compilation
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    @IgnoreEmptyDirectories
+    public abstract ConfigurableFileCollection getObjectFiles();
+
+    /**
+     * The static libraries of the Java and JavaFX SDKs for the target, wherever they are
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    @IgnoreEmptyDirectories
+    public abstract ConfigurableFileCollection getStaticLibraries();
+
+    @Input
+    @Override
+    public abstract ListProperty<String> getLinkerArgs();
+
+    // The inputs of the compilation are already in the object files and the static
+    // libraries: a change that doesn't modify them reuses the linked application
+
+    @Internal
+    @Override
+    public abstract ConfigurableFileCollection getClasspath();
+
+    @Internal
+    @Override
+    public abstract Property<String> getMainClass();
+
+    @Internal
+    @Override
+    public abstract ListProperty<String> getBundlesList();
+
+    @Internal
+    @Override
+    public abstract ListProperty<String> getResourcesList();
+
+    @Internal
+    @Override
+    public abstract ListProperty<String> getReflectionList();
+
+    @Internal
+    @Override
+    public abstract ListProperty<String> getJniList();
+
+    @Internal
+    @Override
+    public abstract ListProperty<String> getCompilerArgs();
+
+    @Internal
+    @Override
+    public abstract Property<String> getJavaStaticSdkVersion();
+
+    @Internal
+    @Override
+    public abstract Property<String> getJavafxStaticSdkVersion();
+
+    @Internal
+    @Override
+    public abstract Property<String> getGraalvmVersion();
+
+    /**
+     * The directory of the linked application
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getApplicationDirectory();
+
     @TaskAction
     public void action() {
-        getProject().getLogger().info("ClientNativeLink action");
-
-        boolean result;
-        try {
-            SubstrateDispatcher dispatcher = new ConfigBuild(project).createSubstrateDispatcher();
-            result = dispatcher.nativeLink();
-        } catch (Exception e) {
-            throw new GradleException("Failed to link", e);
-        }
+        getLogger().info("ClientNativeLink action");
+
+        submitWork(NativeWorkAction.LINK);
+    }
 
-        if (!result) {
-            throw new GradleException("Linking failed");
+    /**
+     * The static libraries of the JavaFX and Java static SDKs downloaded by Substrate, and
+     * of GraalVM, for the given target
+     */
+    private List<FileTree> getStaticLibraries(ObjectFactory objectFactory, String triplet) {
+        String osArch = getOsArch(triplet);
+        List<File> roots = new ArrayList<>();
+        roots.add(StaticSdkCache.Kind.JAVAFX.getDirectory(Constants.USER_SUBSTRATE_PATH,
+                getJavafxStaticSdkVersion().getOrElse(Constants.DEFAULT_JAVAFX_STATIC_SDK_VERSION), osArch).toFile());
+        // like installStaticSdks, the Java static SDK is only used when its version is set
+        if (getJavaStaticSdkVersion().isPresent()) {
+            roots.add(StaticSdkCache.Kind.JAVA.getDirectory(Constants.USER_SUBSTRATE_PATH,
+                    getJavaStaticSdkVersion().get(), osArch).toFile());
+        }
+        String graalvmHome = getGraalvmHome().getOrNull();
+        if (graalvmHome != null) {
+            // all the libc variants, like glibc and musl, are in subdirectories
+            roots.add(new File(graalvmHome, "lib/static/" + getGraalvmOsArch(triplet)));
         }
+        List<FileTree> libraries = new ArrayList<>();
+        for (File root : roots) {
+            ConfigurableFileTree tree = objectFactory.fileTree().from(root);
+            tree.include(LIBRARY_PATTERNS);
+            libraries.add(tree);
+        }
+        return libraries;
+    }
+
+    /**
+     * GraalVM names the directory of its static libraries like the JDK does, with amd64
+     * instead of x86_64
+     *
+     * @param triplet the target triplet, like x86_64-linux
+     * @return the target as os-arch, like linux-amd64
+     */
+    static String getGraalvmOsArch(String triplet) {
+        String osArch = getOsArch(triplet);
+        return osArch.endsWith("-x86_64") ? osArch.substring(0, osArch.length() - "x86_64".length()) + "amd64" : osArch;
     }
 }
@@ -39,7 +39,7 @@ import org.gradle.api.tasks.TaskAction;
 import com.gluonhq.substrate.SubstrateDispatcher;
 
 @CacheableTask
-public class NativePackageTask extends NativeBaseTask {
+public abstract class NativePackageTask extends NativeBaseTask {
     @Inject
     public NativePackageTask(Project project) {
         super(project);
@@ -47,11 +47,11 @@ public class NativePackageTask extends NativeBaseTask {
 
     @TaskAction
     public void action() {
-        getProject().getLogger().info("ClientNativePackage action");
+        getLogger().info("ClientNativePackage action");
 
         boolean result;
         try {
-            SubstrateDispatcher dispatcher = new ConfigBuild(project).createSubstrateDispatcher();
+            SubstrateDispatcher dispatcher = new ConfigBuild(this).createSubstrateDispatcher();
             result = dispatcher.nativePackage();
         } catch (Exception e) {
             throw new GradleException("Failed to package", e);
@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.inject.Inject;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+import com.gluonhq.gradle.ClientExtension;
+import com.gluonhq.substrate.Constants;
+
+import groovy.json.JsonOutput;
+
+/**
+ * Fetches and validates, in parallel, everything that the configured targets need
+ * before a native build: the static SDKs of each target, through the static SDK cache,
+ * the Attach artifacts of each target, and the GraalVM installation. It reports what
+ * was already available, what was downloaded and what is missing, and fails if anything
+ * is missing.
+ */
+public abstract class NativePrepareTask extends DefaultTask {
+
+    private static final int MAX_THREADS = 4;
+
+    @Inject
+    public NativePrepareTask(Project project) {
+        ClientExtension clientExtension = project.getExtensions().getByType(ClientExtension.class);
+        getTargets().convention(clientExtension.getTarget().zip(clientExtension.getTargets(), (target, targets) -> {
+            Set<String> all = new LinkedHashSet<>();
+            all.add(target);
+            all.addAll(targets);
+            return new ArrayList<>(all);
+        }));
+        getJavaStaticSdkVersion().convention(clientExtension.getJavaStaticSdkVersion());
+        getJavafxStaticSdkVersion().convention(clientExtension.getJavafxStaticSdkVersion());
+        getGraalvmHome().convention(clientExtension.getGraalvmHome()
+                .orElse(project.getProviders().environmentVariable("GRAALVM_HOME")));
+        getReportFile().convention(project.getLayout().getBuildDirectory().file(Constants.GLUONFX_PATH + "/prepare.json"));
+
+        Provider<StaticSdkCacheService> sdkCacheService = StaticSdkCacheService.register(project);
+        getSdkCacheService().set(sdkCacheService);
+        usesService(sdkCacheService);
+
+        doNotTrackState("Checks the machine-wide caches and the GraalVM installation each time it runs");
+    }
+
+    /**
+     * The target of the gluonfx extension, and the additional targets
+     */
+    @Internal
+    public abstract ListProperty<String> getTargets();
+
+    @Internal
+    @Optional
+    public abstract Property<String> getJavaStaticSdkVersion();
+
+    @Internal
+    @Optional
+    public abstract Property<String> getJavafxStaticSdkVersion();
+
+    @Internal
+    public abstract Property<String> getGraalvmHome();
+
+    /**
+     * The Attach artifacts of all the targets, resolved when the task runs
+     */
+    @Internal
+    public abstract ListProperty<ResolvedArtifactResult> getAttachArtifacts();
+
+    @Internal
+    public abstract Property<StaticSdkCacheService> getSdkCacheService();
+
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    @TaskAction
+    public void action() throws IOException {
+        StaticSdkCacheService service = getSdkCacheService().get();
+        List<String> missing = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(MAX_THREADS);
+        try {
+            List<Future<Map<String, Object>>> sdks = new ArrayList<>();
+            for (String target : getTargets().get()) {
+                String osArch = NativeBaseTask.getOsArch(ConfigBuild.toTriplet(target).getArchOs());
+                sdks.add(executor.submit(prepareSdk(service, StaticSdkCache.Kind.JAVAFX, target,
+                        getJavafxStaticSdkVersion().getOrElse(Constants.DEFAULT_JAVAFX_STATIC_SDK_VERSION), osArch, missing)));
+                if (getJavaStaticSdkVersion().isPresent()) {
+                    sdks.add(executor.submit(prepareSdk(service, StaticSdkCache.Kind.JAVA, target,
+                            getJavaStaticSdkVersion().get(), osArch, missing)));
+                }
+            }
+            Future<Map<String, Object>> graalvm = executor.submit(() -> checkGraalvm(missing));
+
+            // Gradle resolves the artifacts on this thread, meanwhile the SDKs are downloaded
+            List<Future<Map<String, Object>>> attach = new ArrayList<>();
+            try {
+                for (ResolvedArtifactResult artifact : getAttachArtifacts().get()) {
+                    attach.add(executor.submit(() -> describeArtifact(artifact)));
+                }
+            } catch (RuntimeException e) {
+                missing.add("Attach artifacts: " + e.getMessage());
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("graalvm", await(graalvm));
+            report.put("sdks", awaitAll(sdks));
+            report.put("attach", awaitAll(attach));
+            report.put("missing", new ArrayList<>(missing));
+            log(report);
+
+            Path reportFile = getReportFile().get().getAsFile().toPath();
+            Files.createDirectories(reportFile.getParent());
+            Files.writeString(reportFile, JsonOutput.prettyPrint(JsonOutput.toJson(report)), StandardCharsets.UTF_8);
+        } finally {
+            executor.shutdownNow();
+        }
+        if (!missing.isEmpty()) {
+            throw new GradleException("The native build is not ready:\n  " + String.join("\n  ", missing));
+        }
+    }
+
+    private Callable<Map<String, Object>> prepareSdk(StaticSdkCacheService service, StaticSdkCache.Kind kind,
+            String target, String version, String osArch, List<String> missing) {
+        return () -> {
+            Map<String, Object> sdk = new LinkedHashMap<>();
+            sdk.put("target", target);
+            sdk.put("sdk", kind.name().toLowerCase(Locale.ROOT));
+            sdk.put("version", version);
+            sdk.put("osArch", osArch);
+            try {
+                if (!service.isEnabled()) {
+                    // without the cache, Substrate downloads the SDK when the build needs it
+                    Path directory = kind.getDirectory(Constants.USER_SUBSTRATE_PATH, version, osArch);
+                    if (Files.isDirectory(directory)) {
+                        sdk.put("status", "installed");
+                        sdk.put("path", directory.toString());
+                    } else if (service.isOffline()) {
+                        sdk.put("status", "missing");
+                        missing.add(kind.name().toLowerCase(Locale.ROOT) + " static SDK " + version + " for " + osArch + " (offline)");
+                    } else {
+                        sdk.put("status", "deferred");
+                    }
+                    return sdk;
+                }
+                if (service.isInstalled(kind, version, osArch, getLogger())) {
+                    sdk.put("status", "cached");
+                } else if (service.isOffline()) {
+                    sdk.put("status", "missing");
+                    missing.add(kind.name().toLowerCase(Locale.ROOT) + " static SDK " + version + " for " + osArch + " (offline)");
+                    return sdk;
+                } else {
+                    sdk.put("status", "downloaded");
+                }
+                sdk.put("path", service.install(kind, version, osArch, getLogger()).toString());
+            } catch (IOException e) {
+                sdk.put("status", "missing");
+                missing.add(kind.name().toLowerCase(Locale.ROOT) + " static SDK " + version + " for " + osArch + ": " + e.getMessage());
+            }
+            return sdk;
+        };
+    }
+
+    /**
+     * Checks that GraalVM is installed, with native-image, as Substrate expects it
+     */
+    private Map<String, Object> checkGraalvm(List<String> missing) throws IOException {
+        Map<String, Object> graalvm = new LinkedHashMap<>();
+        Path home;
+        try {
+            home = ConfigBuild.getGraalHome(getGraalvmHome().getOrNull());
+        } catch (GradleException e) {
+            missing.add(e.getMessage());
+            return graalvm;
+        }
+        graalvm.put("home", home.toString());
+        if (!Files.isDirectory(home)) {
+            missing.add("GraalVM installation directory " + home);
+            return graalvm;
+        }
+        Path bin = home.resolve("bin");
+        boolean nativeImage = Files.exists(bin.resolve("native-image")) || Files.exists(bin.resolve("native-image.cmd"))
+                || Files.exists(bin.resolve("native-image.exe"));
+        graalvm.put("nativeImage", nativeImage);
+        if (!nativeImage) {
+            missing.add("native-image in " + bin);
+        }
+        Path releaseFile = home.resolve("release");
+        if (Files.isRegularFile(releaseFile)) {
+            Properties release = new Properties();
+            try (InputStream in = Files.newInputStream(releaseFile)) {
+                release.load(in);
+            }
+            for (String key : List.of("JAVA_VERSION", "IMPLEMENTOR", "GRAALVM_VERSION")) {
+                if (release.containsKey(key)) {
+                    graalvm.put(key, release.getProperty(key).replace("\"", ""));
+                }
+            }
+        } else {
+            getLogger().warn("GraalVM at {} has no release file", home);
+        }
+        return graalvm;
+    }
+
+    /**
+     * The identity of a resolved artifact, with the SHA-256 of its content as a fingerprint
+     * to compare what different machines resolved. It is not a verification: Gradle verifies
+     * the artifacts when dependency verification is enabled.
+     */
+    private static Map<String, Object> describeArtifact(ResolvedArtifactResult artifact) throws IOException {
+        File file = artifact.getFile();
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", artifact.getId().getComponentIdentifier().getDisplayName());
+        description.put("file", file.getName());
+        description.put("sha256", StaticSdkCache.toHex(digest.digest()));
+        return description;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void log(Map<String, Object> report) {
+        Map<String, Object> graalvm = (Map<String, Object>) report.get("graalvm");
+        if (graalvm.containsKey("home")) {
+            getLogger().lifecycle("GraalVM {} {}", graalvm.get("home"), graalvm.getOrDefault("JAVA_VERSION", ""));
+        }
+        for (Map<String, Object> sdk : (List<Map<String, Object>>) report.get("sdks")) {
+            getLogger().lifecycle("  {} {} static SDK {} for {}", String.format("%-10s", sdk.get("status")),
+                    sdk.get("sdk"), sdk.get("version"), sdk.get("osArch"));
+        }
+        for (Map<String, Object> artifact : (List<Map<String, Object>>) report.get("attach")) {
+            getLogger().lifecycle("  {} {}", String.format("%-10s", "resolved"), artifact.get("id"));
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GradleException("Interrupted while preparing the native build", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new GradleException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static <T> List<T> awaitAll(List<Future<T>> futures) throws IOException {
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(await(future));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import com.gluonhq.gradle.ClientExtension;
+import com.gluonhq.gradle.GluonFXPlugin;
+import com.gluonhq.gradle.PgoConfiguration;
+import com.gluonhq.gradle.PgoWorkload;
+import com.gluonhq.substrate.Constants;
+
+/**
+ * Runs the application instrumented by nativeCompileInstrumented over the configured
+ * workloads, and collects a profile of each one for nativeCompile.
+ *
+ * The profiles depend on the instrumented application, the run settings and the
+ * workloads, so they are stored in the build cache and reused for the same application.
+ */
+@CacheableTask
+public abstract class NativeProfileTask extends NativeBaseTask {
+
+    private static final String DEFAULT_WORKLOAD = "default";
+
+    @Inject
+    public NativeProfileTask(Project project) {
+        super(project);
+
+        PgoConfiguration pgoConfig = project.getExtensions().getByType(ClientExtension.class).getPgoConfig();
+        getHeadless().convention(pgoConfig.getHeadless());
+        getRunTimeout().convention(pgoConfig.getRunTimeout());
+        getWorkloads().convention(project.provider(() -> new ArrayList<>(pgoConfig.getWorkloads())));
+        getExecutable().convention(project.getTasks().named(GluonFXPlugin.NATIVE_LINK_INSTRUMENTED_TASK_NAME, NativeLinkTask.class)
+                .flatMap(link -> link.getApplicationDirectory().file(link.getTargetTriplet().zip(link.getAppName(),
+                        NativeBaseTask::getExecutableName))));
+        getOutputDirectory().convention(project.getLayout().getBuildDirectory().dir(Constants.GLUONFX_PATH + "/profiles"));
+        getWorkingDirectory().convention(project.getLayout().getProjectDirectory());
+    }
+
+    @Input
+    public abstract Property<Boolean> getHeadless();
+
+    /**
+     * Maximum time of each workload, in seconds
+     */
+    @Internal
+    public abstract Property<Integer> getRunTimeout();
+
+    @Nested
+    public abstract ListProperty<PgoWorkload> getWorkloads();
+
+    /**
+     * The instrumented application linked by nativeLinkInstrumented. Its content is an
+     * input, so a change of the linker arguments also collects new profiles.
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getExecutable();
+
+    @Internal
+    public abstract DirectoryProperty getWorkingDirectory();
+
+    /**
+     * The directory with a profile for each workload
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    @TaskAction
+    public void action() {
+        getLogger().info("ClientNativeProfile action");
+
+        File executable = getExecutable().get().getAsFile();
+        Path outputPath = getOutputDirectory().get().getAsFile().toPath();
+        getFileSystemOperations().delete(spec -> spec.delete(getOutputDirectory().get().getAsFileTree()));
+
+        // the instrumented application writes its profile when it exits
+        BenchmarkRunner runner = new BenchmarkRunner(null, Duration.ofSeconds(getRunTimeout().get()));
+        File workingDirectory = getWorkingDirectory().get().getAsFile();
+        List<PgoWorkload> workloads = getWorkloads().get();
+        try {
+            // the application doesn't create the directory of its profile
+            Files.createDirectories(outputPath);
+            if (workloads.isEmpty()) {
+                runWorkload(runner, executable, DEFAULT_WORKLOAD, List.of(), outputPath, workingDirectory);
+            }
+            for (PgoWorkload workload : workloads) {
+                runWorkload(runner, executable, workload.getName(), workload.getArgs().get(), outputPath, workingDirectory);
+            }
+        } catch (IOException e) {
+            throw new GradleException("Error running the instrumented application: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GradleException("The profiling was interrupted", e);
+        }
+        getLogger().lifecycle("Profiles written to {}", outputPath);
+    }
+
+    private void runWorkload(BenchmarkRunner runner, File executable, String name, List<String> args,
+                             Path outputPath, File workingDirectory) throws IOException, InterruptedException {
+        Path profile = outputPath.resolve(name + ".iprof");
+        List<String> command = new ArrayList<>();
+        command.add(executable.getAbsolutePath());
+        command.add("-XX:ProfilesDumpFile=" + profile);
+        if (getHeadless().get()) {
+            command.addAll(ApplicationRun.HEADLESS_JVM_ARGS);
+        }
+        command.addAll(args);
+        getLogger().lifecycle("Running workload {}", name);
+        BenchmarkRunner.Sample sample = runner.run(command, workingDirectory);
+        if (!profile.toFile().exists()) {
+            throw new GradleException("Workload " + name + " didn't write a profile, " +
+                    "check that the application was built with Oracle GraalVM and exits normally");
+        }
+        getLogger().lifecycle("Workload {} finished in {} ms", name, Math.round(sample.startupMillis));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import groovy.json.JsonSlurper;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskAction;
+
+import com.gluonhq.gradle.ClientExtension;
+import com.gluonhq.gradle.GluonFXPlugin;
+import com.gluonhq.substrate.Constants;
+
+/**
+ * Lists the resources that are embedded in the native image, with their source and
+ * size, and creates a resource configuration with only the ones that the application
+ * references.
+ */
+@CacheableTask
+public abstract class NativeResourcesTask extends DefaultTask {
+
+    private static final int SUMMARY_SIZE = 10;
+
+    @Inject
+    public NativeResourcesTask(Project project) {
+        project.getPlugins().withType(JavaPlugin.class, javaPlugin -> {
+            SourceSetContainer sourceSetContainer = project.getExtensions().getByType(SourceSetContainer.class);
+            SourceSet mainSourceSet = sourceSetContainer.getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+            getClasspath().from(mainSourceSet.getRuntimeClasspath());
+        });
+        ClientExtension clientExtension = project.getExtensions().getByType(ClientExtension.class);
+        getResourcesList().convention(clientExtension.getResourcesList());
+        getReachabilityFile().convention(project.getTasks()
+                .named(GluonFXPlugin.NATIVE_ANALYZE_TASK_NAME, NativeAnalyzeTask.class)
+                .flatMap(NativeAnalyzeTask::getReachabilityFile));
+        getReportFile().convention(project.getLayout().getBuildDirectory()
+                .file(Constants.GLUONFX_PATH + "/analysis/resources.txt"));
+        getResourceConfigFile().convention(project.getLayout().getBuildDirectory()
+                .file(Constants.GLUONFX_PATH + "/analysis/resource-config.json"));
+    }
+
+    @Classpath
+    public abstract ConfigurableFileCollection getClasspath();
+
+    @Input
+    public abstract ListProperty<String> getResourcesList();
+
+    /**
+     * The output of nativeAnalyze, with the resources referenced by the application
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getReachabilityFile();
+
+    /**
+     * The list of embedded resources, larger first
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    /**
+     * A resource configuration that includes only the referenced resources, used by
+     * nativeCompile when resource pruning is enabled
+     */
+    @OutputFile
+    public abstract RegularFileProperty getResourceConfigFile();
+
+    @TaskAction
+    @SuppressWarnings("unchecked")
+    public void action() {
+        EmbeddedResources embeddedResources = new EmbeddedResources(getResourcesList().get());
+        Set<String> referenced;
+        List<EmbeddedResources.Resource> resources;
+        try {
+            Map<String, List<String>> reachability = (Map<String, List<String>>) new JsonSlurper()
+                    .parse(getReachabilityFile().get().getAsFile(), StandardCharsets.UTF_8.name());
+            referenced = new HashSet<>(reachability.getOrDefault("resourcesList", List.of()));
+            resources = embeddedResources.list(getClasspath().getFiles());
+        } catch (UncheckedIOException e) {
+            throw new GradleException("Error listing the embedded resources", e);
+        }
+
+        long totalBytes = 0;
+        long prunedBytes = 0;
+        int pruned = 0;
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT, "%12s  %-10s  %s%n", "BYTES", "STATUS", "RESOURCE (SOURCE)"));
+        for (EmbeddedResources.Resource resource : resources) {
+            String status;
+            if (ReachabilityAnalyzer.isPlatformResource(resource.path)) {
+                status = "platform";
+            } else if (referenced.contains(resource.path)) {
+                status = "referenced";
+            } else {
+                status = "unused";
+                pruned++;
+                prunedBytes += resource.size;
+            }
+            totalBytes += resource.size;
+            report.append(String.format(Locale.ROOT, "%12d  %-10s  %s (%s)%n", resource.size, status, resource.path, resource.source));
+        }
+
+        try {
+            Files.writeString(getReportFile().get().getAsFile().toPath(), report, StandardCharsets.UTF_8);
+            Files.writeString(getResourceConfigFile().get().getAsFile().toPath(),
+                    embeddedResources.toResourceConfig(referenced), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new GradleException("Error writing the resources report", e);
+        }
+
+        getLogger().lifecycle("Embedded resources: {} file(s), {}; {} not referenced, {}",
+                resources.size(), SizeBreakdown.format(totalBytes), pruned, SizeBreakdown.format(prunedBytes));
+        resources.stream().limit(SUMMARY_SIZE).forEach(resource ->
+                getLogger().lifecycle("  {}  {} ({})", SizeBreakdown.format(resource.size), resource.path, resource.source));
+        getLogger().lifecycle("Resources report: {}", getReportFile().get().getAsFile());
+    }
+}
@@ -29,33 +29,56 @@
  */
 package com.gluonhq.gradle.tasks;
 
+import com.gluonhq.gradle.AgentConfiguration;
+import com.gluonhq.gradle.AgentScenario;
 import com.gluonhq.gradle.ClientExtension;
 import org.gradle.api.GradleException;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
 import org.gradle.api.plugins.ApplicationPlugin;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
 import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.JavaExec;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.options.Option;
+import org.gradle.workers.WorkQueue;
 
 import javax.inject.Inject;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 @CacheableTask
-public class NativeRunAgentTask extends NativeBaseTask {
+public abstract class NativeRunAgentTask extends NativeBaseTask {
 
     private static final String AGENTLIB_NATIVE_IMAGE_AGENT_STRING =
-            "-agentlib:native-image-agent=access-filter-file=src/main/resources/META-INF/native-image/filter-file.json,config-merge-dir=src/main/resources/META-INF/native-image";
+            "-agentlib:native-image-agent=access-filter-file=%s,config-output-dir=%s";
+    private static final String AGENTLIB_CALLER_FILTER_STRING = "caller-filter-file=%s";
 
     private static final List<String> AGENTLIB_EXCLUSION_RULES = Arrays.asList(
             "com.sun.glass.ui.mac.*", "com.sun.glass.ui.gtk.*", "com.sun.glass.ui.win.*",
@@ -64,14 +87,41 @@ public class NativeRunAgentTask extends NativeBaseTask {
             "com.gluonhq.attach.**"
     );
 
-    private final ClientExtension clientExtension;
+    /**
+     * Groups of the dependencies that are never excluded by the automatic caller filter
+     */
+    private static final List<String> AUTO_CALLER_FILTER_KEPT_GROUPS = Arrays.asList("org.openjfx", "com.gluonhq");
 
     private String applicationArgs = "";
 
     @Inject
     public NativeRunAgentTask(Project project) {
         super(project);
-        clientExtension = project.getExtensions().getByType(ClientExtension.class);
+
+        getAgentConfigDirectory().convention(project.getLayout().getProjectDirectory().dir("src/main/resources/META-INF/native-image"));
+        getSessionDirectory().convention(project.getLayout().getBuildDirectory().dir("gluonfx/agent/session"));
+        ClientExtension clientExtension = project.getExtensions().getByType(ClientExtension.class);
+        getAgentMode().convention(clientExtension.getAgentMode());
+        AgentConfiguration agentConfig = clientExtension.getAgentConfig();
+        getAccessFilterIncludes().convention(agentConfig.getAccessFilterIncludes());
+        getAccessFilterExcludes().convention(agentConfig.getAccessFilterExcludes());
+        getCallerFilterIncludes().convention(agentConfig.getCallerFilterIncludes());
+        getCallerFilterExcludes().convention(agentConfig.getCallerFilterExcludes());
+        getAutoCallerFilter().convention(agentConfig.getAutoCallerFilter());
+        getHeadless().convention(agentConfig.getHeadless());
+        getScenarios().convention(project.provider(() -> new ArrayList<>(agentConfig.getScenarios())));
+        getHeadlessClasspath().from(ApplicationRun.getHeadlessClasspath(project, getHeadless(), agentConfig.getMonocleVersion()));
+
+        project.getPlugins().withType(JavaPlugin.class, javaPlugin -> {
+            Configuration runtimeClasspath = project.getConfigurations().getByName(JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME);
+            getRuntimeDependencies().convention(runtimeClasspath.getIncoming().getResolutionResult().getRootComponent());
+            getRuntimeArtifacts().convention(runtimeClasspath.getIncoming().getArtifacts().getResolvedArtifacts());
+        });
+
+        ApplicationRun.useRunTaskSettings(project, getJvmArgs(), getWorkingDirectory());
+        project.getPlugins().withType(ApplicationPlugin.class, applicationPlugin ->
+                getMainModule().convention(project.getTasks().named(ApplicationPlugin.TASK_RUN_NAME, JavaExec.class)
+                        .flatMap(JavaExec::getMainModule)));
     }
 
     @Option(option = "args", description = "Arguments to pass to the application")
@@ -84,92 +134,263 @@ public class NativeRunAgentTask extends NativeBaseTask {
         return applicationArgs;
     }
 
+    @Input
+    @Optional
+    public abstract Property<String> getMainModule();
+
+    /**
+     * JVM arguments of the application run task
+     */
+    @Input
+    public abstract ListProperty<String> getJvmArgs();
+
+    @Internal
+    public abstract DirectoryProperty getWorkingDirectory();
+
+    /**
+     * The directory where the tracing agent writes the native-image configuration files
+     */
+    @Internal
+    public abstract DirectoryProperty getAgentConfigDirectory();
+
+    /**
+     * The directory where the tracing agent writes the configuration of a single run,
+     * before it is merged into the agent configuration directory
+     */
+    @Internal
+    public abstract DirectoryProperty getSessionDirectory();
+
+    /**
+     * How the configuration of the run is merged with the existing one: fresh,
+     * accumulate or prune
+     */
+    @Input
+    @Option(option = "mode", description = "How to merge the agent output: fresh, accumulate or prune")
+    public abstract Property<String> getAgentMode();
+
+    @Input
+    public abstract ListProperty<String> getAccessFilterIncludes();
+
+    @Input
+    public abstract ListProperty<String> getAccessFilterExcludes();
+
+    @Input
+    public abstract ListProperty<String> getCallerFilterIncludes();
+
+    @Input
+    public abstract ListProperty<String> getCallerFilterExcludes();
+
+    @Input
+    public abstract Property<Boolean> getAutoCallerFilter();
+
+    /**
+     * Runs the application with Monocle headless and software rendering
+     */
+    @Input
+    @Option(option = "headless", description = "Runs the application without a display")
+    public abstract Property<Boolean> getHeadless();
+
+    /**
+     * Monocle, added to the classpath in headless mode
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getHeadlessClasspath();
+
+    /**
+     * Scenarios that run in parallel, each in its own JVM
+     */
+    @Nested
+    public abstract ListProperty<AgentScenario> getScenarios();
+
+    /**
+     * The resolved runtime dependency graph, used by the automatic caller filter
+     */
+    @Internal
+    public abstract Property<ResolvedComponentResult> getRuntimeDependencies();
+
+    @Internal
+    public abstract SetProperty<ResolvedArtifactResult> getRuntimeArtifacts();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
     @TaskAction
     public void action() {
-        getProject().getLogger().info("ClientNativeRunAgent action");
+        getLogger().info("ClientNativeRunAgent action");
 
-        Path graalVMHome = getGraalHome();
+        Path graalVMHome = ConfigBuild.getGraalHome(getGraalvmHome().getOrNull());
 
         try {
-            new ConfigBuild(project).createSubstrateDispatcher();
+            new ConfigBuild(this).createSubstrateDispatcher();
         } catch (Exception e) {
             throw new GradleException("Error creating Substrate Dispatcher: " + e);
         }
 
+        AgentConfigMerger.Mode mode = AgentConfigMerger.Mode.of(getAgentMode().get());
+        Path path = getAgentConfigDirectory().get().getAsFile().toPath();
+        Path sessionPath = getSessionDirectory().get().getAsFile().toPath();
+
+        List<Path> sessionPaths = new ArrayList<>();
+        List<String> accessExcludes = new ArrayList<>(AGENTLIB_EXCLUSION_RULES);
+        accessExcludes.addAll(getAccessFilterExcludes().get());
+        AgentFilter accessFilter = new AgentFilter(getAccessFilterIncludes().get(), accessExcludes);
+
         try {
-            // folder
-            Path path = Path.of(project.getProjectDir().getAbsolutePath(), "src", "main", "resources", "META-INF", "native-image");
-            if (Files.exists(path)) {
-                // TODO: Delete files
-                // otherwise it keeps merging results from different runs
-                // and config files might get outdated.
-            } else {
-                Files.createDirectories(path);
-            }
+            // Each run starts from an empty session, merged afterwards
+            getFileSystemOperations().delete(spec -> spec.delete(sessionPath.toFile()));
+            Files.createDirectories(sessionPath);
+            Files.createDirectories(path);
 
-            // Create filter file to exclude platform classes
+            // Create filter files, excluding platform classes
+            Path filterFile = sessionPath.resolve("access-filter.json");
+            Path callerFilterFile = sessionPath.resolve("caller-filter.json");
+            AgentFilter callerFilter = getCallerFilter();
             try {
-                createFilterFile(path.resolve("filter-file.json").toString());
+                accessFilter.write(filterFile);
+                if (!callerFilter.isEmpty()) {
+                    callerFilter.write(callerFilterFile);
+                }
             } catch (IOException e) {
                 throw new GradleException("Error generating agent filter", e);
             }
 
-            JavaExec execTask = (JavaExec) project.getTasks().findByName(ApplicationPlugin.TASK_RUN_NAME);
-            if (execTask == null) {
-                throw new GradleException("Run task not found.");
-            }
-
-            // set java_home
             String binary = System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("windows") ? "java.exe" : "java";
-            execTask.executable(Path.of(graalVMHome.toString(), "bin", binary).toString());
-
-            // set jvmargs
-            var jvmArgs = List.of(AGENTLIB_NATIVE_IMAGE_AGENT_STRING);
-            execTask.getJvmArgumentProviders().add(() -> jvmArgs);
+            String java = Path.of(graalVMHome.toString(), "bin", binary).toString();
+            String agentArgs = callerFilter.isEmpty() ? "" : "," + String.format(AGENTLIB_CALLER_FILTER_STRING, callerFilterFile);
 
-            // set application args
-            if (applicationArgs != null && !applicationArgs.isBlank()) {
-                execTask.setArgsString(applicationArgs);
+            // Each scenario runs in its own JVM, in parallel, with its own output directory
+            WorkQueue workQueue = getWorkerExecutor().noIsolation();
+            List<AgentScenario> scenarios = getScenarios().get();
+            if (scenarios.isEmpty()) {
+                sessionPaths.add(sessionPath);
+                submitRun(workQueue, null, java, getMainClass().get(), splitArgs(applicationArgs), List.of(),
+                        String.format(AGENTLIB_NATIVE_IMAGE_AGENT_STRING, filterFile, sessionPath) + agentArgs);
+            } else {
+                for (AgentScenario scenario : scenarios) {
+                    Path scenarioPath = sessionPath.resolve(scenario.getName());
+                    sessionPaths.add(scenarioPath);
+                    submitRun(workQueue, scenario.getName(), java, scenario.getMainClass().getOrElse(getMainClass().get()),
+                            scenario.getArgs().get(), scenario.getJvmArgs().get(),
+                            String.format(AGENTLIB_NATIVE_IMAGE_AGENT_STRING, filterFile, scenarioPath) + agentArgs);
+                }
             }
-
-            // run
-            execTask.exec();
+            workQueue.await();
         } catch (Exception e) {
             throw new GradleException("RunAgent failure: " + e);
         }
-    }
 
-    private Path getGraalHome() {
-        String graalvmHome = clientExtension.getGraalvmHome();
-        if (graalvmHome == null) {
-            graalvmHome = System.getenv("GRAALVM_HOME");
+        try {
+            AgentConfigMerger merger = new AgentConfigMerger(mode, mode == AgentConfigMerger.Mode.PRUNE ?
+                    AgentConfigMerger.classpathIndex(getClasspath().getFiles()) : name -> true, accessFilter);
+            List<AgentConfigMerger.FileReport> reports = merger.merge(path, sessionPaths);
+            getLogger().lifecycle("Agent configuration merged into {} ({} mode)", path, getAgentMode().get());
+            reports.forEach(report -> getLogger().lifecycle("  {}", report));
+            int after = reports.stream().mapToInt(r -> r.total).sum();
+            int before = after + reports.stream().mapToInt(r -> r.filtered).sum();
+            getLogger().lifecycle("Access filters: {} entries before, {} after", before, after);
+        } catch (IOException | RuntimeException e) {
+            throw new GradleException("Error merging the agent configuration", e);
         }
-        if (graalvmHome == null) {
-            throw new GradleException("GraalVM installation directory not found." +
-                    " Either set GRAALVM_HOME as an environment variable or" +
-                    " set graalvmHome in the client-plugin configuration");
+    }
+
+    private void submitRun(WorkQueue workQueue, String scenario, String java, String mainClass, List<String> args,
+                           List<String> jvmArgs, String agentArg) {
+        workQueue.submit(AgentRunAction.class, parameters -> {
+            parameters.getScenario().set(scenario);
+            parameters.getExecutable().set(java);
+            parameters.getClasspath().from(getClasspath(), getHeadlessClasspath());
+            parameters.getMainClass().set(mainClass);
+            parameters.getMainModule().set(getMainModule());
+            parameters.getWorkingDirectory().set(getWorkingDirectory());
+            parameters.getJvmArgs().addAll(getJvmArgs());
+            if (getHeadless().get()) {
+                parameters.getJvmArgs().addAll(ApplicationRun.HEADLESS_JVM_ARGS);
+            }
+            parameters.getJvmArgs().addAll(jvmArgs);
+            parameters.getJvmArgs().add(agentArg);
+            parameters.getArgs().set(args);
+        });
+    }
+
+    /**
+     * The caller filter of the agent, with the packages of the transitive
+     * dependencies excluded when the automatic caller filter is enabled
+     */
+    AgentFilter getCallerFilter() {
+        List<String> excludes = new ArrayList<>(getCallerFilterExcludes().get());
+        if (getAutoCallerFilter().get() && getRuntimeDependencies().isPresent()) {
+            List<String> transitive = getTransitivePackages();
+            getLogger().lifecycle("Automatic caller filter excludes {} package(s) of transitive dependencies", transitive.size());
+            transitive.forEach(p -> excludes.add(p + ".*"));
         }
-        return Path.of(graalvmHome);
+        return new AgentFilter(getCallerFilterIncludes().get(), excludes);
     }
 
-    private void createFilterFile(String agentFilter) throws IOException {
-        File agentDirFilter = new File(agentFilter);
-        if (agentDirFilter.exists()) {
-            agentDirFilter.delete();
+    /**
+     * Packages found only in runtime dependencies that are not direct dependencies
+     * of the project, nor JavaFX or Attach
+     */
+    private List<String> getTransitivePackages() {
+        Set<ComponentIdentifier> direct = getRuntimeDependencies().get().getDependencies().stream()
+                .filter(ResolvedDependencyResult.class::isInstance)
+                .map(d -> ((ResolvedDependencyResult) d).getSelected().getId())
+                .collect(Collectors.toSet());
+
+        Set<String> kept = new HashSet<>();
+        Set<String> transitive = new TreeSet<>();
+        Set<File> artifactFiles = new HashSet<>();
+        for (ResolvedArtifactResult artifact : getRuntimeArtifacts().get()) {
+            artifactFiles.add(artifact.getFile());
+            ComponentIdentifier id = artifact.getId().getComponentIdentifier();
+            boolean keep = direct.contains(id) || !(id instanceof ModuleComponentIdentifier) ||
+                    AUTO_CALLER_FILTER_KEPT_GROUPS.stream().anyMatch(((ModuleComponentIdentifier) id).getGroup()::startsWith);
+            (keep ? kept : transitive).addAll(getPackages(artifact.getFile()));
         }
-        try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(agentDirFilter)))) {
-            bw.write("{ \"rules\": [\n");
-            boolean ruleHasBeenWritten = false;
-            for (String rule : AGENTLIB_EXCLUSION_RULES) {
-                if (ruleHasBeenWritten) {
-                    bw.write(",\n");
+        // classes of the project
+        getClasspath().getFiles().stream()
+                .filter(file -> !artifactFiles.contains(file))
+                .forEach(file -> kept.addAll(getPackages(file)));
+
+        transitive.removeAll(kept);
+        return new ArrayList<>(transitive);
+    }
+
+    private static Set<String> getPackages(File file) {
+        return AgentConfigMerger.listClasses(file).stream()
+                .filter(name -> name.indexOf('.') > 0)
+                .map(name -> name.substring(0, name.lastIndexOf('.')))
+                .collect(Collectors.toSet());
+    }
+
+    private static List<String> splitArgs(String args) {
+        List<String> result = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        char quote = 0;
+        boolean inArg = false;
+        for (char c : args.toCharArray()) {
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
                 } else {
-                    ruleHasBeenWritten = true;
+                    current.append(c);
                 }
-                bw.write("    {\"excludeClasses\" : \"" + rule + "\"}");
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+                inArg = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inArg) {
+                    result.add(current.toString());
+                    current.setLength(0);
+                    inArg = false;
+                }
+            } else {
+                current.append(c);
+                inArg = true;
             }
-            bw.write("\n  ]\n");
-            bw.write("}\n");
         }
+        if (inArg) {
+            result.add(current.toString());
+        }
+        return result;
     }
 }
@@ -38,7 +38,7 @@ import org.gradle.api.tasks.TaskAction;
 import com.gluonhq.substrate.SubstrateDispatcher;
 
 @CacheableTask
-public class NativeRunTask extends NativeBaseTask {
+public abstract class NativeRunTask extends NativeBaseTask {
     @Inject
     public NativeRunTask(Project project) {
         super(project);
@@ -46,10 +46,10 @@ public class NativeRunTask extends NativeBaseTask {
 
     @TaskAction
     public void action() {
-        getProject().getLogger().info("ClientNativeRun action");
+        getLogger().info("ClientNativeRun action");
 
         try {
-            SubstrateDispatcher dispatcher = new ConfigBuild(project).createSubstrateDispatcher();
+            SubstrateDispatcher dispatcher = new ConfigBuild(this).createSubstrateDispatcher();
             dispatcher.nativeRun();
         } catch (Exception e) {
             e.printStackTrace();
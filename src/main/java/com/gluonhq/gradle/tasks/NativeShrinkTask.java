@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import groovy.json.JsonSlurper;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskAction;
+
+import com.gluonhq.gradle.ClientExtension;
+import com.gluonhq.gradle.GluonFXPlugin;
+import com.gluonhq.substrate.Constants;
+
+/**
+ * Removes the classes that can't be reached by the application from its dependency
+ * jars, so native-image analyzes a smaller classpath.
+ */
+@CacheableTask
+public abstract class NativeShrinkTask extends DefaultTask {
+
+    @Inject
+    public NativeShrinkTask(Project project) {
+        project.getPlugins().withType(JavaPlugin.class, javaPlugin -> {
+            SourceSetContainer sourceSetContainer = project.getExtensions().getByType(SourceSetContainer.class);
+            SourceSet mainSourceSet = sourceSetContainer.getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+            getClasspath().from(mainSourceSet.getRuntimeClasspath());
+        });
+        ClientExtension clientExtension = project.getExtensions().getByType(ClientExtension.class);
+        getMainClass().convention(project.provider(() -> ConfigBuild.getMainClass(project)));
+        getReflectionList().convention(clientExtension.getReflectionList());
+        getJniList().convention(clientExtension.getJniList());
+        getKeep().convention(clientExtension.getShrinkKeep());
+        getReachabilityFile().convention(project.getTasks()
+                .named(GluonFXPlugin.NATIVE_ANALYZE_TASK_NAME, NativeAnalyzeTask.class)
+                .flatMap(NativeAnalyzeTask::getReachabilityFile));
+        getOutputDirectory().convention(project.getLayout().getBuildDirectory().dir(Constants.GLUONFX_PATH + "/shrink"));
+    }
+
+    @Classpath
+    public abstract ConfigurableFileCollection getClasspath();
+
+    @Input
+    @Optional
+    public abstract Property<String> getMainClass();
+
+    @Input
+    public abstract ListProperty<String> getReflectionList();
+
+    @Input
+    public abstract ListProperty<String> getJniList();
+
+    /**
+     * Patterns of classes that are always kept, like com.foo.**
+     */
+    @Input
+    public abstract ListProperty<String> getKeep();
+
+    /**
+     * The output of nativeAnalyze, with the classes used reflectively
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getReachabilityFile();
+
+    /**
+     * The shrunk jars, and the map from the original ones
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    @TaskAction
+    @SuppressWarnings("unchecked")
+    public void action() {
+        Set<String> seeds = new LinkedHashSet<>();
+        if (getMainClass().isPresent()) {
+            seeds.add(getMainClass().get());
+        }
+        seeds.addAll(getReflectionList().get());
+        seeds.addAll(getJniList().get());
+        Map<String, List<String>> reachability = (Map<String, List<String>>) new JsonSlurper()
+                .parse(getReachabilityFile().get().getAsFile(), StandardCharsets.UTF_8.name());
+        seeds.addAll(reachability.getOrDefault("reflectionList", List.of()));
+        seeds.addAll(reachability.getOrDefault("jniList", List.of()));
+
+        Path outputDir = getOutputDirectory().get().getAsFile().toPath();
+        getFileSystemOperations().delete(spec -> spec.delete(getOutputDirectory().get().getAsFileTree()));
+        try {
+            ClasspathShrinker shrinker = ClasspathShrinker.shrink(getClasspath().getFiles(), seeds, getKeep().get(), outputDir);
+            getLogger().lifecycle(shrinker.getSummary());
+        } catch (IOException | RuntimeException e) {
+            throw new GradleException("Error shrinking the classpath", e);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.options.Option;
+
+import com.gluonhq.gradle.ClientExtension;
+import com.gluonhq.gradle.GluonFXPlugin;
+import com.gluonhq.substrate.Constants;
+
+/**
+ * Breaks down the size of the native image compiled by nativeCompile by package
+ * and by dependency, compares it with a baseline, and checks the size budgets.
+ */
+public abstract class NativeSizeTask extends DefaultTask {
+
+    static final String DASHBOARD_DUMP = "image-dashboard";
+
+    private static final int TOP_ENTRIES = 15;
+
+    @Inject
+    public NativeSizeTask(Project project) {
+        project.getPlugins().withType(JavaPlugin.class, javaPlugin -> {
+            SourceSetContainer sourceSetContainer = project.getExtensions().getByType(SourceSetContainer.class);
+            SourceSet mainSourceSet = sourceSetContainer.getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+            getClasspath().from(mainSourceSet.getRuntimeClasspath());
+        });
+        ClientExtension clientExtension = project.getExtensions().getByType(ClientExtension.class);
+        getTargetTriplet().convention(clientExtension.getTarget().map(target -> ConfigBuild.toTriplet(target).getArchOs()));
+        getDumpFiles().from(project.getTasks().named(GluonFXPlugin.NATIVE_COMPILE_TASK_NAME, NativeCompileTask.class)
+                .flatMap(NativeCompileTask::getOutputDirectory)
+                .map(dir -> dir.getAsFileTree().matching(spec -> spec.include(DASHBOARD_DUMP + "*"))));
+        getBudgets().convention(clientExtension.getSizeBudgets());
+        getUpdateBaseline().convention(false);
+        getBaselineFile().convention(project.getLayout().getProjectDirectory()
+                .file(getTargetTriplet().map(triplet -> "size-baseline-" + triplet + ".json")));
+        getBaselineFiles().from(getBaselineFile());
+        getReportFile().convention(project.getLayout().getBuildDirectory()
+                .file(getTargetTriplet().map(triplet -> Constants.GLUONFX_PATH + "/" + triplet + "/size.json")));
+        getClasspathIndexFile().convention(project.getLayout().getBuildDirectory()
+                .file(getTargetTriplet().map(triplet -> Constants.GLUONFX_PATH + "/" + triplet + "/classpath-index.bin")));
+    }
+
+    @Input
+    public abstract Property<String> getTargetTriplet();
+
+    /**
+     * The classpath, to attribute each class to its dependency
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getClasspath();
+
+    /**
+     * The dashboard dump written by nativeCompile when sizeReport is enabled
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract ConfigurableFileCollection getDumpFiles();
+
+    /**
+     * Maximum growth compared with the baseline, by package or dependency pattern
+     */
+    @Input
+    public abstract MapProperty<String, String> getBudgets();
+
+    /**
+     * Replaces the baseline with the current breakdown
+     */
+    @Input
+    @Option(option = "update-baseline", description = "Stores the current size breakdown as the baseline")
+    public abstract Property<Boolean> getUpdateBaseline();
+
+    /**
+     * The breakdown that the size is compared with, meant to be kept under version control
+     */
+    @Internal
+    public abstract RegularFileProperty getBaselineFile();
+
+    /**
+     * The baseline file, if it exists
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract ConfigurableFileCollection getBaselineFiles();
+
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    @Internal
+    public abstract RegularFileProperty getClasspathIndexFile();
+
+    @TaskAction
+    public void action() {
+        File dump = getDumpFiles().getFiles().stream().findFirst().orElseThrow(() ->
+                new GradleException("The size dump of native-image was not found, set sizeReport = true and run nativeCompile"));
+
+        SizeBreakdown breakdown;
+        try {
+            Map<String, String> classOwners = ClasspathIndex.update(getClasspathIndexFile().get().getAsFile().toPath(),
+                    getClasspath().getFiles()).getClassOwners();
+            breakdown = SizeBreakdown.fromDump(dump, classOwners);
+            Files.writeString(getReportFile().get().getAsFile().toPath(), breakdown.toJson(), StandardCharsets.UTF_8);
+        } catch (IOException | RuntimeException e) {
+            throw new GradleException("Error reading the size dump " + dump, e);
+        }
+
+        getLogger().lifecycle("Native image size: {}, written to {}", SizeBreakdown.format(breakdown.getTotal()),
+                getReportFile().get().getAsFile());
+        getLogger().lifecycle("{}", String.format("%10s %10s %10s  %s", "total", "code", "heap", "package"));
+        SizeBreakdown.top(breakdown.getPackages(), TOP_ENTRIES).forEach(line -> getLogger().lifecycle("{}", line));
+        getLogger().lifecycle("{}", String.format("%10s %10s %10s  %s", "total", "code", "heap", "dependency"));
+        SizeBreakdown.top(breakdown.getDependencies(), TOP_ENTRIES).forEach(line -> getLogger().lifecycle("{}", line));
+
+        Path baselinePath = getBaselineFile().get().getAsFile().toPath();
+        if (getUpdateBaseline().get()) {
+            try {
+                Files.writeString(baselinePath, breakdown.toJson(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new GradleException("Error writing the size baseline " + baselinePath, e);
+            }
+            getLogger().lifecycle("Size baseline written to {}", baselinePath);
+            return;
+        }
+        if (!Files.exists(baselinePath)) {
+            getLogger().lifecycle("No size baseline found at {}, create it with --update-baseline", baselinePath);
+            if (!getBudgets().get().isEmpty()) {
+                getLogger().warn("The size budgets can't be checked without a baseline");
+            }
+            return;
+        }
+
+        SizeBreakdown baseline;
+        try {
+            baseline = SizeBreakdown.fromJson(Files.readString(baselinePath, StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            throw new GradleException("Error reading the size baseline " + baselinePath, e);
+        }
+        getLogger().lifecycle("Changes compared with {}:", baselinePath);
+        breakdown.diff(baseline, TOP_ENTRIES).forEach(line -> getLogger().lifecycle("{}", line));
+
+        List<String> exceeded;
+        try {
+            exceeded = breakdown.checkBudgets(baseline, getBudgets().get());
+        } catch (IllegalArgumentException e) {
+            throw new GradleException(e.getMessage(), e);
+        }
+        if (!exceeded.isEmpty()) {
+            throw new GradleException("Size budgets exceeded:\n  " + String.join("\n  ", exceeded));
+        }
+    }
+}
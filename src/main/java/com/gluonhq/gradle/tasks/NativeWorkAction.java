@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+import com.gluonhq.substrate.SubstrateDispatcher;
+
+/**
+ * Runs the native compilation or link of the application in a worker process,
+ * outside of the Gradle daemon.
+ */
+public abstract class NativeWorkAction implements WorkAction<NativeWorkAction.Parameters> {
+
+    static final String COMPILE = "compile";
+    static final String LINK = "link";
+
+    private static final Logger LOGGER = Logging.getLogger(NativeWorkAction.class);
+
+    /**
+     * Gradle reuses an idle worker process with the same settings, so the link step
+     * usually finds the configuration created by the compile step of the same build.
+     */
+    private static final SubstrateConfigurations CONFIGURATIONS = new SubstrateConfigurations(4);
+
+    public interface Parameters extends WorkParameters, ConfigBuildParameters {
+
+        /**
+         * The Substrate step to run: compile or link
+         */
+        Property<String> getStep();
+
+        /**
+         * The directory with the compiled object file
+         */
+        DirectoryProperty getObjectDirectory();
+
+        /**
+         * The directory where Substrate writes the logs of the target
+         */
+        DirectoryProperty getLogDirectory();
+
+        /**
+         * The file where the native image build report is written, if set
+         */
+        RegularFileProperty getReportFile();
+    }
+
+    @Override
+    public void execute() {
+        ConfigBuild configBuild = new ConfigBuild(getParameters(), LOGGER, CONFIGURATIONS, true);
+        String step = getParameters().getStep().get();
+        switch (step) {
+            case COMPILE:
+                long start = System.currentTimeMillis();
+                configBuild.build();
+                if (getParameters().getReportFile().isPresent()) {
+                    NativeImageReport.create(getParameters().getLogDirectory().get().getAsFile().toPath(), start,
+                            getParameters().getObjectDirectory().get().getAsFile().toPath(),
+                            getParameters().getReportFile().get().getAsFile().toPath(), LOGGER);
+                }
+                break;
+            case LINK:
+                link(configBuild);
+                break;
+            default:
+                throw new GradleException("Invalid step: " + step);
+        }
+    }
+
+    private static void link(ConfigBuild configBuild) {
+        boolean result;
+        try {
+            SubstrateDispatcher dispatcher = configBuild.createSubstrateDispatcher();
+            result = dispatcher.nativeLink();
+        } catch (Exception e) {
+            throw new GradleException("Failed to link", e);
+        }
+
+        if (!result) {
+            throw new GradleException("Linking failed");
+        }
+    }
+}
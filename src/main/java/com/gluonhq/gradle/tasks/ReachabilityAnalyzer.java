@@ -0,0 +1,458 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.parsers.SAXParserFactory;
+
+import groovy.json.JsonOutput;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Finds the classes, resources and bundles that the application uses reflectively,
+ * by scanning the bytecode and the FXML files of its classpath.
+ *
+ * It looks for constant arguments of Class.forName, ClassLoader.loadClass,
+ * getResource, ResourceBundle.getBundle and ServiceLoader.load, for classes with
+ * native methods, for the controllers and element types of FXML files, and for the
+ * skins set with -fx-skin in the stylesheets. String constants, FXML locations (like
+ * {@code @image.png}) and CSS urls that name a resource of the classpath are
+ * reported as resources too. Only classes and
+ * resources that exist on the classpath are reported.
+ */
+class ReachabilityAnalyzer {
+
+    /**
+     * Packages already covered by the Substrate configuration
+     */
+    static final List<String> EXCLUDED_PACKAGES = List.of(
+            "javafx.", "com.sun.javafx.", "com.sun.glass.", "com.sun.prism.", "com.sun.scenario.",
+            "com.sun.marlin.", "com.sun.openpisces.", "com.sun.pisces.", "com.sun.webkit.", "com.gluonhq.attach.");
+
+    private static final Pattern CLASS_NAME = Pattern.compile("[\\p{javaJavaIdentifierStart}][\\p{javaJavaIdentifierPart}.$]*");
+
+    private static final String SERVICES = "META-INF/services/";
+
+    /**
+     * The class of a skin in a stylesheet, like {@code -fx-skin: "com.example.FancySkin";}
+     */
+    static final Pattern CSS_SKIN = Pattern.compile("-fx-skin\\s*:\\s*['\"]?([\\p{javaJavaIdentifierStart}][\\p{javaJavaIdentifierPart}.$]*)['\"]?");
+
+    private static final String VERSIONS = "META-INF/versions/";
+
+    private static final Pattern CSS_URL = Pattern.compile("url\\(\\s*['\"]?([^'\")\\s]+)['\"]?\\s*\\)|@import\\s+['\"]([^'\"]+)['\"]");
+
+    private final Set<String> classes = new HashSet<>();
+    private final Set<String> resources = new HashSet<>();
+    private final Map<String, List<String>> services = new HashMap<>();
+    private final Map<String, List<String>> cssUrls = new HashMap<>();
+
+    private final Set<String> reflectionList = new TreeSet<>();
+    private final Set<String> jniList = new TreeSet<>();
+    private final Set<String> resourcesList = new TreeSet<>();
+    private final Set<String> bundlesList = new TreeSet<>();
+    private final Set<String> usedServices = new TreeSet<>();
+    private int analyzedClasses;
+
+    /**
+     * Analyzes the given classpath
+     *
+     * @param classpath jars and directories
+     * @return the analyzer, with the results
+     */
+    static ReachabilityAnalyzer analyze(Collection<File> classpath) {
+        ReachabilityAnalyzer analyzer = new ReachabilityAnalyzer();
+        // first pass: index of classes, resources and services
+        classpath.forEach(file -> forEachEntry(file, name -> name.startsWith(SERVICES), analyzer::index));
+        // second pass: bytecode and FXML
+        classpath.forEach(file -> forEachEntry(file, ReachabilityAnalyzer::isScanned, analyzer::scan));
+        analyzer.resolveServices();
+        analyzer.resolveStylesheets();
+        return analyzer;
+    }
+
+    Set<String> getReflectionList() {
+        return reflectionList;
+    }
+
+    Set<String> getJniList() {
+        return jniList;
+    }
+
+    Set<String> getResourcesList() {
+        return resourcesList;
+    }
+
+    Set<String> getBundlesList() {
+        return bundlesList;
+    }
+
+    String toJson() {
+        return "{\n" +
+                "  \"reflectionList\": " + JsonOutput.toJson(reflectionList) + ",\n" +
+                "  \"jniList\": " + JsonOutput.toJson(jniList) + ",\n" +
+                "  \"resourcesList\": " + JsonOutput.toJson(resourcesList) + ",\n" +
+                "  \"bundlesList\": " + JsonOutput.toJson(bundlesList) + "\n" +
+                "}\n";
+    }
+
+    String getSummary() {
+        return String.format(Locale.ROOT, "Reachability analysis of %d classes: %d reflection, %d JNI, %d resources, %d bundles",
+                analyzedClasses, reflectionList.size(), jniList.size(), resourcesList.size(), bundlesList.size());
+    }
+
+    private void index(String name, byte[] bytes) {
+        if (name.endsWith(".class")) {
+            classes.add(toClassName(name));
+        } else {
+            resources.add(name);
+            if (name.startsWith(SERVICES) && name.length() > SERVICES.length()) {
+                String service = name.substring(SERVICES.length());
+                new String(bytes, StandardCharsets.UTF_8).lines()
+                        .map(line -> line.replaceFirst("#.*", "").trim())
+                        .filter(line -> !line.isEmpty())
+                        .forEach(impl -> services.computeIfAbsent(service, s -> new ArrayList<>()).add(impl));
+            }
+        }
+    }
+
+    private static boolean isScanned(String name) {
+        return name.endsWith(".class") && !name.endsWith("module-info.class") && !isExcluded(toClassName(name)) ||
+                name.endsWith(".fxml") || name.endsWith(".css") && !isPlatformResource(name);
+    }
+
+    private void scan(String name, byte[] bytes) {
+        if (bytes == null) {
+            return;
+        }
+        if (name.endsWith(".class")) {
+            analyzedClasses++;
+            new ClassReader(bytes).accept(new ReachabilityClassVisitor(toClassName(name)), ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+        } else if (name.endsWith(".css")) {
+            String css = new String(bytes, StandardCharsets.UTF_8);
+            Matcher matcher = CSS_URL.matcher(css);
+            while (matcher.find()) {
+                String url = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+                cssUrls.computeIfAbsent(name, n -> new ArrayList<>()).add(resolvePath(name, url));
+            }
+            Matcher skins = CSS_SKIN.matcher(css);
+            while (skins.find()) {
+                addClass(skins.group(1));
+            }
+        } else {
+            resourcesList.add(name);
+            scanFxml(name, bytes);
+        }
+    }
+
+    /**
+     * Adds the resources referenced by the stylesheets that are referenced
+     */
+    private void resolveStylesheets() {
+        List<String> pending = new ArrayList<>(resourcesList);
+        while (!pending.isEmpty()) {
+            String resource = pending.remove(pending.size() - 1);
+            for (String url : cssUrls.getOrDefault(resource, List.of())) {
+                if (resources.contains(url) && resourcesList.add(url)) {
+                    pending.add(url);
+                }
+            }
+        }
+    }
+
+    private void resolveServices() {
+        for (String service : usedServices) {
+            List<String> implementations = services.getOrDefault(service, List.of());
+            if (!implementations.isEmpty()) {
+                resourcesList.add(SERVICES + service);
+                implementations.forEach(this::addClass);
+            }
+        }
+    }
+
+    private void addClass(String name) {
+        if (name == null) {
+            return;
+        }
+        String className = name.replace('/', '.');
+        if (CLASS_NAME.matcher(className).matches() && classes.contains(className)) {
+            reflectionList.add(className);
+        }
+    }
+
+    private void addResource(String name) {
+        if (name != null && resources.contains(name)) {
+            resourcesList.add(name);
+        }
+    }
+
+    private class ReachabilityClassVisitor extends ClassVisitor {
+
+        private final String className;
+
+        ReachabilityClassVisitor(String className) {
+            super(Opcodes.ASM9);
+            this.className = className;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            if ((access & Opcodes.ACC_NATIVE) != 0) {
+                jniList.add(className);
+            }
+            return new MethodVisitor(Opcodes.ASM9) {
+
+                // the last constants loaded, that are the arguments of the calls of interest
+                private String lastString;
+                private Type lastType;
+
+                @Override
+                public void visitLdcInsn(Object value) {
+                    if (value instanceof String) {
+                        lastString = (String) value;
+                        addResourceConstant(className, lastString);
+                    } else if (value instanceof Type && ((Type) value).getSort() == Type.OBJECT) {
+                        lastType = (Type) value;
+                    }
+                }
+
+                @Override
+                public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+                    if ("java/lang/Class".equals(owner) && "forName".equals(name) ||
+                            "loadClass".equals(name) && owner.endsWith("ClassLoader")) {
+                        addClass(lastString);
+                    } else if ("java/lang/Class".equals(owner) && name.startsWith("getResource")) {
+                        String base = lastType != null ? lastType.getClassName() : className;
+                        addResource(resolveResource(base, lastString));
+                    } else if (owner.endsWith("ClassLoader") && name.startsWith("getResource")) {
+                        addResource(lastString != null && lastString.startsWith("/") ? lastString.substring(1) : lastString);
+                    } else if ("java/util/ResourceBundle".equals(owner) && "getBundle".equals(name)) {
+                        if (lastString != null && CLASS_NAME.matcher(lastString).matches()) {
+                            bundlesList.add(lastString);
+                        }
+                    } else if ("java/util/ServiceLoader".equals(owner) && name.startsWith("load") && lastType != null) {
+                        usedServices.add(lastType.getClassName());
+                    } else {
+                        return;
+                    }
+                    lastString = null;
+                    lastType = null;
+                }
+            };
+        }
+    }
+
+    private void scanFxml(String name, byte[] bytes) {
+        Map<String, String> imports = new HashMap<>();
+        List<String> packages = new ArrayList<>();
+        try {
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.newSAXParser().parse(new InputSource(new ByteArrayInputStream(bytes)), new DefaultHandler() {
+
+                @Override
+                public void processingInstruction(String target, String data) {
+                    if ("import".equals(target)) {
+                        String value = data.trim();
+                        if (value.endsWith(".*")) {
+                            packages.add(value.substring(0, value.length() - 1));
+                        } else {
+                            imports.put(value.substring(value.lastIndexOf('.') + 1), value);
+                        }
+                    }
+                }
+
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    String controller = attributes.getValue("fx:controller");
+                    if (controller != null) {
+                        addClass(controller);
+                    }
+                    for (int i = 0; i < attributes.getLength(); i++) {
+                        // locations relative to the FXML file, like stylesheets="@main.css"
+                        String value = attributes.getValue(i);
+                        if (value.startsWith("@") && value.length() > 1) {
+                            addResource(resolvePath(name, value.substring(1)));
+                        }
+                    }
+                    if (qName.contains(":") || qName.isEmpty() || !Character.isUpperCase(qName.charAt(qName.lastIndexOf('.') + 1))) {
+                        // fx: elements and property elements
+                        return;
+                    }
+                    if (imports.containsKey(qName)) {
+                        addClass(imports.get(qName));
+                    } else if (qName.contains(".")) {
+                        addClass(qName);
+                    } else {
+                        packages.stream()
+                                .map(p -> p + qName)
+                                .filter(classes::contains)
+                                .findFirst()
+                                .ifPresent(ReachabilityAnalyzer.this::addClass);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            // not a valid FXML file, it can't be loaded either
+        }
+    }
+
+    /**
+     * String constants that name a resource, like the url of an image or a stylesheet
+     */
+    private void addResourceConstant(String className, String value) {
+        if (value.length() < 2 || value.length() > 256 || value.indexOf('.') < 0 || value.endsWith(".class") ||
+                value.chars().anyMatch(Character::isWhitespace) || value.contains(":")) {
+            return;
+        }
+        String resource = resolveResource(className, value);
+        if (resources.contains(resource)) {
+            resourcesList.add(resource);
+        } else if (resources.contains(value)) {
+            resourcesList.add(value);
+        }
+    }
+
+    private static String resolveResource(String className, String name) {
+        if (name == null) {
+            return null;
+        }
+        return resolvePath(className.replace('.', '/'), name);
+    }
+
+    /**
+     * Resolves a path relative to the given resource, or to the root of the classpath
+     * if it starts with a slash
+     */
+    static String resolvePath(String base, String path) {
+        if (path.startsWith("/")) {
+            return path.substring(1);
+        }
+        int index = base.lastIndexOf('/');
+        String resolved = index < 0 ? path : base.substring(0, index + 1) + path;
+        Deque<String> segments = new ArrayDeque<>();
+        for (String segment : resolved.split("/")) {
+            if (segment.equals("..")) {
+                segments.pollLast();
+            } else if (!segment.isEmpty() && !segment.equals(".")) {
+                segments.addLast(segment);
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    private static boolean isExcluded(String className) {
+        return EXCLUDED_PACKAGES.stream().anyMatch(className::startsWith);
+    }
+
+    /**
+     * Resources of JavaFX and Attach, that are always included
+     */
+    static boolean isPlatformResource(String path) {
+        return isExcluded(path.replace('/', '.'));
+    }
+
+    private static String toClassName(String path) {
+        return path.substring(0, path.length() - ".class".length()).replace('/', '.');
+    }
+
+    private static String getBaseName(String name) {
+        return name.startsWith(VERSIONS) ? name.substring(name.indexOf('/', VERSIONS.length()) + 1) : name;
+    }
+
+    /**
+     * Calls the consumer with the name of each file of a jar or a directory, using the
+     * names of the base version for multi-release jars, and its content if required
+     */
+    static void forEachEntry(File file, Predicate<String> withContent, BiConsumer<String, byte[]> consumer) {
+        try {
+            if (file.isDirectory()) {
+                Path root = file.toPath();
+                List<Path> files;
+                try (Stream<Path> walk = Files.walk(root)) {
+                    files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+                }
+                for (Path path : files) {
+                    String name = getBaseName(root.relativize(path).toString().replace(File.separatorChar, '/'));
+                    consumer.accept(name, withContent.test(name) ? Files.readAllBytes(path) : null);
+                }
+            } else if (file.isFile() && file.getName().endsWith(".jar")) {
+                try (ZipFile zip = new ZipFile(file)) {
+                    for (ZipEntry entry : zip.stream().filter(e -> !e.isDirectory()).collect(Collectors.toList())) {
+                        String name = getBaseName(entry.getName());
+                        if (withContent.test(name)) {
+                            try (InputStream is = zip.getInputStream(entry)) {
+                                consumer.accept(name, is.readAllBytes());
+                            }
+                        } else {
+                            consumer.accept(name, null);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading " + file, e);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import groovy.json.JsonOutput;
+import groovy.json.JsonSlurper;
+
+/**
+ * Size of the code area and the image heap of a native image, by package and by
+ * classpath entry, read from the dashboard dump of native-image.
+ *
+ * The size of a method is attributed to its declaring class, and the size of the
+ * objects in the image heap to their type, or to the element type for arrays.
+ */
+class SizeBreakdown {
+
+    static final String TOTAL = "total";
+
+    private static final String OTHER = "<other>";
+    private static final String PLATFORM = "JDK and Native Image";
+    private static final List<String> PLATFORM_PACKAGES = List.of(
+            "java.", "javax.", "jdk.", "sun.", "com.sun.", "com.oracle.svm.", "org.graalvm.");
+
+    static final class Size {
+        long code;
+        long heap;
+
+        long getTotal() {
+            return code + heap;
+        }
+    }
+
+    private final Size total = new Size();
+    private final Map<String, Size> packages = new TreeMap<>();
+    private final Map<String, Size> dependencies = new TreeMap<>();
+
+    /**
+     * Reads the dashboard dump written with -H:DashboardDump, -H:+DashboardCode and -H:+DashboardHeap
+     *
+     * @param dump the dump file
+     * @param classOwners the classpath entry of each class, see {@link ClasspathIndex#getClassOwners()}
+     * @return the breakdown
+     */
+    static SizeBreakdown fromDump(File dump, Map<String, String> classOwners) {
+        Map<?, ?> json = (Map<?, ?>) new JsonSlurper().parse(dump, StandardCharsets.UTF_8.name());
+        SizeBreakdown breakdown = new SizeBreakdown();
+        forEachEntry(json.get("code-breakdown"), (name, size) -> breakdown.add(name, size, true, classOwners));
+        forEachEntry(json.get("heap-breakdown"), (name, size) -> breakdown.add(name, size, false, classOwners));
+        return breakdown;
+    }
+
+    /**
+     * Reads a breakdown written by {@link #toJson()}
+     *
+     * @param json the content of the report
+     * @return the breakdown
+     */
+    static SizeBreakdown fromJson(String json) {
+        Map<?, ?> report = (Map<?, ?>) new JsonSlurper().parseText(json);
+        SizeBreakdown breakdown = new SizeBreakdown();
+        breakdown.total.code = ((Number) report.get("code")).longValue();
+        breakdown.total.heap = ((Number) report.get("heap")).longValue();
+        readSizes((Map<?, ?>) report.get("packages"), breakdown.packages);
+        readSizes((Map<?, ?>) report.get("dependencies"), breakdown.dependencies);
+        return breakdown;
+    }
+
+    private static void readSizes(Map<?, ?> values, Map<String, Size> sizes) {
+        if (values == null) {
+            return;
+        }
+        values.forEach((name, value) -> {
+            Size size = new Size();
+            size.code = ((Number) ((Map<?, ?>) value).get("code")).longValue();
+            size.heap = ((Number) ((Map<?, ?>) value).get("heap")).longValue();
+            sizes.put((String) name, size);
+        });
+    }
+
+    private interface EntryConsumer {
+        void accept(String name, long size);
+    }
+
+    /**
+     * Each breakdown has lists of entries with a name and a size
+     */
+    private static void forEachEntry(Object breakdown, EntryConsumer consumer) {
+        if (!(breakdown instanceof Map)) {
+            return;
+        }
+        for (Object list : ((Map<?, ?>) breakdown).values()) {
+            if (!(list instanceof List)) {
+                continue;
+            }
+            for (Object entry : (List<?>) list) {
+                if (entry instanceof Map && ((Map<?, ?>) entry).get("name") != null &&
+                        ((Map<?, ?>) entry).get("size") instanceof Number) {
+                    consumer.accept(((Map<?, ?>) entry).get("name").toString(), ((Number) ((Map<?, ?>) entry).get("size")).longValue());
+                }
+            }
+        }
+    }
+
+    private void add(String name, long size, boolean code, Map<String, String> classOwners) {
+        String className = getClassName(name);
+        int dot = className.lastIndexOf('.');
+        String packageName = dot > 0 ? className.substring(0, dot) : OTHER;
+        String dependency = classOwners.get(className);
+        if (dependency == null) {
+            dependency = PLATFORM_PACKAGES.stream().anyMatch(className::startsWith) ? PLATFORM : OTHER;
+        }
+        for (Size s : List.of(total, packages.computeIfAbsent(packageName, p -> new Size()),
+                dependencies.computeIfAbsent(dependency, d -> new Size()))) {
+            if (code) {
+                s.code += size;
+            } else {
+                s.heap += size;
+            }
+        }
+    }
+
+    /**
+     * The class of a method, like "int java.lang.String.indexOf(int, int)", or of a
+     * heap object type, like "java.lang.String[]" or "byte[] for code metadata"
+     */
+    static String getClassName(String name) {
+        int parenthesis = name.indexOf('(');
+        if (parenthesis > 0) {
+            String method = name.substring(0, parenthesis).trim();
+            method = method.substring(method.lastIndexOf(' ') + 1);
+            int dot = method.lastIndexOf('.');
+            return dot > 0 ? method.substring(0, dot) : method;
+        }
+        String type = name.trim().split("\\s+")[0];
+        while (type.endsWith("[]")) {
+            type = type.substring(0, type.length() - 2);
+        }
+        return type;
+    }
+
+    long getTotal() {
+        return total.getTotal();
+    }
+
+    Map<String, Size> getPackages() {
+        return packages;
+    }
+
+    Map<String, Size> getDependencies() {
+        return dependencies;
+    }
+
+    String toJson() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("code", total.code);
+        report.put("heap", total.heap);
+        report.put("packages", toMap(packages));
+        report.put("dependencies", toMap(dependencies));
+        return JsonOutput.prettyPrint(JsonOutput.toJson(report));
+    }
+
+    private static Map<String, Object> toMap(Map<String, Size> sizes) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        sizes.forEach((name, size) -> map.put(name, Map.of("code", size.code, "heap", size.heap)));
+        return map;
+    }
+
+    /**
+     * The largest entries, with their code and heap size
+     *
+     * @param sizes the packages or the dependencies
+     * @param limit the maximum number of lines
+     * @return a line for each entry
+     */
+    static List<String> top(Map<String, Size> sizes, int limit) {
+        List<String> lines = new ArrayList<>();
+        sizes.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Size> e) -> e.getValue().getTotal()).reversed())
+                .limit(limit)
+                .forEach(e -> lines.add(String.format(Locale.ROOT, "%10s %10s %10s  %s", format(e.getValue().getTotal()),
+                        format(e.getValue().code), format(e.getValue().heap), e.getKey())));
+        return lines;
+    }
+
+    /**
+     * The packages whose size changed the most compared with the baseline
+     *
+     * @param baseline the previous breakdown
+     * @param limit the maximum number of lines
+     * @return a line for each change, the first one for the total size
+     */
+    List<String> diff(SizeBreakdown baseline, int limit) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%11s  %s (%s)", formatDelta(getTotal() - baseline.getTotal()), TOTAL, format(getTotal())));
+        Set<String> names = new HashSet<>(packages.keySet());
+        names.addAll(baseline.packages.keySet());
+        names.stream()
+                .map(name -> Map.entry(name, getTotal(packages, name) - getTotal(baseline.packages, name)))
+                .filter(e -> e.getValue() != 0)
+                .sorted(Comparator.comparingLong((Map.Entry<String, Long> e) -> Math.abs(e.getValue())).reversed())
+                .limit(limit)
+                .forEach(e -> lines.add(String.format(Locale.ROOT, "%11s  %s (%s)", formatDelta(e.getValue()), e.getKey(),
+                        format(getTotal(packages, e.getKey())))));
+        return lines;
+    }
+
+    /**
+     * Checks the growth compared with the baseline, for each budget
+     *
+     * @param baseline the previous breakdown
+     * @param budgets the maximum growth, like "2MB", by package pattern, like "org.apache.*",
+     *                by classpath entry pattern, like "commons-*.jar", or for the total size
+     * @return the budgets that are exceeded
+     */
+    List<String> checkBudgets(SizeBreakdown baseline, Map<String, String> budgets) {
+        List<String> exceeded = new ArrayList<>();
+        budgets.forEach((pattern, budget) -> {
+            long limit = Sizes.parse(budget);
+            long growth;
+            if (TOTAL.equals(pattern)) {
+                growth = getTotal() - baseline.getTotal();
+            } else {
+                boolean jar = pattern.endsWith(".jar");
+                Pattern regex = toRegex(pattern);
+                growth = sum(jar ? dependencies : packages, regex) - sum(jar ? baseline.dependencies : baseline.packages, regex);
+            }
+            if (growth > limit) {
+                exceeded.add(String.format(Locale.ROOT, "%s grew %s, the budget is %s", pattern, format(growth), format(limit)));
+            }
+        });
+        return exceeded;
+    }
+
+    private static long getTotal(Map<String, Size> sizes, String name) {
+        Size size = sizes.get(name);
+        return size == null ? 0 : size.getTotal();
+    }
+
+    private static long sum(Map<String, Size> sizes, Pattern regex) {
+        return sizes.entrySet().stream()
+                .filter(e -> regex.matcher(e.getKey()).matches())
+                .mapToLong(e -> e.getValue().getTotal())
+                .sum();
+    }
+
+    /**
+     * A glob, where * matches any text, so org.apache.* matches all the packages under
+     * org.apache, and org.apache.** is accepted as well
+     */
+    private static Pattern toRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : glob.replace("**", "*").split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    static String format(long bytes) {
+        if (Math.abs(bytes) >= 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.2f MB", bytes / (1024.0 * 1024));
+        } else if (Math.abs(bytes) >= 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return bytes + " B";
+    }
+
+    private static String formatDelta(long bytes) {
+        return (bytes > 0 ? "+" : "") + format(bytes);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sizes in bytes, as set in the build script, like the size budgets, the maximum size
+ * of the static SDK cache or the heap of the worker process.
+ */
+final class Sizes {
+
+    private static final Pattern SIZE = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*([KMGT]?)B?", Pattern.CASE_INSENSITIVE);
+
+    private Sizes() {
+    }
+
+    /**
+     * Parses a size like 2MB, 512 KB, 1048576, or a JVM memory size like 512m or 2g.
+     * The units are powers of 1024.
+     *
+     * @param size the size
+     * @return the size in bytes
+     * @throws IllegalArgumentException if the size is not valid
+     */
+    static long parse(String size) {
+        Matcher matcher = SIZE.matcher(size.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid size '" + size + "', it should be like 500KB or 2GB");
+        }
+        double value = Double.parseDouble(matcher.group(1));
+        switch (matcher.group(2).toUpperCase(Locale.ROOT)) {
+            case "K":
+                return (long) (value * 1024);
+            case "M":
+                return (long) (value * 1024 * 1024);
+            case "G":
+                return (long) (value * 1024 * 1024 * 1024);
+            case "T":
+                return (long) (value * 1024 * 1024 * 1024 * 1024);
+            default:
+                return (long) value;
+        }
+    }
+}
@@ -0,0 +1,562 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.gradle.api.logging.Logger;
+
+/**
+ * A machine-wide, content-addressed cache of the static SDKs that Substrate links with.
+ *
+ * Each archive is downloaded once, verified, and unpacked in content/&lt;sha256&gt;, through
+ * a temporary directory that is atomically renamed, so other builds never see a partial
+ * SDK. The directory that Substrate expects, like ~/.gluon/substrate/javafxStaticSdk/&lt;version&gt;/&lt;os-arch&gt;,
+ * is then a link to it. The index/ directory maps each SDK to the checksum of its archive.
+ *
+ * File locks serialize the builds and Gradle daemons of the machine: one lock per SDK
+ * while it is downloaded and unpacked, and one for the whole cache while the index, the
+ * links, and the least recently used entries are updated. The SDKs used by the current
+ * build, and the ones that any build used since it started, are never evicted.
+ */
+class StaticSdkCache {
+
+    private static final String MARKER = ".gluonfx-sdk";
+    private static final int TIMEOUT = 30_000;
+    private static final long LOCK_POLL_MILLIS = 50;
+
+    /** File locks are per process, so the threads of this daemon are serialized first */
+    private static final Map<Path, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * The static SDKs that Substrate downloads, with the path of their archives
+     * relative to the repository
+     */
+    enum Kind {
+        JAVAFX("javafxStaticSdk", "javafxstaticsdk/openjfx-%s-%s-static.zip"),
+        JAVA("javaStaticSdk", "javastaticsdk/labsjdk-%s-%s-static.zip");
+
+        private final String directory;
+        private final String archive;
+
+        Kind(String directory, String archive) {
+            this.directory = directory;
+            this.archive = archive;
+        }
+
+        /**
+         * @param substratePath the directory where Substrate looks for the SDKs
+         * @param version the SDK version
+         * @param osArch the target, like linux-x86_64
+         * @return the directory where Substrate expects the SDK
+         */
+        Path getDirectory(Path substratePath, String version, String osArch) {
+            return substratePath.resolve(directory).resolve(version).resolve(osArch);
+        }
+    }
+
+    private final Path root;
+    private final Path substratePath;
+    private final URI repository;
+    private final long maxSize;
+    private final boolean offline;
+    private final Map<String, String> checksums;
+    private final Set<String> pinned;
+    private final long buildStartMillis;
+    private final Logger logger;
+
+    /**
+     * @param root the cache directory
+     * @param substratePath the directory where Substrate looks for the SDKs
+     * @param repository the base URL of the archives, or a local directory
+     * @param maxSize the maximum size of the unpacked SDKs, in bytes
+     * @param offline if true, missing SDKs fail instead of being downloaded
+     * @param checksums the expected SHA-256 of the archives, by file name
+     * @param pinned the hashes of the SDKs used by the current build, that this cache adds to
+     * @param buildStartMillis the start of the current build
+     * @param logger the logger of the task
+     */
+    StaticSdkCache(Path root, Path substratePath, String repository, long maxSize, boolean offline,
+                   Map<String, String> checksums, Set<String> pinned, long buildStartMillis, Logger logger) {
+        this.root = root.toAbsolutePath();
+        this.substratePath = substratePath.toAbsolutePath();
+        this.repository = toUri(repository);
+        this.maxSize = maxSize;
+        this.offline = offline;
+        this.checksums = checksums;
+        this.pinned = pinned;
+        this.buildStartMillis = buildStartMillis;
+        this.logger = logger;
+    }
+
+    /**
+     * Makes the given SDK available where Substrate expects it, downloading and
+     * unpacking it only if it is not in the cache yet.
+     *
+     * @param kind the SDK
+     * @param version the SDK version
+     * @param osArch the target, like linux-x86_64
+     * @return the directory of the SDK, as used by Substrate
+     * @throws IOException if the SDK can't be downloaded, or it is missing in offline mode
+     */
+    Path install(Kind kind, String version, String osArch) throws IOException {
+        String key = kind.directory + "-" + version + "-" + osArch;
+        Path link = kind.getDirectory(substratePath, version, osArch);
+        String hash;
+        try (Closeable lock = lock(key)) {
+            hash = installCached(key, link);
+            if (hash == null) {
+                if (Files.isDirectory(link, LinkOption.NOFOLLOW_LINKS)) {
+                    logger.info("Using {}, that was installed by Substrate", link);
+                    return link;
+                }
+                String archive = String.format(Locale.ROOT, kind.archive, version, osArch);
+                if (offline) {
+                    throw new IOException("The static SDK " + archive + " is not in the cache at " + root +
+                            ", and it can't be downloaded in offline mode");
+                }
+                hash = download(archive);
+                try (Closeable cacheLock = lock("cache")) {
+                    writeIndex(key, hash, link);
+                    touch(getContent(hash));
+                    link(link, getContent(hash));
+                }
+            }
+        }
+        pinned.add(hash);
+        evict();
+        return link;
+    }
+
+    /**
+     * @param kind the SDK
+     * @param version the SDK version
+     * @param osArch the target, like linux-x86_64
+     * @return true if the SDK is in the cache, or was installed by Substrate
+     * @throws IOException if the cache can't be read
+     */
+    boolean isInstalled(Kind kind, String version, String osArch) throws IOException {
+        String key = kind.directory + "-" + version + "-" + osArch;
+        Path link = kind.getDirectory(substratePath, version, osArch);
+        try (Closeable cacheLock = lock("cache")) {
+            String hash = readIndex(key);
+            if (hash != null && Files.isRegularFile(getContent(hash).resolve(MARKER))) {
+                return true;
+            }
+        }
+        return Files.isDirectory(link, LinkOption.NOFOLLOW_LINKS);
+    }
+
+    /**
+     * @return the hash of the SDK if it is in the cache, after making sure the link is in place
+     */
+    private String installCached(String key, Path link) throws IOException {
+        try (Closeable cacheLock = lock("cache")) {
+            String hash = readIndex(key);
+            if (hash == null || !Files.isRegularFile(getContent(hash).resolve(MARKER))) {
+                return null;
+            }
+            logger.info("Using static SDK {} from the cache", key);
+            touch(getContent(hash));
+            link(link, getContent(hash));
+            return hash;
+        }
+    }
+
+    /**
+     * Downloads and verifies the archive, and unpacks it if its content is not in the cache
+     *
+     * @return the SHA-256 of the archive
+     */
+    private String download(String archive) throws IOException {
+        URI uri = repository.resolve(archive);
+        String fileName = archive.substring(archive.lastIndexOf('/') + 1);
+        String expected = checksums.containsKey(fileName) ? checksums.get(fileName) : readPublishedChecksum(uri);
+        Path tmp = Files.createDirectories(root.resolve("tmp"));
+        Path file = tmp.resolve(UUID.randomUUID() + ".zip");
+        try {
+            logger.lifecycle("Downloading static SDK {}", uri);
+            MessageDigest digest = newDigest();
+            try (InputStream in = new DigestInputStream(open(uri), digest)) {
+                Files.copy(in, file);
+            }
+            String hash = toHex(digest.digest());
+            if (expected == null) {
+                logger.warn("There is no checksum for {}, its SHA-256 is {}", fileName, hash);
+            } else if (!expected.equalsIgnoreCase(hash)) {
+                throw new IOException("Checksum mismatch for " + uri + ": expected " + expected + " but was " + hash);
+            }
+            Path content = getContent(hash);
+            if (!Files.isRegularFile(content.resolve(MARKER))) {
+                unpack(file, content, hash);
+            }
+            return hash.toLowerCase(Locale.ROOT);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Unpacks the archive in a temporary directory, that is renamed when complete
+     */
+    private void unpack(Path archive, Path content, String hash) throws IOException {
+        Path tmp = root.resolve("tmp").resolve(UUID.randomUUID().toString());
+        long size = 0;
+        try {
+            try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archive))) {
+                for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                    Path target = tmp.resolve(entry.getName()).normalize();
+                    if (!target.startsWith(tmp)) {
+                        throw new IOException("Invalid entry " + entry.getName() + " in " + archive);
+                    }
+                    if (entry.isDirectory()) {
+                        Files.createDirectories(target);
+                    } else {
+                        Files.createDirectories(target.getParent());
+                        size += Files.copy(zip, target);
+                    }
+                }
+            }
+            Properties marker = new Properties();
+            marker.setProperty("sha256", hash);
+            marker.setProperty("size", Long.toString(size));
+            try (OutputStream out = Files.newOutputStream(tmp.resolve(MARKER))) {
+                marker.store(out, null);
+            }
+            Files.createDirectories(content.getParent());
+            try {
+                Files.move(tmp, content, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileSystemException e) {
+                // Another build unpacked the same content in the meantime
+                if (!Files.isRegularFile(content.resolve(MARKER))) {
+                    throw e;
+                }
+            }
+        } finally {
+            delete(tmp);
+        }
+    }
+
+    /**
+     * Points the directory that Substrate uses to the content of the cache. Where links
+     * are not available, like on Windows without developer mode, the content is copied.
+     */
+    private void link(Path link, Path content) throws IOException {
+        if (Files.isSymbolicLink(link) && Files.readSymbolicLink(link).equals(content)) {
+            return;
+        }
+        if (Files.isDirectory(link, LinkOption.NOFOLLOW_LINKS)) {
+            if (!Files.isRegularFile(link.resolve(MARKER))) {
+                // Installed by Substrate, or by a previous version of the plugin
+                logger.info("Leaving {} as it is", link);
+                return;
+            }
+            if (readMarker(link).equals(readMarker(content))) {
+                return;
+            }
+        }
+        Files.createDirectories(link.getParent());
+        Path tmp = link.resolveSibling(link.getFileName() + "." + UUID.randomUUID());
+        try {
+            try {
+                Files.createSymbolicLink(tmp, content);
+            } catch (UnsupportedOperationException | FileSystemException e) {
+                logger.info("Copying {} to {}, links are not available: {}", content, link, e.getMessage());
+                copy(content, tmp);
+            }
+            if (Files.isDirectory(link, LinkOption.NOFOLLOW_LINKS)) {
+                delete(link);
+            }
+            Files.move(tmp, link, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            if (Files.isSymbolicLink(tmp)) {
+                Files.delete(tmp);
+            } else {
+                delete(tmp);
+            }
+        }
+    }
+
+    /**
+     * Removes the least recently used SDKs until the cache fits in its maximum size. The SDKs
+     * pinned by this build, and the ones used by any build since this one started, are kept,
+     * as other builds running at the same time might be using them.
+     */
+    private void evict() throws IOException {
+        Path contents = root.resolve("content");
+        try (Closeable cacheLock = lock("cache")) {
+            if (!Files.isDirectory(contents)) {
+                return;
+            }
+            List<Path> entries = new ArrayList<>();
+            Map<Path, Long> sizes = new HashMap<>();
+            long total = 0;
+            try (Stream<Path> stream = Files.list(contents)) {
+                for (Path content : (Iterable<Path>) stream::iterator) {
+                    if (Files.isRegularFile(content.resolve(MARKER))) {
+                        long size = Long.parseLong(readMarker(content).getProperty("size", "0"));
+                        sizes.put(content, size);
+                        entries.add(content);
+                        total += size;
+                    }
+                }
+            }
+            entries.sort(Comparator.comparing(StaticSdkCache::getLastUsed));
+            for (Path content : entries) {
+                if (total <= maxSize) {
+                    break;
+                }
+                if (pinned.contains(content.getFileName().toString()) ||
+                        getLastUsed(content).toMillis() >= buildStartMillis) {
+                    continue;
+                }
+                logger.lifecycle("Removing static SDK {} from the cache, it exceeds {} bytes", content.getFileName(), maxSize);
+                removeIndex(content.getFileName().toString());
+                // Renamed first, so no build finds it half deleted
+                Path tmp = root.resolve("tmp").resolve(UUID.randomUUID().toString());
+                Files.createDirectories(tmp.getParent());
+                Files.move(content, tmp, StandardCopyOption.ATOMIC_MOVE);
+                delete(tmp);
+                total -= sizes.get(content);
+            }
+        }
+    }
+
+    /**
+     * Removes the index entries and the links of the given content
+     */
+    private void removeIndex(String hash) throws IOException {
+        Path index = root.resolve("index");
+        if (!Files.isDirectory(index)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.list(index)) {
+            for (Path entry : (Iterable<Path>) stream::iterator) {
+                List<String> lines = Files.readAllLines(entry, StandardCharsets.UTF_8);
+                if (lines.size() > 1 && lines.get(0).equals(hash)) {
+                    Path link = Paths.get(lines.get(1));
+                    if (Files.isSymbolicLink(link)) {
+                        Files.delete(link);
+                    } else if (Files.isRegularFile(link.resolve(MARKER))) {
+                        delete(link);
+                    }
+                    Files.delete(entry);
+                }
+            }
+        }
+    }
+
+    private String readIndex(String key) throws IOException {
+        Path entry = root.resolve("index").resolve(key);
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        List<String> lines = Files.readAllLines(entry, StandardCharsets.UTF_8);
+        return lines.isEmpty() ? null : lines.get(0);
+    }
+
+    private void writeIndex(String key, String hash, Path link) throws IOException {
+        Path index = Files.createDirectories(root.resolve("index"));
+        Path tmp = index.resolve(key + "." + UUID.randomUUID());
+        Files.write(tmp, (hash + "\n" + link + "\n").getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp, index.resolve(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path getContent(String hash) {
+        return root.resolve("content").resolve(hash.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Takes the lock with the given name, both in this process and in the file system
+     */
+    private Closeable lock(String name) throws IOException {
+        Path file = Files.createDirectories(root.resolve("locks")).resolve(name + ".lock");
+        ReentrantLock processLock = LOCKS.computeIfAbsent(file, f -> new ReentrantLock());
+        processLock.lock();
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock tryLock;
+            try {
+                // Polling, as a blocking lock held by any thread counts for the whole process
+                // in the deadlock detection of the file system
+                while ((tryLock = channel.tryLock()) == null) {
+                    Thread.sleep(LOCK_POLL_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                channel.close();
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for " + file, e);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+            FileLock fileLock = tryLock;
+            return () -> {
+                try {
+                    fileLock.release();
+                    channel.close();
+                } finally {
+                    processLock.unlock();
+                }
+            };
+        } catch (IOException | RuntimeException e) {
+            processLock.unlock();
+            throw e;
+        }
+    }
+
+    private String readPublishedChecksum(URI uri) throws IOException {
+        URI checksum = URI.create(uri + ".sha256");
+        try (InputStream in = open(checksum)) {
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+            return text.isEmpty() ? null : text.split("\\s+")[0];
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static InputStream open(URI uri) throws IOException {
+        URLConnection connection = uri.toURL().openConnection();
+        connection.setConnectTimeout(TIMEOUT);
+        connection.setReadTimeout(TIMEOUT);
+        if (connection instanceof HttpURLConnection) {
+            int code = ((HttpURLConnection) connection).getResponseCode();
+            if (code == HttpURLConnection.HTTP_NOT_FOUND) {
+                throw new FileNotFoundException(uri.toString());
+            } else if (code >= 400) {
+                throw new IOException("Error downloading " + uri + ": HTTP " + code);
+            }
+        }
+        return connection.getInputStream();
+    }
+
+    private static URI toUri(String repository) {
+        URI uri = repository.matches("[a-zA-Z][a-zA-Z0-9+.-]+:.*") ?
+                URI.create(repository) : Paths.get(repository).toAbsolutePath().toUri();
+        String text = uri.toString();
+        return text.endsWith("/") ? uri : URI.create(text + "/");
+    }
+
+    private static Properties readMarker(Path content) throws IOException {
+        Properties marker = new Properties();
+        try (InputStream in = Files.newInputStream(content.resolve(MARKER))) {
+            marker.load(in);
+        }
+        return marker;
+    }
+
+    private static void touch(Path content) throws IOException {
+        Files.setLastModifiedTime(content.resolve(MARKER), FileTime.fromMillis(System.currentTimeMillis()));
+    }
+
+    private static FileTime getLastUsed(Path content) {
+        try {
+            return Files.getLastModifiedTime(content.resolve(MARKER));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void copy(Path source, Path target) throws IOException {
+        try (Stream<Path> stream = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) stream::iterator) {
+                Path copy = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(path, copy, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+            }
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        if (!Files.exists(directory, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) stream.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder();
+        for (byte b : bytes) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+}
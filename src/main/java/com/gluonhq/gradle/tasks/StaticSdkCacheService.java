@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import com.gluonhq.gradle.ClientExtension;
+import com.gluonhq.gradle.SdkCacheConfiguration;
+import com.gluonhq.substrate.Constants;
+
+/**
+ * Gives the GluonFX tasks of a build access to the machine-wide {@link StaticSdkCache},
+ * with the settings of the sdkCache block of the gluonfx extension.
+ */
+public abstract class StaticSdkCacheService implements BuildService<StaticSdkCacheService.Params> {
+
+    public static final String NAME = "gluonfxStaticSdkCache";
+
+    /** The SDKs installed or used by this build, by hash, that the cache doesn't evict */
+    private final Set<String> pinned = ConcurrentHashMap.newKeySet();
+    private final long buildStartMillis = System.currentTimeMillis();
+
+    public interface Params extends BuildServiceParameters {
+
+        Property<Boolean> getEnabled();
+
+        DirectoryProperty getDirectory();
+
+        Property<String> getRepository();
+
+        Property<String> getMaxSize();
+
+        /**
+         * True with the offline setting of the extension, or with Gradle's --offline
+         */
+        Property<Boolean> getOffline();
+
+        MapProperty<String, String> getChecksums();
+    }
+
+    /**
+     * Registers the service, with the settings of the project that uses it first, as
+     * the cache is shared by all the projects of the build.
+     *
+     * @param project the project
+     * @return the service
+     */
+    static Provider<StaticSdkCacheService> register(Project project) {
+        SdkCacheConfiguration sdkCache = project.getExtensions().getByType(ClientExtension.class).getSdkCacheConfig();
+        return project.getGradle().getSharedServices()
+                .registerIfAbsent(NAME, StaticSdkCacheService.class, spec -> {
+                    spec.getParameters().getEnabled().set(sdkCache.getEnabled());
+                    spec.getParameters().getDirectory().fileProvider(sdkCache.getDirectory()
+                            .map(project::file)
+                            .orElse(project.provider(() -> Constants.USER_SUBSTRATE_PATH.resolve("cache").toFile())));
+                    spec.getParameters().getRepository().set(sdkCache.getRepository());
+                    spec.getParameters().getMaxSize().set(sdkCache.getMaxSize());
+                    spec.getParameters().getOffline().set(sdkCache.getOffline()
+                            .map(offline -> offline || project.getGradle().getStartParameter().isOffline()));
+                    spec.getParameters().getChecksums().set(sdkCache.getChecksums());
+                });
+    }
+
+    /**
+     * @return true if the static SDKs are managed by the cache
+     */
+    public boolean isEnabled() {
+        return getParameters().getEnabled().get();
+    }
+
+    /**
+     * @return true if the SDKs that are not in the cache can't be downloaded
+     */
+    public boolean isOffline() {
+        return getParameters().getOffline().get();
+    }
+
+    /**
+     * Makes the given static SDK available where Substrate expects it.
+     *
+     * @param kind the SDK
+     * @param version the SDK version
+     * @param osArch the target, like linux-x86_64
+     * @param logger the logger of the task
+     * @return the directory of the SDK
+     * @throws IOException if it can't be installed
+     */
+    Path install(StaticSdkCache.Kind kind, String version, String osArch, Logger logger) throws IOException {
+        return createCache(logger).install(kind, version, osArch);
+    }
+
+    /**
+     * @param kind the SDK
+     * @param version the SDK version
+     * @param osArch the target, like linux-x86_64
+     * @param logger the logger of the task
+     * @return true if the static SDK is available, without downloading it
+     * @throws IOException if the cache can't be read
+     */
+    boolean isInstalled(StaticSdkCache.Kind kind, String version, String osArch, Logger logger) throws IOException {
+        return createCache(logger).isInstalled(kind, version, osArch);
+    }
+
+    private StaticSdkCache createCache(Logger logger) {
+        Params parameters = getParameters();
+        return new StaticSdkCache(parameters.getDirectory().get().getAsFile().toPath(),
+                Constants.USER_SUBSTRATE_PATH, parameters.getRepository().get(),
+                Sizes.parse(parameters.getMaxSize().get()), parameters.getOffline().get(),
+                parameters.getChecksums().get(), pinned, buildStartMillis, logger);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.time.Duration;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import com.gluonhq.substrate.ProjectConfiguration;
+
+/**
+ * Keeps the Substrate {@link ProjectConfiguration} of each project and target
+ * during a build, so the GluonFX tasks that run in the daemon (package, install,
+ * run...) don't resolve the classpath and create it again. The compile and link
+ * steps run in a worker process, where {@link NativeWorkAction} keeps its own
+ * configurations.
+ */
+public abstract class SubstrateConfigurationService implements BuildService<BuildServiceParameters.None>, AutoCloseable {
+
+    public static final String NAME = "gluonfxSubstrateConfiguration";
+
+    private static final Logger LOGGER = Logging.getLogger(SubstrateConfigurationService.class);
+
+    private final SubstrateConfigurations configurations = new SubstrateConfigurations(0);
+
+    SubstrateConfigurations getConfigurations() {
+        return configurations;
+    }
+
+    /**
+     * @return the number of times a configuration was reused instead of created
+     */
+    public int getReusedCount() {
+        return configurations.getReusedCount();
+    }
+
+    /**
+     * @return the accumulated creation time of the configurations that were reused
+     */
+    public Duration getTimeSaved() {
+        return configurations.getTimeSaved();
+    }
+
+    @Override
+    public void close() {
+        if (getReusedCount() > 0) {
+            LOGGER.lifecycle("GluonFX configuration reused {} time(s), saved {} ms",
+                    getReusedCount(), getTimeSaved().toMillis());
+        }
+    }
+}
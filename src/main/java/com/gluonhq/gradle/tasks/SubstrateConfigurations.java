@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import com.gluonhq.substrate.ProjectConfiguration;
+
+/**
+ * Substrate {@link ProjectConfiguration}s by the values that define them, created
+ * only the first time they are requested. Used by {@link SubstrateConfigurationService}
+ * within a build, and by {@link NativeWorkAction} within a worker process, that
+ * Gradle reuses for the compile and link steps.
+ */
+final class SubstrateConfigurations {
+
+    private static final Logger LOGGER = Logging.getLogger(SubstrateConfigurations.class);
+
+    private final Map<List<Object>, Entry> configurations = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger reused = new AtomicInteger();
+    private final AtomicLong savedNanos = new AtomicLong();
+
+    /**
+     * @param maxSize the number of configurations to keep, the least recently used
+     *                are dropped first, or 0 to keep all of them
+     */
+    SubstrateConfigurations(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the configuration for the given key, creating it only the first time
+     * it is requested.
+     *
+     * @param key the values that identify the configuration
+     * @param factory creates the configuration when it is not available yet
+     * @return the Substrate project configuration
+     */
+    ProjectConfiguration get(List<Object> key, Supplier<ProjectConfiguration> factory) {
+        boolean[] created = new boolean[1];
+        Entry entry = configurations.computeIfAbsent(key, k -> {
+            created[0] = true;
+            long start = System.nanoTime();
+            ProjectConfiguration configuration = factory.get();
+            return new Entry(configuration, System.nanoTime() - start);
+        });
+        entry.lastUsed = clock.incrementAndGet();
+        if (created[0]) {
+            if (maxSize > 0 && configurations.size() > maxSize) {
+                configurations.entrySet().stream()
+                        .filter(e -> e.getValue() != entry)
+                        .min(Comparator.comparingLong(e -> e.getValue().lastUsed))
+                        .ifPresent(e -> configurations.remove(e.getKey(), e.getValue()));
+            }
+        } else {
+            reused.incrementAndGet();
+            savedNanos.addAndGet(entry.creationNanos);
+            LOGGER.info("Reusing Substrate configuration, saved {} ms", Duration.ofNanos(entry.creationNanos).toMillis());
+        }
+        return entry.configuration;
+    }
+
+    /**
+     * @return the number of times a configuration was reused instead of created
+     */
+    int getReusedCount() {
+        return reused.get();
+    }
+
+    /**
+     * @return the accumulated creation time of the configurations that were reused
+     */
+    Duration getTimeSaved() {
+        return Duration.ofNanos(savedNanos.get());
+    }
+
+    private static final class Entry {
+        private final ProjectConfiguration configuration;
+        private final long creationNanos;
+        private volatile long lastUsed;
+
+        private Entry(ProjectConfiguration configuration, long creationNanos) {
+            this.configuration = configuration;
+            this.creationNanos = creationNanos;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Runs builds that apply the plugin with TestKit. The tasks that need GraalVM can't run
+ * here, so the checks use the tasks that only read the classpath.
+ */
+class GluonFXPluginFunctionalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void buildCacheIsRelocatable() throws IOException {
+        Path cacheDir = tempDir.resolve("build-cache");
+        Path first = createProject(tempDir.resolve("first"), cacheDir);
+        Path second = createProject(tempDir.resolve("second"), cacheDir);
+
+        BuildResult result = run(first, "nativeAnalyze", "--build-cache");
+        assertEquals(TaskOutcome.SUCCESS, result.task(":nativeAnalyze").getOutcome());
+
+        result = run(second, "nativeAnalyze", "--build-cache");
+        assertEquals(TaskOutcome.FROM_CACHE, result.task(":nativeAnalyze").getOutcome());
+    }
+
+    @Test
+    void configurationCacheIsReused() throws IOException {
+        Path project = createProject(tempDir.resolve("app"), tempDir.resolve("build-cache"));
+        // nativeCompile reads the release file of GraalVM at configuration time
+        Path graalvm = tempDir.resolve("graalvm");
+        write(graalvm.resolve("release"), "JAVA_VERSION=\"21\"\n");
+        Files.writeString(project.resolve("build.gradle"), "\ngluonfx {\n" +
+                "    graalvmHome = '" + graalvm.toAbsolutePath().toString().replace('\\', '/') + "'\n" +
+                "}\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // with --dry-run, the native tasks that need GraalVM are stored in the cache without running
+        BuildResult result = run(project, "nativeAnalyze", "nativeBuild", "nativeRunAgent", "--dry-run",
+                "--configuration-cache");
+        assertTrue(result.getOutput().contains("Configuration cache entry stored"), result.getOutput());
+        result = run(project, "nativeAnalyze", "--configuration-cache");
+        assertEquals(TaskOutcome.SUCCESS, result.task(":nativeAnalyze").getOutcome());
+
+        result = run(project, "nativeAnalyze", "nativeBuild", "nativeRunAgent", "--dry-run", "--configuration-cache");
+        assertTrue(result.getOutput().contains("Configuration cache entry reused"), result.getOutput());
+        result = run(project, "nativeAnalyze", "--configuration-cache");
+        assertTrue(result.getOutput().contains("Configuration cache entry reused"), result.getOutput());
+        assertEquals(TaskOutcome.UP_TO_DATE, result.task(":nativeAnalyze").getOutcome());
+    }
+
+    static Path createProject(Path projectDir, Path cacheDir) throws IOException {
+        write(projectDir.resolve("settings.gradle"),
+                "rootProject.name = 'app'\n\n" +
+                "buildCache {\n" +
+                "    local {\n" +
+                "        directory = file('" + cacheDir.toAbsolutePath().toString().replace('\\', '/') + "')\n" +
+                "    }\n" +
+                "}\n");
+        write(projectDir.resolve("build.gradle"),
+                "plugins {\n" +
+                "    id 'java'\n" +
+                "    id 'com.gluonhq.gluonfx-gradle-plugin'\n" +
+                "}\n\n" +
+                "ext.mainClassName = 'com.example.Main'\n");
+        write(projectDir.resolve("src/main/java/com/example/Main.java"),
+                "package com.example;\n\n" +
+                "public class Main {\n" +
+                "    public static void main(String[] args) throws Exception {\n" +
+                "        Class.forName(\"com.example.Main\");\n" +
+                "    }\n" +
+                "}\n");
+        return projectDir;
+    }
+
+    static BuildResult run(Path projectDir, String... arguments) {
+        return GradleRunner.create()
+                .withProjectDir(projectDir.toFile())
+                .withPluginClasspath()
+                .withArguments(arguments)
+                .build();
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.gradle.api.Project;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.gluonhq.gradle.tasks.NativeCacheReportService;
+import com.gluonhq.gradle.tasks.NativeCompileTask;
+
+class GluonFXPluginTest {
+
+    @TempDir
+    Path projectDir;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        project = ProjectBuilder.builder().withProjectDir(projectDir.toFile()).build();
+        project.getPluginManager().apply(JavaPlugin.class);
+        project.getPluginManager().apply(GluonFXPlugin.class);
+        project.getExtensions().getByType(ClientExtension.class).getGraalvmHome().set(projectDir.toString());
+    }
+
+    @Test
+    void nativeCompileOutputsAreTheObjectFilesAndTheReport() {
+        NativeCompileTask task = project.getTasks().named(GluonFXPlugin.NATIVE_COMPILE_TASK_NAME, NativeCompileTask.class).get();
+        File gvm = task.getOutputDirectory().get().getAsFile().getParentFile();
+
+        assertEquals(Set.of(new File(gvm, "tmp"), new File(gvm, "native-image-report.json")),
+                task.getOutputs().getFiles().getFiles());
+    }
+
+    @Test
+    void nativeCompileInputsAreTheSubstrateConfiguration() {
+        NativeCompileTask task = project.getTasks().named(GluonFXPlugin.NATIVE_COMPILE_TASK_NAME, NativeCompileTask.class).get();
+
+        Map<String, Object> inputs = task.getInputs().getProperties();
+
+        for (String name : List.of("target", "targetTriplet", "appName", "appIdentifier", "bundlesList", "resourcesList",
+                "reflectionList", "jniList", "compilerArgs", "javafxStaticSdkVersion", "enableSwRendering", "graalvmVersion")) {
+            assertTrue(inputs.containsKey(name), name + " is not an input: " + inputs.keySet());
+        }
+        // the builder and worker settings don't change the object file
+        for (String name : List.of("builderHeapSize", "builderThreads", "maxParallelCompiles", "workerHeapSize",
+                "linkerArgs", "runtimeArgs", "graalvmHome")) {
+            assertFalse(inputs.containsKey(name), name + " is an input");
+        }
+        File classes = project.getExtensions().getByType(SourceSetContainer.class).getByName("main")
+                .getOutput().getClassesDirs().getSingleFile();
+        assertTrue(task.getInputs().getFiles().getFiles().contains(classes));
+    }
+
+    @Test
+    void targetVariantsUseTheWorkerSettings() {
+        ClientExtension extension = project.getExtensions().getByType(ClientExtension.class);
+        extension.getTargets().set(List.of("host", "linux-aarch64"));
+        extension.getWorkerHeapSize().set("2g");
+        extension.getWorkerJvmArgs().set(List.of("-XX:+UseParallelGC"));
+        extension.getMaxParallelCompiles().set(2);
+        ((ProjectInternal) project).evaluate();
+
+        for (String name : List.of(GluonFXPlugin.NATIVE_COMPILE_TASK_NAME, GluonFXPlugin.NATIVE_COMPILE_TASK_NAME + "Host",
+                GluonFXPlugin.NATIVE_COMPILE_TASK_NAME + "LinuxAarch64")) {
+            NativeCompileTask task = project.getTasks().named(name, NativeCompileTask.class).get();
+            assertEquals("2g", task.getWorkerHeapSize().get(), name);
+            assertEquals(List.of("-XX:+UseParallelGC"), task.getWorkerJvmArgs().get(), name);
+            assertEquals(2, (int) task.getMaxParallelCompiles().get(), name);
+        }
+        NativeCompileTask aarch64 = project.getTasks().named(GluonFXPlugin.NATIVE_COMPILE_TASK_NAME + "LinuxAarch64",
+                NativeCompileTask.class).get();
+        assertEquals("linux-aarch64", aarch64.getTarget().get());
+        assertEquals(project.getLayout().getBuildDirectory().dir("gluonfx/linux-aarch64").get().getAsFile(),
+                aarch64.getBuildRoot().get().getAsFile());
+    }
+
+    @Test
+    void cacheReportIncludesTheTaskVariants() {
+        NativeCacheReportService.Params parameters = (NativeCacheReportService.Params) project.getGradle()
+                .getSharedServices().getRegistrations().getByName(NativeCacheReportService.NAME).getParameters();
+
+        Set<String> taskPaths = parameters.getTaskPaths().get();
+
+        assertTrue(taskPaths.contains(":" + GluonFXPlugin.NATIVE_COMPILE_TASK_NAME), taskPaths.toString());
+        assertTrue(taskPaths.contains(":" + GluonFXPlugin.NATIVE_LINK_TASK_NAME), taskPaths.toString());
+        assertTrue(taskPaths.contains(":" + GluonFXPlugin.NATIVE_COMPILE_INSTRUMENTED_TASK_NAME), taskPaths.toString());
+        assertTrue(taskPaths.contains(":" + GluonFXPlugin.NATIVE_PROFILE_TASK_NAME), taskPaths.toString());
+    }
+}
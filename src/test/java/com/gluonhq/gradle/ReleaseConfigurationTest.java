@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReleaseConfigurationTest {
+
+    @TempDir
+    Path projectDir;
+
+    @Test
+    void settingsWithoutValueAreNotInTheMap() {
+        ReleaseConfiguration release = createRelease();
+        release.setVendor("Gluon");
+
+        Map<String, String> values = release.toMap();
+
+        assertEquals("Gluon", values.get("vendor"));
+        assertEquals("false", values.get("macAppStore"));
+        assertEquals("", values.get("description"));
+        assertFalse(values.containsKey("providedKeyStorePath"));
+        assertFalse(values.containsValue(null));
+    }
+
+    @Test
+    void mapIsConvertedToTheSubstrateConfiguration() {
+        ReleaseConfiguration release = createRelease();
+        release.setPackageType("dmg");
+        release.setDescription("An application");
+        release.setVersion("2.1");
+        release.setMacAppStore(true);
+        release.setBundleName("App");
+        release.setSkipSigning(true);
+        release.setVersionCode("21");
+        release.setProvidedKeyAlias("release");
+
+        com.gluonhq.substrate.model.ReleaseConfiguration substrate =
+                ReleaseConfiguration.toSubstrate(Map.copyOf(release.toMap()));
+
+        assertEquals("dmg", substrate.getPackageType());
+        assertEquals("An application", substrate.getDescription());
+        assertEquals("2.1", substrate.getVersion());
+        assertTrue(substrate.isMacAppStore());
+        assertEquals("App", substrate.getBundleName());
+        assertTrue(substrate.isSkipSigning());
+        assertEquals("21", substrate.getVersionCode());
+        assertEquals("release", substrate.getProvidedKeyAlias());
+        assertNull(substrate.getProvidedKeyStorePath());
+    }
+
+    @Test
+    void missingBooleansAreFalse() {
+        com.gluonhq.substrate.model.ReleaseConfiguration substrate = ReleaseConfiguration.toSubstrate(Map.of());
+
+        assertFalse(substrate.isMacAppStore());
+        assertFalse(substrate.isSkipSigning());
+        assertNull(substrate.getVendor());
+    }
+
+    private ReleaseConfiguration createRelease() {
+        return new ReleaseConfiguration(ProjectBuilder.builder().withProjectDir(projectDir.toFile()).build());
+    }
+}
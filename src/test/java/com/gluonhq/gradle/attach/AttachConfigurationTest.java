@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.attach;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+
+import org.gradle.api.Project;
+import org.gradle.api.attributes.Usage;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.gluonhq.gradle.ClientExtension;
+import com.gluonhq.gradle.GluonFXPlugin;
+
+class AttachConfigurationTest {
+
+    private static final String VERSION = "4.0.23";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void classpathsRequestTheTargetPlatform() {
+        Project project = ProjectBuilder.builder().withProjectDir(tempDir.toFile()).build();
+        project.getPluginManager().apply(GluonFXPlugin.class);
+        project.getPluginManager().apply(JavaPlugin.class);
+        project.getExtensions().getByType(ClientExtension.class).getTarget().set("android");
+
+        for (String name : List.of(JavaPlugin.COMPILE_CLASSPATH_CONFIGURATION_NAME, JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME,
+                JavaPlugin.TEST_COMPILE_CLASSPATH_CONFIGURATION_NAME, JavaPlugin.TEST_RUNTIME_CLASSPATH_CONFIGURATION_NAME)) {
+            assertEquals("android", project.getConfigurations().getByName(name)
+                    .getAttributes().getAttribute(AttachConfiguration.PLATFORM_ATTRIBUTE), name);
+        }
+    }
+
+    @Test
+    void classpathsResolveTheArtifactsOfTheTargetPlatform() throws IOException {
+        Path repository = tempDir.resolve("repo");
+        // util is published with a POM only, storage with Gradle module metadata
+        writePomModule(repository, "util", "android", "ios");
+        writeGradleModule(repository, "storage", "desktop", "android", "ios");
+        Project project = ProjectBuilder.builder().withProjectDir(tempDir.resolve("app").toFile()).build();
+        project.getPluginManager().apply(JavaPlugin.class);
+        project.getPluginManager().apply(GluonFXPlugin.class);
+        project.getRepositories().maven(maven -> maven.setUrl(repository.toUri()));
+        ClientExtension extension = project.getExtensions().getByType(ClientExtension.class);
+        extension.getAttachConfig().services("storage");
+        extension.getAttachConfig().setVersion(VERSION);
+        extension.getTarget().set("android");
+
+        Set<String> runtime = Set.of("storage-" + VERSION + "-android.jar", "util-" + VERSION + "-android.jar");
+        Set<String> api = Set.of("storage-" + VERSION + ".jar", "util-" + VERSION + ".jar");
+        assertEquals(runtime, resolve(project, JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME));
+        assertEquals(runtime, resolve(project, JavaPlugin.TEST_RUNTIME_CLASSPATH_CONFIGURATION_NAME));
+        assertEquals(api, resolve(project, JavaPlugin.COMPILE_CLASSPATH_CONFIGURATION_NAME));
+        assertEquals(api, resolve(project, JavaPlugin.TEST_COMPILE_CLASSPATH_CONFIGURATION_NAME));
+
+        project.getConfigurations().create("custom", custom -> {
+            custom.extendsFrom(project.getConfigurations().getByName(JavaPlugin.IMPLEMENTATION_CONFIGURATION_NAME));
+            custom.getAttributes().attribute(Usage.USAGE_ATTRIBUTE, project.getObjects().named(Usage.class, Usage.JAVA_RUNTIME));
+        });
+        assertEquals(runtime, resolve(project, "custom"));
+    }
+
+    @Test
+    void unknownTargetsUseTheDesktopPlatform() {
+        assertEquals(AttachConfiguration.PLATFORM_IOS, AttachConfiguration.getPlatform("ios-sim"));
+        assertEquals(AttachConfiguration.PLATFORM_DESKTOP, AttachConfiguration.getPlatform("linux-aarch64"));
+        assertEquals(AttachConfiguration.PLATFORM_DESKTOP, AttachConfiguration.getPlatform("unknown"));
+    }
+
+    private static Set<String> resolve(Project project, String configuration) {
+        return project.getConfigurations().getByName(configuration).getFiles().stream()
+                .map(File::getName)
+                .collect(Collectors.toSet());
+    }
+
+    private static void writePomModule(Path repository, String module, String... classifiers) throws IOException {
+        Path dir = writeJars(repository, module, classifiers);
+        Files.writeString(dir.resolve(module + "-" + VERSION + ".pom"), pom(module, ""), StandardCharsets.UTF_8);
+    }
+
+    private static void writeGradleModule(Path repository, String module, String... classifiers) throws IOException {
+        Path dir = writeJars(repository, module, classifiers);
+        Files.writeString(dir.resolve(module + "-" + VERSION + ".pom"),
+                pom(module, "  <!-- do_not_remove: published-with-gradle-metadata -->\n"), StandardCharsets.UTF_8);
+        String jar = module + "-" + VERSION + ".jar";
+        Files.writeString(dir.resolve(module + "-" + VERSION + ".module"), "{\n" +
+                "  \"formatVersion\": \"1.1\",\n" +
+                "  \"component\": { \"group\": \"com.gluonhq.attach\", \"module\": \"" + module + "\", \"version\": \"" + VERSION + "\" },\n" +
+                "  \"variants\": [\n" +
+                variant("apiElements", "java-api", jar) + ",\n" +
+                variant("runtimeElements", "java-runtime", jar) + "\n" +
+                "  ]\n" +
+                "}\n", StandardCharsets.UTF_8);
+    }
+
+    private static String variant(String name, String usage, String jar) {
+        return "    { \"name\": \"" + name + "\",\n" +
+                "      \"attributes\": { \"org.gradle.category\": \"library\", \"org.gradle.dependency.bundling\": \"external\",\n" +
+                "        \"org.gradle.libraryelements\": \"jar\", \"org.gradle.usage\": \"" + usage + "\" },\n" +
+                "      \"files\": [ { \"name\": \"" + jar + "\", \"url\": \"" + jar + "\" } ] }";
+    }
+
+    private static String pom(String module, String marker) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n" +
+                marker +
+                "  <modelVersion>4.0.0</modelVersion>\n" +
+                "  <groupId>com.gluonhq.attach</groupId>\n" +
+                "  <artifactId>" + module + "</artifactId>\n" +
+                "  <version>" + VERSION + "</version>\n" +
+                "</project>\n";
+    }
+
+    private static Path writeJars(Path repository, String module, String... classifiers) throws IOException {
+        Path dir = Files.createDirectories(repository.resolve("com/gluonhq/attach").resolve(module).resolve(VERSION));
+        writeJar(dir.resolve(module + "-" + VERSION + ".jar"));
+        for (String classifier : classifiers) {
+            writeJar(dir.resolve(module + "-" + VERSION + "-" + classifier + ".jar"));
+        }
+        return dir;
+    }
+
+    private static void writeJar(Path jar) throws IOException {
+        try (OutputStream os = Files.newOutputStream(jar); JarOutputStream jos = new JarOutputStream(os)) {
+            jos.flush();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import groovy.json.JsonSlurper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AgentConfigMergerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sortsEntriesAndKeepsValueArrays() throws IOException {
+        Path session = write("session/reflect-config.json",
+                "[{\"name\":\"b.B\",\"methods\":[" +
+                        "{\"name\":\"m\",\"parameterTypes\":[\"java.lang.String\",\"int\"]}," +
+                        "{\"name\":\"a\",\"parameterTypes\":[\"int\",\"int\"]}]}," +
+                        "{\"name\":\"a.A\"}]").getParent();
+        write("session/proxy-config.json", "[{\"interfaces\":[\"x.B\",\"x.A\"]}]");
+
+        merge(AgentConfigMerger.Mode.ACCUMULATE, session);
+
+        List<Map<String, Object>> reflect = read("reflect-config.json");
+        assertEquals(List.of("a.A", "b.B"), names(reflect));
+        List<Map<String, Object>> methods = (List<Map<String, Object>>) reflect.get(1).get("methods");
+        assertEquals(List.of("a", "m"), names(methods));
+        assertEquals(List.of("int", "int"), methods.get(0).get("parameterTypes"));
+        assertEquals(List.of("java.lang.String", "int"), methods.get(1).get("parameterTypes"));
+
+        List<Map<String, Object>> proxies = read("proxy-config.json");
+        assertEquals(List.of("x.B", "x.A"), proxies.get(0).get("interfaces"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void accumulateMergesEntriesWithTheSameName() throws IOException {
+        write("target/reflect-config.json", "[{\"name\":\"a.A\",\"fields\":[{\"name\":\"x\"}]}]");
+        Path session = write("session/reflect-config.json",
+                "[{\"name\":\"a.A\",\"fields\":[{\"name\":\"y\"},{\"name\":\"x\"}]}," +
+                        "{\"name\":\"b.B\",\"allDeclaredMethods\":true}]").getParent();
+
+        List<AgentConfigMerger.FileReport> reports = merge(AgentConfigMerger.Mode.ACCUMULATE, session);
+
+        List<Map<String, Object>> reflect = read("reflect-config.json");
+        assertEquals(List.of("a.A", "b.B"), names(reflect));
+        assertEquals(List.of("x", "y"), names((List<Map<String, Object>>) reflect.get(0).get("fields")));
+        assertEquals(1, reports.size());
+        assertEquals(1, reports.get(0).added);
+        assertEquals(0, reports.get(0).removed);
+    }
+
+    @Test
+    void freshReplacesTheWholeConfiguration() throws IOException {
+        write("target/reflect-config.json", "[{\"name\":\"a.A\"}]");
+        write("target/jni-config.json", "[{\"name\":\"c.C\"}]");
+        write("target/native-image.properties", "Args = --verbose");
+        Path session = write("session/reflect-config.json", "[{\"name\":\"b.B\"}]").getParent();
+
+        List<AgentConfigMerger.FileReport> reports = merge(AgentConfigMerger.Mode.FRESH, session);
+
+        assertEquals(List.of("b.B"), names(read("reflect-config.json")));
+        assertFalse(Files.exists(tempDir.resolve("target/jni-config.json")));
+        assertTrue(Files.exists(tempDir.resolve("target/native-image.properties")));
+        assertEquals(2, reports.size());
+    }
+
+    @Test
+    void pruneRemovesMissingClasses() throws IOException {
+        write("target/reflect-config.json", "[{\"name\":\"a.A\"},{\"name\":\"gone.Gone\"}]");
+        Path session = write("session/reflect-config.json", "[{\"name\":\"b.B\"}]").getParent();
+
+        AgentConfigMerger merger = new AgentConfigMerger(AgentConfigMerger.Mode.PRUNE,
+                name -> !name.startsWith("gone."), name -> true);
+        merger.merge(tempDir.resolve("target"), List.of(session));
+
+        assertEquals(List.of("a.A", "b.B"), names(read("reflect-config.json")));
+    }
+
+    @Test
+    void filterOnlyAppliesToTheRecordedEntries() throws IOException {
+        // like the default exclusion rules of the agent
+        AgentFilter filter = new AgentFilter(List.of(), List.of("com.gluonhq.attach.**"));
+        write("target/reflect-config.json", "[{\"name\":\"a.A\"},{\"name\":\"com.gluonhq.attach.util.Services\"}]");
+        Path session = write("session/reflect-config.json",
+                "[{\"name\":\"b.B\"},{\"name\":\"com.gluonhq.attach.storage.StorageService\"}]").getParent();
+
+        for (AgentConfigMerger.Mode mode : List.of(AgentConfigMerger.Mode.ACCUMULATE, AgentConfigMerger.Mode.PRUNE)) {
+            List<AgentConfigMerger.FileReport> reports = new AgentConfigMerger(mode, name -> true, filter)
+                    .merge(tempDir.resolve("target"), List.of(session));
+
+            assertEquals(List.of("a.A", "b.B", "com.gluonhq.attach.util.Services"), names(read("reflect-config.json")), mode.name());
+            assertEquals(1, reports.get(0).filtered, mode.name());
+            assertEquals(0, reports.get(0).removed, mode.name());
+        }
+    }
+
+    private List<AgentConfigMerger.FileReport> merge(AgentConfigMerger.Mode mode, Path session) throws IOException {
+        Files.createDirectories(tempDir.resolve("target"));
+        return new AgentConfigMerger(mode, name -> true, name -> true)
+                .merge(tempDir.resolve("target"), List.of(session));
+    }
+
+    private Path write(String path, String content) throws IOException {
+        Path file = tempDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> read(String fileName) {
+        return (List<Map<String, Object>>) new JsonSlurper().parse(tempDir.resolve("target").resolve(fileName).toFile());
+    }
+
+    private static List<Object> names(List<Map<String, Object>> entries) {
+        return entries.stream().map(entry -> entry.get("name")).collect(Collectors.toList());
+    }
+}
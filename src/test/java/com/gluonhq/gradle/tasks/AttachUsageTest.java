@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AttachUsageTest {
+
+    private static final String DISPLAY = "com/gluonhq/attach/display/DisplayService";
+    private static final String LIFECYCLE = "com/gluonhq/attach/lifecycle/LifecycleService";
+    private static final String STORAGE = "com/gluonhq/attach/storage/StorageService";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void servicesUsedByServicesAreUsed() throws IOException {
+        Path app = ClassFiles.writeDirectory(tempDir.resolve("classes"), Map.of(
+                "com/example/Main.class", ClassFiles.create("com/example/Main", DISPLAY)));
+
+        AttachUsage usage = AttachUsage.analyze(List.of(app.toFile()), modules());
+
+        assertEquals(Map.of("display", "com.example.Main",
+                "lifecycle", "com.gluonhq.attach.display.impl.DesktopDisplayService"), usage.getReferencedBy());
+        assertEquals(Set.of("storage"), usage.getUnused());
+        assertEquals(Set.of("storage"), usage.getRemovable());
+    }
+
+    @Test
+    void utilIsUnusedWithoutServices() throws IOException {
+        Path app = ClassFiles.writeDirectory(tempDir.resolve("classes"), Map.of(
+                "com/example/Main.class", ClassFiles.create("com/example/Main", "java/lang/String")));
+
+        AttachUsage usage = AttachUsage.analyze(List.of(app.toFile()), modules());
+
+        assertEquals(Map.of(), usage.getReferencedBy());
+        assertEquals(Set.of("display", "lifecycle", "storage", "util"), usage.getUnused());
+        assertEquals(usage.getUnused(), usage.getRemovable());
+    }
+
+    @Test
+    void servicesMentionedInResourcesAreKept() throws IOException {
+        Path app = ClassFiles.writeDirectory(tempDir.resolve("classes"), Map.of(
+                "com/example/Main.class", ClassFiles.create("com/example/Main", "java/lang/String"),
+                "META-INF/native-image/reflect-config.json",
+                "[{\"name\":\"com.gluonhq.attach.storage.StorageService\"}]".getBytes(StandardCharsets.UTF_8)));
+
+        AttachUsage usage = AttachUsage.analyze(List.of(app.toFile()), modules());
+
+        assertEquals(Map.of("storage", "META-INF/native-image/reflect-config.json"), usage.getMentionedBy());
+        // the storage service is kept, so the services it uses are kept as well
+        assertEquals(Map.of("lifecycle", "com.gluonhq.attach.storage.impl.DesktopStorageService"), usage.getReferencedBy());
+        assertEquals(Set.of("display", "storage"), usage.getUnused());
+        assertEquals(Set.of("display"), usage.getRemovable());
+    }
+
+    private Map<String, List<File>> modules() throws IOException {
+        Map<String, List<File>> modules = new TreeMap<>();
+        modules.put("display", List.of(ClassFiles.writeJar(tempDir.resolve("display.jar"), Map.of(
+                DISPLAY + ".class", ClassFiles.create(DISPLAY),
+                "com/gluonhq/attach/display/impl/DesktopDisplayService.class",
+                ClassFiles.create("com/gluonhq/attach/display/impl/DesktopDisplayService", DISPLAY, LIFECYCLE))).toFile()));
+        modules.put("lifecycle", List.of(ClassFiles.writeJar(tempDir.resolve("lifecycle.jar"), Map.of(
+                LIFECYCLE + ".class", ClassFiles.create(LIFECYCLE))).toFile()));
+        modules.put("storage", List.of(ClassFiles.writeJar(tempDir.resolve("storage.jar"), Map.of(
+                STORAGE + ".class", ClassFiles.create(STORAGE),
+                "com/gluonhq/attach/storage/impl/DesktopStorageService.class",
+                ClassFiles.create("com/gluonhq/attach/storage/impl/DesktopStorageService", STORAGE, LIFECYCLE))).toFile()));
+        modules.put("util", List.of(ClassFiles.writeJar(tempDir.resolve("util.jar"), Map.of(
+                "com/gluonhq/attach/util/Services.class", ClassFiles.create("com/gluonhq/attach/util/Services"))).toFile()));
+        return modules;
+    }
+}
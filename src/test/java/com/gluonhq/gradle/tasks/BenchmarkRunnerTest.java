@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.gluonhq.gradle.GluonFXPlugin;
+
+class BenchmarkRunnerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void percentilesAreTakenByNearestRank() {
+        List<Double> values = new ArrayList<>();
+        for (int i = 10; i >= 1; i--) {
+            values.add(i * 10.0);
+        }
+
+        Map<String, Double> summary = BenchmarkRunner.summarize(values);
+
+        assertEquals(10.0, summary.get("min"));
+        assertEquals(50.0, summary.get("p50"));
+        assertEquals(90.0, summary.get("p90"));
+        assertEquals(100.0, summary.get("p99"));
+        assertEquals(100.0, summary.get("max"));
+        assertEquals(55.0, summary.get("mean"));
+        assertEquals(Map.of("min", 7.3, "p50", 7.3, "p90", 7.3, "p99", 7.3, "max", 7.3, "mean", 7.3),
+                BenchmarkRunner.summarize(List.of(7.25)));
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void measuresTheRunUntilTheReadyMarker() throws IOException, InterruptedException {
+        BenchmarkRunner runner = new BenchmarkRunner("ready", Duration.ofSeconds(30));
+
+        // the process is stopped when the marker is printed, long before it exits
+        long start = System.nanoTime();
+        BenchmarkRunner.Sample sample = runner.run(List.of("sh", "-c", "sleep 0.2; echo ready; sleep 20"), tempDir.toFile());
+
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(10).toNanos());
+        assertTrue(sample.startupMillis >= 200, sample.toString());
+        if (System.getProperty("os.name").startsWith("Linux")) {
+            assertTrue(sample.peakRssKb > 0, sample.toString());
+        }
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void failsWhenTheApplicationFails() {
+        File dir = tempDir.toFile();
+
+        assertThrows(IOException.class, () -> new BenchmarkRunner(null, Duration.ofSeconds(30))
+                .run(List.of("sh", "-c", "exit 3"), dir));
+        assertThrows(IOException.class, () -> new BenchmarkRunner("ready", Duration.ofSeconds(30))
+                .run(List.of("sh", "-c", "echo starting"), dir));
+        assertThrows(IOException.class, () -> new BenchmarkRunner(null, Duration.ofSeconds(1))
+                .run(List.of("sh", "-c", "sleep 20"), dir));
+    }
+
+    @Test
+    void regressionsExceedTheThresholdOverTheMedianOfTheLastRuns() {
+        Project project = ProjectBuilder.builder().withProjectDir(tempDir.toFile()).build();
+        project.getPluginManager().apply(JavaPlugin.class);
+        project.getPluginManager().apply(GluonFXPlugin.class);
+        NativeBenchmarkTask task = project.getTasks().named(GluonFXPlugin.NATIVE_BENCHMARK_TASK_NAME, NativeBenchmarkTask.class).get();
+        List<Map<String, Object>> history = new ArrayList<>();
+        // an old run and another target are not part of the baseline
+        history.add(run("x86_64-linux", 10, 1000, 1000));
+        history.add(run("aarch64-linux", 500, 1000, 1000));
+        for (int startup : List.of(100, 104, 98, 102, 400)) {
+            history.add(run("x86_64-linux", startup, 1000, 1000));
+        }
+
+        assertEquals(List.of(), task.findRegressions(run("x86_64-linux", 200, 2000, 2000), history));
+
+        task.getRegressionThreshold().set(10.0);
+        // the peak RSS grows exactly the threshold
+        List<String> regressions = task.findRegressions(run("x86_64-linux", 113, 1100, 1101), history);
+
+        assertEquals(2, regressions.size(), regressions.toString());
+        assertTrue(regressions.get(0).startsWith("native.startupMillis: 113.0, baseline 102.0"), regressions.get(0));
+        assertTrue(regressions.get(1).startsWith("binarySize: 1101.0, baseline 1000.0"), regressions.get(1));
+        assertEquals(List.of(), task.findRegressions(run("riscv64-linux", 1000, 1000, 1000), history));
+    }
+
+    private static Map<String, Object> run(String target, double startupMillis, double peakRssKb, long binarySize) {
+        return Map.of("target", target, "binarySize", binarySize,
+                "native", Map.of("startupMillis", Map.of("p50", startupMillis), "peakRssKb", Map.of("p50", peakRssKb)));
+    }
+}
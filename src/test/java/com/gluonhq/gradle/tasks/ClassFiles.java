@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Creates classes, directories and jars for the tests of the classpath tools
+ */
+final class ClassFiles {
+
+    private ClassFiles() {
+    }
+
+    /**
+     * Creates a class with a field of each of the given types
+     *
+     * @param name the internal name of the class, like com/example/Main
+     * @param referencedTypes the internal names of the types it references
+     * @return the bytes of the class file
+     */
+    static byte[] create(String name, String... referencedTypes) {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null);
+        for (int i = 0; i < referencedTypes.length; i++) {
+            writer.visitField(Opcodes.ACC_PRIVATE, "field" + i, "L" + referencedTypes[i] + ";", null, null).visitEnd();
+        }
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    /**
+     * Writes the given entries in a directory
+     *
+     * @param dir the directory
+     * @param entries the content of each file, by relative path
+     * @return the directory
+     */
+    static Path writeDirectory(Path dir, Map<String, byte[]> entries) throws IOException {
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            Path file = dir.resolve(entry.getKey());
+            Files.createDirectories(file.getParent());
+            Files.write(file, entry.getValue());
+        }
+        return dir;
+    }
+
+    /**
+     * Writes the given entries in a jar
+     *
+     * @param jar the jar file
+     * @param entries the content of each entry, by name
+     * @return the jar file
+     */
+    static Path writeJar(Path jar, Map<String, byte[]> entries) throws IOException {
+        Files.createDirectories(jar.getParent());
+        try (OutputStream os = Files.newOutputStream(jar); JarOutputStream jos = new JarOutputStream(os)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                jos.putNextEntry(new ZipEntry(entry.getKey()));
+                jos.write(entry.getValue());
+                jos.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClasspathIndexTest {
+
+    private static final byte[] CONFIG = "[]".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void findsDuplicatesSplitPackagesAndConflicts() throws IOException {
+        Path a = ClassFiles.writeJar(tempDir.resolve("a.jar"), Map.of(
+                "com/example/Shared.class", ClassFiles.create("com/example/Shared"),
+                "com/example/a/A.class", ClassFiles.create("com/example/a/A"),
+                "META-INF/native-image/reflect-config.json", CONFIG,
+                "META-INF/versions/11/com/example/a/A.class", ClassFiles.create("com/example/a/A")));
+        Path b = ClassFiles.writeJar(tempDir.resolve("b.jar"), Map.of(
+                "com/example/Shared.class", ClassFiles.create("com/example/Shared"),
+                "META-INF/native-image/reflect-config.json", CONFIG));
+        Path classes = ClassFiles.writeDirectory(tempDir.resolve("classes"), Map.of(
+                "com/example/a/Main.class", ClassFiles.create("com/example/a/Main")));
+
+        ClasspathIndex index = ClasspathIndex.update(tempDir.resolve("index.bin"),
+                List.of(classes.toFile(), a.toFile(), b.toFile()));
+
+        assertEquals(3, index.getSize());
+        assertEquals(Map.of(List.of("a.jar", "b.jar"), List.of("com.example.Shared")), index.getDuplicateClasses());
+        assertEquals(Map.of(List.of("a.jar", "b.jar"), List.of("com.example"),
+                        List.of("classes", "a.jar"), List.of("com.example.a")),
+                index.getSplitPackages());
+        assertEquals(Map.of(List.of("a.jar", "b.jar"), List.of("META-INF/native-image/reflect-config.json")),
+                index.getConflictingConfigurations());
+        assertEquals("classes", index.getClassOwners().get("com.example.a.Main"));
+        assertEquals("a.jar", index.getClassOwners().get("com.example.Shared"));
+    }
+
+    @Test
+    void readsOnlyTheJarsThatChanged() throws IOException {
+        Path indexFile = tempDir.resolve("index.bin");
+        Path a = ClassFiles.writeJar(tempDir.resolve("a.jar"), Map.of("com/a/A.class", ClassFiles.create("com/a/A")));
+        Path b = ClassFiles.writeJar(tempDir.resolve("b.jar"), Map.of("com/b/B.class", ClassFiles.create("com/b/B")));
+        List<File> classpath = List.of(a.toFile(), b.toFile());
+
+        assertEquals(2, ClasspathIndex.update(indexFile, classpath).getReindexed());
+        assertEquals(0, ClasspathIndex.update(indexFile, classpath).getReindexed());
+
+        ClassFiles.writeJar(b, Map.of("com/a/A.class", ClassFiles.create("com/a/A")));
+        Files.setLastModifiedTime(b, FileTime.fromMillis(Files.getLastModifiedTime(b).toMillis() + 2000));
+        ClasspathIndex index = ClasspathIndex.update(indexFile, classpath);
+
+        assertEquals(1, index.getReindexed());
+        assertEquals(Map.of(List.of("a.jar", "b.jar"), List.of("com.a.A")), index.getDuplicateClasses());
+    }
+
+    @Test
+    void readsJarsWithAPrefix() throws IOException {
+        Path jar = ClassFiles.writeJar(tempDir.resolve("plain.jar"), Map.of("com/a/A.class", ClassFiles.create("com/a/A")));
+        Path prefixed = tempDir.resolve("prefixed.jar");
+        byte[] prefix = "#!/bin/sh\nexec java -jar \"$0\"\n".getBytes(StandardCharsets.UTF_8);
+        byte[] content = Files.readAllBytes(jar);
+        byte[] bytes = new byte[prefix.length + content.length];
+        System.arraycopy(prefix, 0, bytes, 0, prefix.length);
+        System.arraycopy(content, 0, bytes, prefix.length, content.length);
+        Files.write(prefixed, bytes);
+
+        ClasspathIndex index = ClasspathIndex.update(tempDir.resolve("index.bin"), List.of(prefixed.toFile()));
+
+        assertEquals(Map.of("com.a.A", "prefixed.jar"), index.getClassOwners());
+    }
+
+    @Test
+    void doesNotKeepTheJarsOpen() throws IOException {
+        Path jar = ClassFiles.writeJar(tempDir.resolve("a.jar"), Map.of("com/a/A.class", ClassFiles.create("com/a/A")));
+
+        ClasspathIndex.update(tempDir.resolve("index.bin"), List.of(jar.toFile()));
+
+        // on Windows, a memory-mapped jar can't be deleted until the mapping is collected
+        Files.delete(jar);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import groovy.json.JsonSlurper;
+import org.gradle.api.logging.Logging;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NativeImageReportTest {
+
+    private static final List<String> LOG = List.of(
+            "[1/8] Initializing...                                    (4.2s @ 0.21GB)",
+            "[2/8] Performing analysis...                             (31.1s @ 1.20GB)",
+            "[9/9] Generating debug info...                           (1.5s @ 2.10GB)",
+            "   12,345 (90.00%) of 13,000 types reachable",
+            "2.5s (5.0% of total time) in 42 GCs | Peak RSS: 2.50GB",
+            "Finished generating 'app' in 1m 2.5s.");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsOnlyTheLogOfTheTarget() throws IOException {
+        long start = System.currentTimeMillis();
+        Path gvm = tempDir.resolve("x86_64-linux-linux/gvm");
+        Files.createDirectories(gvm.resolve("log"));
+        Files.createDirectories(gvm.resolve("tmp/SVM-1"));
+        Files.write(gvm.resolve("log/process-compile-1.log"), LOG, StandardCharsets.UTF_8);
+        Files.write(gvm.resolve("tmp/SVM-1/app.obj"), new byte[1024]);
+        // the log of another target, written later
+        Path other = Files.createDirectories(tempDir.resolve("aarch64-linux-linux/gvm/log")).resolve("process-compile-2.log");
+        Files.write(other, List.of("Finished generating 'app' in 1.0s."), StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(other, FileTime.fromMillis(start + 60_000));
+        Path reportFile = gvm.resolve("native-image-report.json");
+
+        NativeImageReport.create(gvm.resolve("log"), start - 1000, gvm.resolve("tmp"), reportFile,
+                Logging.getLogger(NativeImageReportTest.class));
+
+        Map<?, ?> report = (Map<?, ?>) new JsonSlurper().parse(reportFile.toFile());
+        assertEquals(true, report.get("parsed"));
+        assertEquals(62500, report.get("totalTimeMs"));
+        assertEquals(Map.of("setup", 4200, "analysis", 31100, "generating-debug-info", 1500), report.get("phases"));
+        assertEquals(Map.of("types", 12345), report.get("reachable"));
+        assertEquals(Map.of("timeMs", 2500, "count", 42), report.get("gc"));
+        assertEquals(1024, ((Map<?, ?>) report.get("imageSize")).get("objectFileBytes"));
+    }
+
+    @Test
+    void ignoresTheLogsOfPreviousBuilds() throws IOException {
+        Path log = Files.createDirectories(tempDir.resolve("gvm/log")).resolve("process-compile-1.log");
+        Files.write(log, LOG, StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(log, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        Path reportFile = tempDir.resolve("gvm/native-image-report.json");
+
+        NativeImageReport.create(tempDir.resolve("gvm/log"), System.currentTimeMillis(), tempDir.resolve("gvm/tmp"),
+                reportFile, Logging.getLogger(NativeImageReportTest.class));
+
+        // the report is an output of the task, so it is written anyway
+        Map<?, ?> report = (Map<?, ?>) new JsonSlurper().parse(reportFile.toFile());
+        assertEquals(false, report.get("parsed"));
+        assertEquals(-1, report.get("totalTimeMs"));
+        assertEquals(Map.of(), report.get("phases"));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.gluonhq.gradle.ClientExtension;
+import com.gluonhq.gradle.GluonFXPlugin;
+
+class NativeLinkTaskTest {
+
+    @TempDir
+    Path projectDir;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        project = ProjectBuilder.builder().withProjectDir(projectDir.toFile()).build();
+        project.getPluginManager().apply(JavaPlugin.class);
+        project.getPluginManager().apply(GluonFXPlugin.class);
+        project.getExtensions().getByType(ClientExtension.class).getGraalvmHome().set(projectDir.toString());
+    }
+
+    @Test
+    void nativeLinkInputsAreTheObjectFilesAndTheLinkSettings() {
+        NativeLinkTask task = project.getTasks().named(GluonFXPlugin.NATIVE_LINK_TASK_NAME, NativeLinkTask.class).get();
+
+        Map<String, Object> inputs = task.getInputs().getProperties();
+
+        for (String name : List.of("target", "targetTriplet", "appName", "linkerArgs")) {
+            assertTrue(inputs.containsKey(name), name + " is not an input: " + inputs.keySet());
+        }
+        // the compilation settings only change the link through the object files
+        for (String name : List.of("mainClass", "bundlesList", "resourcesList", "reflectionList", "jniList", "compilerArgs",
+                "javaStaticSdkVersion", "javafxStaticSdkVersion", "graalvmVersion", "graalvmHome", "workerHeapSize")) {
+            assertFalse(inputs.containsKey(name), name + " is an input");
+        }
+        File classes = project.getExtensions().getByType(SourceSetContainer.class).getByName("main")
+                .getOutput().getClassesDirs().getSingleFile();
+        assertFalse(task.getInputs().getFiles().getFiles().contains(classes));
+        assertEquals(Set.of(task.getApplicationDirectory().get().getAsFile()), task.getOutputs().getFiles().getFiles());
+        assertTrue(NativeLinkTask.class.isAnnotationPresent(CacheableTask.class));
+    }
+
+    @Test
+    void staticLibrariesIncludeTheGraalvmLibraries() throws IOException {
+        NativeLinkTask task = project.getTasks().named(GluonFXPlugin.NATIVE_LINK_TASK_NAME, NativeLinkTask.class).get();
+        Path graalvmLibraries = projectDir.resolve("lib/static").resolve(NativeLinkTask.getGraalvmOsArch(task.getTargetTriplet().get()));
+        File libjvm = Files.createFile(Files.createDirectories(graalvmLibraries.resolve("glibc")).resolve("libjvm.a")).toFile();
+        File libnet = Files.createFile(graalvmLibraries.resolve("libnet.a")).toFile();
+        Files.createFile(graalvmLibraries.resolve("README.txt"));
+
+        Set<File> libraries = task.getStaticLibraries().getFiles();
+
+        assertTrue(libraries.contains(libjvm), libraries.toString());
+        assertTrue(libraries.contains(libnet), libraries.toString());
+        assertEquals(2, libraries.stream().filter(file -> file.toPath().startsWith(graalvmLibraries)).count());
+    }
+
+    @Test
+    void graalvmLibrariesUseTheJdkArchitectureNames() {
+        assertEquals("linux-amd64", NativeLinkTask.getGraalvmOsArch("x86_64-linux"));
+        assertEquals("darwin-amd64", NativeLinkTask.getGraalvmOsArch("x86_64-darwin"));
+        assertEquals("windows-amd64", NativeLinkTask.getGraalvmOsArch("x86_64-windows"));
+        assertEquals("linux-aarch64", NativeLinkTask.getGraalvmOsArch("aarch64-linux"));
+        assertEquals("darwin-aarch64", NativeLinkTask.getGraalvmOsArch("aarch64-darwin"));
+    }
+}
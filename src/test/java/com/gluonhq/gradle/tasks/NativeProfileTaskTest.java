@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.gluonhq.gradle.ClientExtension;
+import com.gluonhq.gradle.GluonFXPlugin;
+import com.gluonhq.gradle.PgoConfiguration;
+
+class NativeProfileTaskTest {
+
+    @TempDir
+    Path projectDir;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        project = ProjectBuilder.builder().withProjectDir(projectDir.toFile()).build();
+        project.getPluginManager().apply(JavaPlugin.class);
+        project.getPluginManager().apply(GluonFXPlugin.class);
+        project.getExtensions().getByType(ClientExtension.class).getGraalvmHome().set(projectDir.toString());
+    }
+
+    @Test
+    void instrumentedBuildHasItsOwnDirectory() {
+        NativeCompileTask compile = getTask(GluonFXPlugin.NATIVE_COMPILE_INSTRUMENTED_TASK_NAME, NativeCompileTask.class);
+        NativeLinkTask link = getTask(GluonFXPlugin.NATIVE_LINK_INSTRUMENTED_TASK_NAME, NativeLinkTask.class);
+        File pgo = project.getLayout().getBuildDirectory().dir("gluonfx/pgo").get().getAsFile();
+
+        assertEquals(pgo, compile.getBuildRoot().get().getAsFile());
+        assertEquals(pgo, link.getBuildRoot().get().getAsFile());
+        assertTrue(compile.getCompilerArgs().get().contains("--pgo-instrument"));
+        assertFalse(compile.getProfileDirectory().isPresent());
+        assertTrue(getDependencies(link).contains(compile), "nativeLinkInstrumented doesn't link nativeCompileInstrumented");
+    }
+
+    @Test
+    void nativeProfileRunsTheInstrumentedApplication() {
+        NativeLinkTask link = getTask(GluonFXPlugin.NATIVE_LINK_INSTRUMENTED_TASK_NAME, NativeLinkTask.class);
+        NativeProfileTask profile = getTask(GluonFXPlugin.NATIVE_PROFILE_TASK_NAME, NativeProfileTask.class);
+        File executable = new File(link.getApplicationDirectory().get().getAsFile(),
+                NativeBaseTask.getExecutableName(link.getTargetTriplet().get(), link.getAppName().get()));
+
+        assertEquals(executable, profile.getExecutable().get().getAsFile());
+        assertTrue(profile.getInputs().getFiles().getFiles().contains(executable), "the application is not an input");
+        assertTrue(getDependencies(profile).contains(link), "nativeProfile doesn't depend on nativeLinkInstrumented");
+        assertFalse(profile.getHeadless().get());
+    }
+
+    @Test
+    void nativeCompileUsesTheProfilesWhenEnabled() {
+        NativeCompileTask compile = getTask(GluonFXPlugin.NATIVE_COMPILE_TASK_NAME, NativeCompileTask.class);
+        NativeProfileTask profile = getTask(GluonFXPlugin.NATIVE_PROFILE_TASK_NAME, NativeProfileTask.class);
+
+        assertFalse(compile.getProfileDirectory().isPresent());
+        assertFalse(getDependencies(compile).contains(profile));
+
+        getPgoConfig().getEnabled().set(true);
+
+        assertEquals(profile.getOutputDirectory().get().getAsFile(), compile.getProfileDirectory().get().getAsFile());
+        assertTrue(getDependencies(compile).contains(profile), "nativeCompile doesn't depend on nativeProfile");
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void eachWorkloadWritesAProfile() throws IOException {
+        getPgoConfig().getWorkloads().create("charts", workload -> workload.getArgs().set(List.of("--charts", "--exit")));
+        getPgoConfig().getWorkloads().create("startup", workload -> workload.getArgs().set(List.of("--exit")));
+        NativeProfileTask profile = getTask(GluonFXPlugin.NATIVE_PROFILE_TASK_NAME, NativeProfileTask.class);
+        // writes its arguments to the profile, like an instrumented application does on exit
+        Path executable = profile.getExecutable().get().getAsFile().toPath();
+        Files.createDirectories(executable.getParent());
+        Files.writeString(executable, "#!/bin/sh\n" +
+                "for arg in \"$@\"; do\n" +
+                "  case \"$arg\" in -XX:ProfilesDumpFile=*) profile=\"${arg#-XX:ProfilesDumpFile=}\" ;; esac\n" +
+                "done\n" +
+                "echo \"$@\" > \"$profile\"\n", StandardCharsets.UTF_8);
+        assertTrue(executable.toFile().setExecutable(true));
+
+        profile.action();
+
+        Path profiles = profile.getOutputDirectory().get().getAsFile().toPath();
+        String charts = Files.readString(profiles.resolve("charts.iprof"), StandardCharsets.UTF_8);
+        assertTrue(charts.endsWith("--charts --exit\n"), charts);
+        assertFalse(charts.contains("Monocle"), charts);
+        assertTrue(Files.exists(profiles.resolve("startup.iprof")));
+        assertFalse(Files.exists(profiles.resolve("default.iprof")));
+    }
+
+    private PgoConfiguration getPgoConfig() {
+        return project.getExtensions().getByType(ClientExtension.class).getPgoConfig();
+    }
+
+    private <T extends Task> T getTask(String name, Class<T> type) {
+        return project.getTasks().named(name, type).get();
+    }
+
+    private static Set<? extends Task> getDependencies(Task task) {
+        return task.getTaskDependencies().getDependencies(task);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.gluonhq.gradle.AgentConfiguration;
+import com.gluonhq.gradle.ClientExtension;
+import com.gluonhq.gradle.GluonFXPlugin;
+
+class NativeRunAgentTaskTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void autoCallerFilterExcludesTheTransitiveDependencies() throws IOException {
+        Path repository = tempDir.resolve("repo");
+        writeModule(repository, "com.example", "direct", Map.of(
+                "com/example/direct/Api.class", ClassFiles.create("com/example/direct/Api"),
+                "com/example/shared/Util.class", ClassFiles.create("com/example/shared/Util")),
+                "<dependency><groupId>org.example</groupId><artifactId>transitive</artifactId><version>1</version></dependency>" +
+                "<dependency><groupId>org.openjfx</groupId><artifactId>javafx-base</artifactId><version>1</version></dependency>");
+        writeModule(repository, "org.example", "transitive", Map.of(
+                "org/example/transitive/Impl.class", ClassFiles.create("org/example/transitive/Impl"),
+                "com/example/shared/Helper.class", ClassFiles.create("com/example/shared/Helper")), "");
+        writeModule(repository, "org.openjfx", "javafx-base", Map.of(
+                "javafx/beans/Observable.class", ClassFiles.create("javafx/beans/Observable")), "");
+
+        Project project = ProjectBuilder.builder().withProjectDir(tempDir.resolve("app").toFile()).build();
+        project.getPluginManager().apply(JavaPlugin.class);
+        project.getPluginManager().apply(GluonFXPlugin.class);
+        project.getRepositories().maven(maven -> maven.setUrl(repository.toUri()));
+        project.getDependencies().add(JavaPlugin.IMPLEMENTATION_CONFIGURATION_NAME, "com.example:direct:1");
+        AgentConfiguration agentConfig = project.getExtensions().getByType(ClientExtension.class).getAgentConfig();
+        agentConfig.getCallerFilterExcludes().add("org.slf4j.**");
+        agentConfig.getAutoCallerFilter().set(true);
+        NativeRunAgentTask task = project.getTasks().named(GluonFXPlugin.NATIVE_RUN_AGENT_TASK_NAME, NativeRunAgentTask.class).get();
+
+        AgentFilter filter = task.getCallerFilter();
+
+        assertFalse(filter.test("org.example.transitive.Impl"));
+        assertTrue(filter.test("com.example.direct.Api"));
+        // a package that is also in a direct dependency, and JavaFX, are kept
+        assertTrue(filter.test("com.example.shared.Helper"));
+        assertTrue(filter.test("javafx.beans.Observable"));
+        // the configured excludes are kept along the generated ones
+        assertFalse(filter.test("org.slf4j.Logger"));
+
+        Path filterFile = tempDir.resolve("caller-filter.json");
+        filter.write(filterFile);
+        String rules = Files.readString(filterFile, StandardCharsets.UTF_8);
+        assertTrue(rules.contains("{\"excludeClasses\" : \"org.slf4j.**\"}"), rules);
+        assertTrue(rules.contains("{\"excludeClasses\" : \"org.example.transitive.*\"}"), rules);
+        assertFalse(rules.contains("com.example"), rules);
+    }
+
+    private static void writeModule(Path repository, String group, String module, Map<String, byte[]> classes,
+                                    String dependencies) throws IOException {
+        Path dir = Files.createDirectories(repository.resolve(group.replace('.', '/')).resolve(module).resolve("1"));
+        ClassFiles.writeJar(dir.resolve(module + "-1.jar"), classes);
+        Files.writeString(dir.resolve(module + "-1.pom"), String.join("\n", List.of(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+                "  <modelVersion>4.0.0</modelVersion>",
+                "  <groupId>" + group + "</groupId>",
+                "  <artifactId>" + module + "</artifactId>",
+                "  <version>1</version>",
+                "  <dependencies>" + dependencies + "</dependencies>",
+                "</project>")), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReachabilityAnalyzerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void reportsTheSkinsOfTheStylesheets() throws IOException {
+        Path classes = ClassFiles.writeDirectory(tempDir.resolve("classes"), Map.of(
+                "app/style.css", ".button { -fx-skin: 'app.FancySkin'; }\n".getBytes(StandardCharsets.UTF_8),
+                "app/FancySkin.class", ClassFiles.create("app/FancySkin")));
+
+        ReachabilityAnalyzer analyzer = ReachabilityAnalyzer.analyze(List.of(classes.toFile()));
+
+        assertEquals(Set.of("app.FancySkin"), analyzer.getReflectionList());
+    }
+
+    @Test
+    void indexesClassesThatOnlyExistInAVersion() throws IOException {
+        Path jar = ClassFiles.writeJar(tempDir.resolve("lib.jar"), Map.of(
+                "META-INF/versions/11/lib/Versioned.class", ClassFiles.create("lib/Versioned"),
+                "lib/fancy.css", "-fx-skin: lib.Versioned;".getBytes(StandardCharsets.UTF_8)));
+
+        ReachabilityAnalyzer analyzer = ReachabilityAnalyzer.analyze(List.of(jar.toFile()));
+
+        assertEquals(Set.of("lib.Versioned"), analyzer.getReflectionList());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SizeBreakdownTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsTheDashboardDump() throws IOException {
+        Path dump = tempDir.resolve("dashboard.dump");
+        Files.writeString(dump, "{\n" +
+                "  \"code-breakdown\": {\n" +
+                "    \"code-size\": [\n" +
+                "      {\"name\": \"int java.lang.String.indexOf(int, int)\", \"size\": 100},\n" +
+                "      {\"name\": \"void org.apache.commons.Lang.run()\", \"size\": 200},\n" +
+                "      {\"name\": \"void com.example.Main.main(java.lang.String[])\", \"size\": 50},\n" +
+                "      {\"name\": \"without size\"}\n" +
+                "    ]\n" +
+                "  },\n" +
+                "  \"heap-breakdown\": {\n" +
+                "    \"heap-size\": [\n" +
+                "      {\"name\": \"org.apache.commons.Lang[][]\", \"size\": 30, \"count\": 2},\n" +
+                "      {\"name\": \"byte[] for code metadata\", \"size\": 40, \"count\": 1}\n" +
+                "    ]\n" +
+                "  }\n" +
+                "}\n", StandardCharsets.UTF_8);
+
+        SizeBreakdown breakdown = SizeBreakdown.fromDump(dump.toFile(),
+                Map.of("org.apache.commons.Lang", "commons-lang3.jar", "com.example.Main", "main"));
+
+        assertEquals(420, breakdown.getTotal());
+        assertEquals(200, breakdown.getPackages().get("org.apache.commons").code);
+        assertEquals(30, breakdown.getPackages().get("org.apache.commons").heap);
+        assertEquals(100, breakdown.getPackages().get("java.lang").code);
+        assertEquals(40, breakdown.getPackages().get("<other>").heap);
+        assertEquals(230, breakdown.getDependencies().get("commons-lang3.jar").getTotal());
+        assertEquals(50, breakdown.getDependencies().get("main").getTotal());
+        assertEquals(100, breakdown.getDependencies().get("JDK and Native Image").getTotal());
+
+        SizeBreakdown read = SizeBreakdown.fromJson(breakdown.toJson());
+        assertEquals(420, read.getTotal());
+        assertEquals(230, read.getDependencies().get("commons-lang3.jar").getTotal());
+    }
+
+    @Test
+    void classNamesOfMethodsAndHeapTypes() {
+        assertEquals("java.lang.String", SizeBreakdown.getClassName("int java.lang.String.indexOf(int, int)"));
+        assertEquals("com.example.Main$Inner", SizeBreakdown.getClassName("void com.example.Main$Inner.<init>()"));
+        assertEquals("java.lang.String", SizeBreakdown.getClassName("java.lang.String[][]"));
+        assertEquals("byte", SizeBreakdown.getClassName("byte[] for code metadata"));
+    }
+
+    @Test
+    void budgetsLimitTheGrowthOfTheMatchingEntries() {
+        SizeBreakdown baseline = breakdown(
+                Map.of("org.apache.commons", 1000L, "org.apache.http", 1000L, "org.apachex", 0L, "com.example", 500L),
+                Map.of("commons-lang3.jar", 1000L, "httpclient.jar", 1000L));
+        SizeBreakdown current = breakdown(
+                Map.of("org.apache.commons", 2024L, "org.apache.http", 1512L, "org.apachex", 10_000L, "com.example", 500L),
+                Map.of("commons-lang3.jar", 2024L, "httpclient.jar", 1512L));
+        Map<String, String> budgets = new LinkedHashMap<>();
+        // org.apache.* doesn't match org.apachex
+        budgets.put("org.apache.*", "1KB");
+        budgets.put("org.apache.**", "2KB");
+        budgets.put("com.example", "0");
+        budgets.put("commons-*.jar", "1KB");
+        budgets.put("http*.jar", "100B");
+        budgets.put(SizeBreakdown.TOTAL, "20KB");
+
+        assertEquals(List.of(
+                "org.apache.* grew 1.5 KB, the budget is 1.0 KB",
+                "http*.jar grew 512 B, the budget is 100 B"), current.checkBudgets(baseline, budgets));
+        assertEquals(List.of("total grew 11.3 KB, the budget is 1.0 KB"),
+                current.checkBudgets(baseline, Map.of(SizeBreakdown.TOTAL, "1 KB")));
+    }
+
+    private static SizeBreakdown breakdown(Map<String, Long> packages, Map<String, Long> dependencies) {
+        long total = packages.values().stream().mapToLong(Long::longValue).sum();
+        StringBuilder json = new StringBuilder("{\"code\": " + total + ", \"heap\": 0, \"packages\": {");
+        packages.forEach((name, size) -> json.append('"').append(name).append("\": {\"code\": ").append(size).append(", \"heap\": 0},"));
+        json.setLength(json.length() - 1);
+        json.append("}, \"dependencies\": {");
+        dependencies.forEach((name, size) -> json.append('"').append(name).append("\": {\"code\": 0, \"heap\": ").append(size).append("},"));
+        json.setLength(json.length() - 1);
+        return SizeBreakdown.fromJson(json.append("}}").toString());
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class SizesTest {
+
+    private static final long MB = 1024L * 1024;
+    private static final long GB = 1024 * MB;
+
+    @Test
+    void parsesBuildScriptSizes() {
+        assertEquals(4096, Sizes.parse("4096"));
+        assertEquals(100, Sizes.parse("100B"));
+        assertEquals(512 * 1024, Sizes.parse("512 KB"));
+        assertEquals(2 * MB, Sizes.parse("2MB"));
+        assertEquals(MB / 2, Sizes.parse("0.5MB"));
+        assertEquals(10 * GB, Sizes.parse("10GB"));
+    }
+
+    @Test
+    void parsesJvmMemorySizes() {
+        assertEquals(512 * 1024, Sizes.parse("512k"));
+        assertEquals(512 * MB, Sizes.parse("512M"));
+        assertEquals(2 * GB, Sizes.parse("2g"));
+        assertEquals(1024 * GB, Sizes.parse("1t"));
+    }
+
+    @Test
+    void rejectsInvalidSizes() {
+        assertThrows(IllegalArgumentException.class, () -> Sizes.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> Sizes.parse("lots"));
+        assertThrows(IllegalArgumentException.class, () -> Sizes.parse("2 PB"));
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026, Gluon
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.gradle.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.gradle.api.logging.Logging;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StaticSdkCacheTest {
+
+    private static final String OS_ARCH = "linux-x86_64";
+    private static final String JAVAFX_ARCHIVE = "openjfx-1.0-linux-x86_64-static.zip";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void installsFromFileRepository() throws IOException {
+        byte[] archive = writeArchive("javafxstaticsdk/" + JAVAFX_ARCHIVE, "lib/libjavafx.a", "javafx", true);
+
+        Path sdk = createCache(false, Map.of(), Long.MAX_VALUE).install(StaticSdkCache.Kind.JAVAFX, "1.0", OS_ARCH);
+
+        assertEquals(tempDir.resolve("substrate/javafxStaticSdk/1.0/" + OS_ARCH), sdk);
+        assertEquals("javafx", Files.readString(sdk.resolve("lib/libjavafx.a")));
+        assertTrue(Files.isDirectory(getContent(archive)));
+
+        // the second build finds it in the cache
+        Files.delete(tempDir.resolve("repo/javafxstaticsdk/" + JAVAFX_ARCHIVE));
+        StaticSdkCache offline = createCache(true, Map.of(), Long.MAX_VALUE);
+        assertTrue(offline.isInstalled(StaticSdkCache.Kind.JAVAFX, "1.0", OS_ARCH));
+        assertEquals(sdk, offline.install(StaticSdkCache.Kind.JAVAFX, "1.0", OS_ARCH));
+    }
+
+    @Test
+    void configuredChecksumMustMatch() throws IOException {
+        writeArchive("javafxstaticsdk/" + JAVAFX_ARCHIVE, "lib/libjavafx.a", "javafx", true);
+
+        StaticSdkCache cache = createCache(false, Map.of(JAVAFX_ARCHIVE, "00"), Long.MAX_VALUE);
+
+        IOException e = assertThrows(IOException.class, () -> cache.install(StaticSdkCache.Kind.JAVAFX, "1.0", OS_ARCH));
+        assertTrue(e.getMessage().startsWith("Checksum mismatch"), e.getMessage());
+        assertFalse(Files.exists(tempDir.resolve("substrate/javafxStaticSdk/1.0/" + OS_ARCH)));
+    }
+
+    @Test
+    void publishedChecksumMustMatch() throws IOException {
+        writeArchive("javafxstaticsdk/" + JAVAFX_ARCHIVE, "lib/libjavafx.a", "javafx", false);
+        Files.writeString(tempDir.resolve("repo/javafxstaticsdk/" + JAVAFX_ARCHIVE + ".sha256"), "00  " + JAVAFX_ARCHIVE);
+
+        StaticSdkCache cache = createCache(false, Map.of(), Long.MAX_VALUE);
+
+        assertThrows(IOException.class, () -> cache.install(StaticSdkCache.Kind.JAVAFX, "1.0", OS_ARCH));
+    }
+
+    @Test
+    void offlineFailsWhenNotCached() throws IOException {
+        writeArchive("javafxstaticsdk/" + JAVAFX_ARCHIVE, "lib/libjavafx.a", "javafx", true);
+
+        StaticSdkCache cache = createCache(true, Map.of(), Long.MAX_VALUE);
+
+        assertFalse(cache.isInstalled(StaticSdkCache.Kind.JAVAFX, "1.0", OS_ARCH));
+        assertThrows(IOException.class, () -> cache.install(StaticSdkCache.Kind.JAVAFX, "1.0", OS_ARCH));
+    }
+
+    @Test
+    void waitsForTheLockOfAnotherProcess() throws Exception {
+        writeArchive("javafxstaticsdk/" + JAVAFX_ARCHIVE, "lib/libjavafx.a", "javafx", true);
+        Path lockFile = Files.createDirectories(tempDir.resolve("cache/locks"))
+                .resolve("javafxStaticSdk-1.0-" + OS_ARCH + ".lock");
+        Path holder = tempDir.resolve("LockHolder.java");
+        Files.writeString(holder,
+                "import java.nio.channels.FileChannel;\n" +
+                "import java.nio.file.*;\n" +
+                "public class LockHolder {\n" +
+                "    public static void main(String[] args) throws Exception {\n" +
+                "        try (FileChannel channel = FileChannel.open(Path.of(args[0]), StandardOpenOption.CREATE, StandardOpenOption.WRITE);\n" +
+                "             java.nio.channels.FileLock lock = channel.lock()) {\n" +
+                "            System.out.println(\"locked\");\n" +
+                "            Thread.sleep(1000);\n" +
+                "        }\n" +
+                "    }\n" +
+                "}\n");
+        Process process = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                holder.toString(), lockFile.toString()).redirectErrorStream(true).start();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            assertEquals("locked", reader.readLine());
+            long start = System.nanoTime();
+
+            createCache(false, Map.of(), Long.MAX_VALUE).install(StaticSdkCache.Kind.JAVAFX, "1.0", OS_ARCH);
+
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 500, "the lock was not awaited");
+        } finally {
+            process.waitFor(10, TimeUnit.SECONDS);
+            process.destroy();
+        }
+    }
+
+    @Test
+    void evictsOnlyWhatOtherBuildsDontUse() throws IOException {
+        byte[] javafx1 = writeArchive("javafxstaticsdk/" + JAVAFX_ARCHIVE, "lib/libjavafx.a", "javafx 1", true);
+        byte[] java1 = writeArchive("javastaticsdk/labsjdk-1.0-linux-x86_64-static.zip", "lib/libjava.a", "java 1", true);
+        byte[] javafx2 = writeArchive("javafxstaticsdk/openjfx-2.0-linux-x86_64-static.zip", "lib/libjavafx.a", "javafx 2", true);
+
+        // a build that uses two SDKs keeps both, even if the cache is full
+        StaticSdkCache build = createCache(false, Map.of(), 1);
+        build.install(StaticSdkCache.Kind.JAVAFX, "1.0", OS_ARCH);
+        build.install(StaticSdkCache.Kind.JAVA, "1.0", OS_ARCH);
+        assertTrue(Files.isDirectory(getContent(javafx1)));
+        assertTrue(Files.isDirectory(getContent(java1)));
+
+        // a later build evicts the SDKs that were not used since it started
+        long start = System.currentTimeMillis();
+        setLastUsed(getContent(javafx1), start - 60_000);
+        setLastUsed(getContent(java1), start + 60_000);
+        StaticSdkCache laterBuild = new StaticSdkCache(tempDir.resolve("cache"), tempDir.resolve("substrate"),
+                tempDir.resolve("repo").toString(), 1, false, Map.of(), new HashSet<>(), start,
+                Logging.getLogger(StaticSdkCacheTest.class));
+        laterBuild.install(StaticSdkCache.Kind.JAVAFX, "2.0", OS_ARCH);
+
+        assertFalse(Files.exists(getContent(javafx1)));
+        assertFalse(Files.exists(tempDir.resolve("substrate/javafxStaticSdk/1.0/" + OS_ARCH)));
+        assertTrue(Files.isDirectory(getContent(java1)));
+        assertTrue(Files.isDirectory(getContent(javafx2)));
+    }
+
+    private StaticSdkCache createCache(boolean offline, Map<String, String> checksums, long maxSize) {
+        return new StaticSdkCache(tempDir.resolve("cache"), tempDir.resolve("substrate"), tempDir.resolve("repo").toString(),
+                maxSize, offline, checksums, new HashSet<>(), System.currentTimeMillis(),
+                Logging.getLogger(StaticSdkCacheTest.class));
+    }
+
+    /**
+     * Writes an archive with a single file in the repository
+     *
+     * @return the bytes of the archive
+     */
+    private byte[] writeArchive(String path, String entry, String content, boolean publishChecksum) throws IOException {
+        Path archive = tempDir.resolve("repo").resolve(path);
+        Files.createDirectories(archive.getParent());
+        try (OutputStream os = Files.newOutputStream(archive); ZipOutputStream zip = new ZipOutputStream(os)) {
+            zip.putNextEntry(new ZipEntry(entry));
+            zip.write(content.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        byte[] bytes = Files.readAllBytes(archive);
+        if (publishChecksum) {
+            Files.writeString(archive.resolveSibling(archive.getFileName() + ".sha256"), sha256(bytes));
+        }
+        return bytes;
+    }
+
+    private Path getContent(byte[] archive) {
+        return tempDir.resolve("cache/content").resolve(sha256(archive));
+    }
+
+    private static void setLastUsed(Path content, long millis) throws IOException {
+        Files.setLastModifiedTime(content.resolve(".gluonfx-sdk"), FileTime.fromMillis(millis));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}